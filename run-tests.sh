@@ -23,11 +23,16 @@ show_help() {
     echo "  $0 android"
     echo "  $0 android contatos"
     echo "  $0 ios contatos"
+    echo "  $0 android contatos --shard=1/3"
     echo ""
     echo "DEBUG:"
     echo "  --verbose    - Executar com logs detalhados"
     echo "  --debug      - Executar com debug máximo"
     echo ""
+    echo "SHARDS (várias máquinas, cada uma com seus dispositivos):"
+    echo "  --shard=i/N  - Executa só o shard i de N, equilibrado pela duração das execuções"
+    echo "                 anteriores (test-history/); sem histórico, divide em rodízio"
+    echo ""
 }
 
 # Função para verificar conectividade com Appium
@@ -283,6 +288,16 @@ run_tests() {
         echo "📋 Modo padrão - logs resumidos"
     fi
     
+    # Shard desta máquina (--shard=i/N): só os testes do shard, planejado pelo tests.base.ShardInterceptor
+    local shard_args=""
+    local shard_suffix=""
+    local shard=$(echo "$debug_args" | grep -oE -- "--shard=[0-9]+/[0-9]+" | cut -d= -f2)
+    if [ -n "$shard" ]; then
+        shard_args="-Dshard=$shard"
+        shard_suffix="-shard-${shard%/*}-de-${shard#*/}"
+        echo "🧩 Shard $shard (durações anteriores em test-history/)"
+    fi
+    
     # Executar Maven com logging apropriado
     set +e  # Temporariamente desabilitar exit no erro para capturar o código
     mvn clean test \
@@ -290,12 +305,20 @@ run_tests() {
         -Dmodule=$module \
         -Dsuite=$suite_path \
         -Dmaven.test.failure.ignore=true \
+        $shard_args \
         $maven_args \
         2>&1 | tee target/maven-execution.log
     
     local exit_code=$?
     set -e  # Reabilitar exit no erro
     
+    # Guarda as durações desta execução para planejar os próximos shards
+    # (em CI, compartilhe test-history/ entre as máquinas, ex: como cache)
+    if [ -f "target/surefire-reports/testng-results.xml" ]; then
+        mkdir -p test-history
+        cp target/surefire-reports/testng-results.xml "test-history/testng-results-${platform}-${module}${shard_suffix}.xml"
+    fi
+    
     echo "================================================================"
     echo ""
     
@@ -412,7 +435,7 @@ main() {
     # Validar plataforma
     case $platform in
         android|ios)
-            run_tests $platform $suite
+            run_tests $platform $suite "${@:3}"
             ;;
         *)
             echo "❌ Plataforma inválida: $platform"
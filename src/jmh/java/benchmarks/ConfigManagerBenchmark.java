@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConfigManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das leituras de configuração, chamadas em todo wait e toda busca de elemento
+ * Compara o snapshot da sessão (valores já combinados e convertidos) com a leitura fora de sessão
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ConfigManagerBenchmark {
+    @Param({"true", "false"})
+    public boolean sessao;
+
+    private ConfigManager config;
+
+    @Setup
+    public void setUp() {
+        Telas.configurar();
+        config = ConfigManager.getInstance();
+        if (sessao) {
+            config.openSession("android", "contatos");
+        } else {
+            config.closeSession();
+        }
+    }
+
+    @Benchmark
+    public String propriedadeDoSistema() {
+        return config.getProperty("platform");
+    }
+
+    @Benchmark
+    public String propriedadeDoModulo() {
+        return config.getProperty("app.package.android");
+    }
+
+    @Benchmark
+    public String propriedadeGlobal() {
+        return config.getProperty("appium.server.url");
+    }
+
+    @Benchmark
+    public int propriedadeInteira() {
+        return config.getIntProperty("explicit.wait", 20);
+    }
+
+    @Benchmark
+    public boolean propriedadeBooleana() {
+        return config.getBooleanProperty("page.snapshot.enabled", false);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import driver.DriverManager;
+import io.appium.java_client.AppiumBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.ElementUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção de waits e polling do ElementUtils contra o driver simulado
+ * latencyMicros modela a ida e volta de cada comando ao dispositivo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ElementWaitBenchmark {
+    private final By titulo = By.xpath("//android.widget.TextView[@text='Contacts' or @text='Contatos']");
+    private final By botaoAdicionar = By.id("com.android.contacts:id/floating_action_button");
+    private final By listaVazia = By.id("com.android.contacts:id/message");
+    private final By semConta = AppiumBy.accessibilityId("Add account");
+
+    @Param({"0", "1000"})
+    public long latencyMicros;
+
+    @Setup
+    public void setUp() {
+        Telas.configurar();
+        DriverManager.setDriver(new FakeAppiumHttpClient("android", Telas.contatosAndroid(20), latencyMicros).newDriver());
+    }
+
+    @TearDown
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Benchmark
+    public WebDriverWait construcaoDoWait() {
+        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(20));
+    }
+
+    @Benchmark
+    public boolean esperaElementoPresente() {
+        return ElementUtils.waitForElementPresent(titulo, 5);
+    }
+
+    @Benchmark
+    public boolean probeElementoAusente() {
+        return ElementUtils.isElementPresent(listaVazia);
+    }
+
+    @Benchmark
+    public By qualquerDeTresCandidatos() {
+        return ElementUtils.waitForAny(5, listaVazia, semConta, botaoAdicionar);
+    }
+}
@@ -0,0 +1,208 @@
+package benchmarks;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import utils.PageSnapshot;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cliente HTTP que responde o protocolo W3C em memória, sem servidor Appium
+ * Buscas de elemento são avaliadas sobre o page source configurado;
+ * cada comando paga a latência simulada (ida e volta ao dispositivo)
+ */
+public class FakeAppiumHttpClient implements HttpClient {
+    private static final Json JSON = new Json();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    private final String platform;
+    private final long latencyNanos;
+    private final Map<String, String> elements = new ConcurrentHashMap<>();
+    private volatile String pageSource;
+    private volatile PageSnapshot snapshot;
+
+    public FakeAppiumHttpClient(String platform, String pageSource, long latencyMicros) {
+        this.platform = platform;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        setPageSource(pageSource);
+    }
+
+    /**
+     * Cria um AndroidDriver/IOSDriver real do java-client falando com este cliente em memória
+     */
+    public AppiumDriver newDriver() {
+        DesiredCapabilities caps = new DesiredCapabilities();
+        caps.setCapability("platformName", platform);
+        caps.setCapability("appium:automationName", "ios".equalsIgnoreCase(platform) ? "XCUITest" : "UiAutomator2");
+        try {
+            URL url = new URL("http://fake-appium.local");
+            return "ios".equalsIgnoreCase(platform)
+                    ? new IOSDriver(url, factory(), caps)
+                    : new AndroidDriver(url, factory(), caps);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Factory para os construtores de AndroidDriver/IOSDriver que aceitam HttpClient.Factory
+     */
+    public Factory factory() {
+        return new Factory() {
+            @Override
+            public HttpClient createClient(ClientConfig config) {
+                return FakeAppiumHttpClient.this;
+            }
+        };
+    }
+
+    public void setPageSource(String pageSource) {
+        this.pageSource = pageSource;
+        this.snapshot = PageSnapshot.parse(pageSource, platform);
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        String[] parts = request.getUri().replaceAll("^/+|/+$", "").split("/");
+        Object value = dispatch(request.getMethod(), parts, request);
+        if (value instanceof HttpResponse) {
+            return (HttpResponse) value;
+        }
+        return json(200, Collections.singletonMap("value", value));
+    }
+
+    @Override
+    public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        throw new UnsupportedOperationException("WebSocket não suportado pelo driver simulado");
+    }
+
+    private Object dispatch(HttpMethod method, String[] parts, HttpRequest request) {
+        if (parts.length == 1 && "session".equals(parts[0]) && method == HttpMethod.POST) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("sessionId", UUID.randomUUID().toString());
+            value.put("capabilities", Collections.singletonMap("platformName", platform));
+            return value;
+        }
+        if (parts.length == 2 && method == HttpMethod.DELETE) {
+            return null;
+        }
+        String command = parts.length > 2 ? String.join("/", List.of(parts).subList(2, parts.length)) : "";
+        switch (command) {
+            case "source":
+                return pageSource;
+            case "element": {
+                List<Object> found = find(body(request));
+                return found.isEmpty()
+                        ? error("no such element", "Elemento não encontrado")
+                        : found.get(0);
+            }
+            case "elements":
+                return find(body(request));
+            case "execute/sync":
+                return "mobile: terminateApp".equals(body(request).get("script")) ? Boolean.TRUE : null;
+            default:
+                return elementCommand(command);
+        }
+    }
+
+    private Object elementCommand(String command) {
+        String[] parts = command.split("/");
+        if (parts.length == 3 && "element".equals(parts[0])) {
+            switch (parts[2]) {
+                case "text":
+                    return elements.getOrDefault(parts[1], "");
+                case "displayed":
+                case "enabled":
+                    return true;
+                default:
+                    return null;
+            }
+        }
+        // timeouts e demais comandos sem retorno
+        return null;
+    }
+
+    /**
+     * Avalia a busca no page source; estratégias sem tradução para XPath não encontram nada
+     */
+    private List<Object> find(Map<String, Object> body) {
+        By locator = toBy(String.valueOf(body.get("using")), String.valueOf(body.get("value")));
+        List<Object> references = new ArrayList<>();
+        if (locator == null || !snapshot.supports(locator)) {
+            return references;
+        }
+        int count = snapshot.count(locator);
+        String text = count > 0 ? snapshot.getText(locator) : null;
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            elements.put(id, text != null ? text : "");
+            references.add(Collections.singletonMap(ELEMENT_KEY, id));
+        }
+        return references;
+    }
+
+    private static By toBy(String using, String value) {
+        switch (using) {
+            case "xpath":
+                return By.xpath(value);
+            case "id":
+                return AppiumBy.id(value);
+            case "accessibility id":
+                return AppiumBy.accessibilityId(value);
+            case "class name":
+                return AppiumBy.className(value);
+            default:
+                return null;
+        }
+    }
+
+    private static HttpResponse error(String error, String message) {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        return json(404, Collections.singletonMap("value", value));
+    }
+
+    private static HttpResponse json(int status, Object content) {
+        HttpResponse response = new HttpResponse().setStatus(status);
+        response.setHeader("Content-Type", "application/json; charset=utf-8");
+        response.setContent(Contents.asJson(content));
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(HttpRequest request) {
+        String raw = Contents.string(request);
+        if (raw.isBlank()) {
+            return Collections.emptyMap();
+        }
+        Object parsed = JSON.toType(raw, Object.class);
+        return parsed instanceof Map ? (Map<String, Object>) parsed : Collections.emptyMap();
+    }
+}
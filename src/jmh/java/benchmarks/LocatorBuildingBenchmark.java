@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import utils.LocatorCompiler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem dos seletores de contato feita a cada selecionarContato/contatoExiste
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class LocatorBuildingBenchmark {
+    private final String nome = "Fábio Fernandes";
+
+    @Benchmark
+    public By[] montagemDosSeletores() {
+        return seletoresContato(nome);
+    }
+
+    @Benchmark
+    public void montagemECompilacao(Blackhole blackhole) {
+        for (By seletor : seletoresContato(nome)) {
+            blackhole.consume(LocatorCompiler.compile(seletor, "android"));
+        }
+    }
+
+    /**
+     * Mesmos seletores de ContatosMainPageAndroid.selecionarContato
+     */
+    private static By[] seletoresContato(String nome) {
+        return new By[] {
+            By.xpath("//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='" + nome + "']"),
+            By.xpath("//android.widget.TextView[@text='" + nome + "']"),
+            By.xpath("//android.widget.TextView[contains(@text, '" + nome + "')]")
+        };
+    }
+}
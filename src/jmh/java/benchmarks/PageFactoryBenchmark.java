@@ -0,0 +1,49 @@
+package benchmarks;
+
+import driver.DriverManager;
+import factory.PageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de páginas pelo PageFactory, incluindo navegação e validação de carregamento
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class PageFactoryBenchmark {
+
+    @Param({"0", "1000"})
+    public long latencyMicros;
+
+    @Setup
+    public void setUp() {
+        Telas.configurar();
+        DriverManager.setDriver(new FakeAppiumHttpClient("android", Telas.contatosAndroid(20), latencyMicros).newDriver());
+    }
+
+    @TearDown
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Benchmark
+    public Object paginaPrincipalDeContatos() {
+        return PageFactory.createContatosMainPage();
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import utils.PageSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpretação do page source e consultas locais do PageSnapshot por tamanho de lista
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class PageSourceBenchmark {
+    private final By nomes = By.id("com.android.contacts:id/cliv_name_textview");
+    private final By ultimo = By.xpath("//android.widget.TextView[contains(@text, 'Contato 9')]");
+
+    @Param({"10", "100", "500"})
+    public int contatos;
+
+    private String pageSource;
+    private PageSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        pageSource = Telas.contatosAndroid(contatos);
+        snapshot = PageSnapshot.parse(pageSource, "android");
+    }
+
+    @Benchmark
+    public PageSnapshot interpretacao() {
+        return PageSnapshot.parse(pageSource, "android");
+    }
+
+    @Benchmark
+    public int contagem() {
+        return snapshot.count(nomes);
+    }
+
+    @Benchmark
+    public String textoComContains() {
+        return snapshot.getText(ultimo);
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+/**
+ * Page sources usados pelos benchmarks, no formato devolvido pelo UiAutomator2
+ */
+final class Telas {
+
+    private Telas() {
+    }
+
+    /**
+     * Tela principal do app de contatos com a quantidade de contatos informada
+     */
+    static String contatosAndroid(int contatos) {
+        StringBuilder xml = new StringBuilder("<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>")
+                .append("<hierarchy rotation=\"0\">")
+                .append("<android.widget.FrameLayout resource-id=\"com.android.contacts:id/content\">")
+                .append("<android.widget.TextView text=\"Contacts\" resource-id=\"com.android.contacts:id/toolbar_title\"/>")
+                .append("<androidx.recyclerview.widget.RecyclerView resource-id=\"com.android.contacts:id/contact_list\">");
+        for (int i = 0; i < contatos; i++) {
+            xml.append("<android.view.ViewGroup resource-id=\"com.android.contacts:id/cliv_item\">")
+                    .append("<android.widget.TextView text=\"Contato ").append(i)
+                    .append("\" resource-id=\"com.android.contacts:id/cliv_name_textview\"/>")
+                    .append("</android.view.ViewGroup>");
+        }
+        return xml.append("</androidx.recyclerview.widget.RecyclerView>")
+                .append("<android.widget.ImageButton content-desc=\"Create contact\" resource-id=\"com.android.contacts:id/floating_action_button\"/>")
+                .append("</android.widget.FrameLayout>")
+                .append("</hierarchy>")
+                .toString();
+    }
+
+    /**
+     * Configuração comum: sem pool, sem compilação de locators (o driver simulado
+     * avalia apenas estratégias traduzíveis para XPath) e sondagem explícita
+     */
+    static void configurar() {
+        System.setProperty("platform", "android");
+        System.setProperty("session.pool.enabled", "false");
+        System.setProperty("locator.compiler.enabled", "false");
+        System.setProperty("element.probe.explicit.only", "true");
+        System.setProperty("popup.handler.enabled", "false");
+    }
+}
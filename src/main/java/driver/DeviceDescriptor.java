@@ -0,0 +1,57 @@
+package driver;
+
+/**
+ * Descrição de um dispositivo (emulador, simulador ou device real)
+ * disponível para execução dos testes
+ */
+public class DeviceDescriptor {
+    private final String platform;
+    private final String name;
+    private final String udid;
+    private final String serverUrl;
+
+    public DeviceDescriptor(String platform, String name, String udid, String serverUrl) {
+        this.platform = platform.toLowerCase();
+        this.name = name;
+        this.udid = udid;
+        this.serverUrl = serverUrl;
+    }
+
+    /**
+     * Interpreta uma entrada de configuração no formato "nome", "nome|udid" ou "nome|udid|url"
+     */
+    public static DeviceDescriptor parse(String platform, String entry) {
+        String[] parts = entry.trim().split("\\|");
+        String name = parts[0].trim();
+        String udid = parts.length > 1 && !parts[1].trim().isEmpty() ? parts[1].trim() : null;
+        String serverUrl = parts.length > 2 && !parts[2].trim().isEmpty() ? parts[2].trim() : null;
+        return new DeviceDescriptor(platform, name, udid, serverUrl);
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * UDID do dispositivo; no Android, quando não informado, o nome é o serial do adb
+     */
+    public String getUdid() {
+        if (udid == null && "android".equals(platform)) {
+            return name;
+        }
+        return udid;
+    }
+
+    public String getServerUrl() {
+        return serverUrl;
+    }
+
+    @Override
+    public String toString() {
+        return platform + ":" + name + (udid != null ? " (" + udid + ")" : "");
+    }
+}
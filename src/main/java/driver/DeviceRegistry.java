@@ -0,0 +1,140 @@
+package driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro de dispositivos e gerenciador de empréstimos (leases)
+ * Cada thread de execução do TestNG recebe seu próprio dispositivo,
+ * com portas exclusivas para systemPort, wdaLocalPort e mjpegServerPort
+ */
+public class DeviceRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    /**
+     * Empréstimo de um dispositivo para uma thread
+     */
+    public static class DeviceLease {
+        final DeviceRegistry registry;
+        private final DeviceDescriptor device;
+        private final int systemPort;
+        private final int wdaLocalPort;
+        private final int mjpegServerPort;
+
+        private DeviceLease(DeviceRegistry registry, DeviceDescriptor device, int systemPort, int wdaLocalPort,
+                            int mjpegServerPort) {
+            this.registry = registry;
+            this.device = device;
+            this.systemPort = systemPort;
+            this.wdaLocalPort = wdaLocalPort;
+            this.mjpegServerPort = mjpegServerPort;
+        }
+
+        public DeviceDescriptor getDevice() {
+            return device;
+        }
+
+        public int getSystemPort() {
+            return systemPort;
+        }
+
+        public int getWdaLocalPort() {
+            return wdaLocalPort;
+        }
+
+        public int getMjpegServerPort() {
+            return mjpegServerPort;
+        }
+
+        @Override
+        public String toString() {
+            return device + " [systemPort=" + systemPort + ", wdaLocalPort=" + wdaLocalPort
+                    + ", mjpegServerPort=" + mjpegServerPort + "]";
+        }
+    }
+
+    private final Map<String, List<DeviceLease>> free = new HashMap<>();
+    private final Map<DeviceLease, Thread> leased = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    /**
+     * @param devices  Dispositivos disponíveis (de qualquer plataforma)
+     * @param basePort Porta inicial; cada dispositivo recebe um bloco exclusivo de portas
+     */
+    public DeviceRegistry(List<DeviceDescriptor> devices, int basePort) {
+        int index = 0;
+        for (DeviceDescriptor device : devices) {
+            // As portas são fixas por dispositivo para que sessões do pool continuem compatíveis
+            DeviceLease lease = new DeviceLease(this, device, basePort + index, basePort + 100 + index, basePort + 200 + index);
+            free.computeIfAbsent(device.getPlatform(), k -> new ArrayList<>()).add(lease);
+            index++;
+        }
+        logger.info("Registro de dispositivos: {} dispositivo(s) disponível(is)", devices.size());
+    }
+
+    /**
+     * Empresta um dispositivo livre da plataforma, aguardando até o timeout
+     */
+    public DeviceLease lease(String platform, long timeout, TimeUnit unit) throws InterruptedException {
+        String key = platform.toLowerCase();
+        long remaining = unit.toNanos(timeout);
+
+        lock.lock();
+        try {
+            if (!free.containsKey(key)) {
+                throw new IllegalArgumentException("Nenhum dispositivo registrado para a plataforma: " + platform);
+            }
+            while (free.getOrDefault(key, Collections.emptyList()).isEmpty()) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timeout aguardando dispositivo livre para " + platform);
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            DeviceLease lease = free.get(key).remove(0);
+            leased.put(lease, Thread.currentThread());
+            logger.info("Dispositivo emprestado para {}: {}", Thread.currentThread().getName(), lease);
+            return lease;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve o dispositivo ao registro
+     */
+    public void release(DeviceLease lease) {
+        if (lease == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (leased.remove(lease) != null) {
+                free.computeIfAbsent(lease.device.getPlatform(), k -> new ArrayList<>()).add(lease);
+                released.signalAll();
+                logger.debug("Dispositivo devolvido: {}", lease.device);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int available(String platform) {
+        lock.lock();
+        try {
+            return free.getOrDefault(platform.toLowerCase(), Collections.emptyList()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,59 +1,217 @@
 package driver;
 
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.remote.SupportsRotation;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import utils.CommandMetrics;
 import utils.ConfigManager;
+import utils.ConfigSnapshot;
+import utils.DeviceLogStream;
+import utils.ElementUtils;
+import utils.WaitEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gerenciador de drivers Appium
  * Cria drivers para Android e iOS baseado na configuração
+ * Driver, dispositivo e sessão do pool ficam no SessionContext associado à thread atual
  */
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
-    private static ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
+    private static SessionContext.Slot<AppiumDriver> driver = SessionContext.Slot.create();
+    private static SessionContext.Slot<SessionPool.PooledSession> pooledSession = SessionContext.Slot.create();
+    private static SessionContext.Slot<DeviceRegistry.DeviceLease> deviceLease = SessionContext.Slot.create();
+    private static SessionContext.Slot<Boolean> sessionBroken = SessionContext.Slot.withInitial(() -> false);
     private static final ConfigManager config = ConfigManager.getInstance();
+    private static volatile SessionPool sessionPool;
+    private static final Map<String, DeviceRegistry> deviceRegistries = new ConcurrentHashMap<>();
     
     public static void createDriver() {
         String platform = config.getPlatform();
         logger.info("Criando driver para plataforma: {}", platform);
+        if (deviceLease.get() != null) {
+            // Sessão anterior não finalizada: devolve o dispositivo antes de pedir outro
+            logger.warn("Driver anterior não foi finalizado; finalizando antes de criar outro");
+            quitDriver();
+        }
         
         try {
+            DeviceRegistry.DeviceLease lease = getDeviceRegistry().lease(platform,
+                    config.getIntProperty("device.lease.timeout.seconds", 300), TimeUnit.SECONDS);
+            deviceLease.set(lease);
+            
+            Capabilities caps = buildCapabilities(platform, lease);
             AppiumDriver appiumDriver;
             
-            if ("android".equalsIgnoreCase(platform)) {
-                appiumDriver = createAndroidDriver();
-            } else if ("ios".equalsIgnoreCase(platform)) {
-                appiumDriver = createIOSDriver();
+            if (config.getBooleanProperty("session.pool.enabled", false)) {
+                SessionPool.PooledSession session = getSessionPool().lease(platform, caps);
+                pooledSession.set(session);
+                appiumDriver = session.getDriver();
             } else {
-                throw new IllegalArgumentException("Plataforma não suportada: " + platform);
+                appiumDriver = newDriver(platform, caps);
             }
             
-            // Configurações globais
-            int implicitWait = config.getIntProperty("implicit.wait", 10);
-            appiumDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-            
             driver.set(appiumDriver);
+            WaitEngine.startSession();
+            DeviceLogStream.startSession(appiumDriver, lease.getDevice().getName(), platform);
             logger.info("Driver criado com sucesso para {}", platform);
             
         } catch (Exception e) {
             logger.error("Erro ao criar driver para {}", platform, e);
+            releaseDevice();
             throw new RuntimeException("Falha ao criar driver", e);
         }
     }
     
-    private static AndroidDriver createAndroidDriver() throws Exception {
+    /**
+     * Cria uma nova sessão Appium (sem passar pelo pool)
+     */
+    private static AppiumDriver newDriver(String platform, Capabilities caps) throws Exception {
+        DeviceRegistry.DeviceLease lease = deviceLease.get();
+        String serverUrl = lease != null && lease.getDevice().getServerUrl() != null
+                ? lease.getDevice().getServerUrl()
+                : config.getProperty("appium.server.url", "http://127.0.0.1:4723");
+        AppiumDriver appiumDriver;
+        
+        // Com command.metrics.enabled, a latência de cada comando é medida no executor HTTP
+        boolean timed = config.getBooleanProperty("command.metrics.enabled", true);
+        if ("android".equalsIgnoreCase(platform)) {
+            appiumDriver = timed
+                    ? new AndroidDriver(new TimedCommandExecutor(new URL(serverUrl)), caps)
+                    : new AndroidDriver(new URL(serverUrl), caps);
+        } else {
+            appiumDriver = timed
+                    ? new IOSDriver(new TimedCommandExecutor(new URL(serverUrl)), caps)
+                    : new IOSDriver(new URL(serverUrl), caps);
+        }
+        
+        // Configurações globais
+        // No modo de sondagem explícita, toda espera é feita por polling no cliente
+        int implicitWait = ElementUtils.isExplicitOnly() ? 0 : config.getIntProperty("implicit.wait", 10);
+        appiumDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        return appiumDriver;
+    }
+    
+    private static Capabilities buildCapabilities(String platform, DeviceRegistry.DeviceLease lease) {
+        DesiredCapabilities caps;
+        if ("android".equalsIgnoreCase(platform)) {
+            caps = buildAndroidCapabilities();
+            caps.setCapability("systemPort", lease.getSystemPort());
+        } else if ("ios".equalsIgnoreCase(platform)) {
+            caps = buildIOSCapabilities();
+            caps.setCapability("wdaLocalPort", lease.getWdaLocalPort());
+        } else {
+            throw new IllegalArgumentException("Plataforma não suportada: " + platform);
+        }
+        
+        // Dados do dispositivo emprestado para esta thread
+        caps.setCapability("deviceName", lease.getDevice().getName());
+        if (lease.getDevice().getUdid() != null) {
+            caps.setCapability("udid", lease.getDevice().getUdid());
+        }
+        caps.setCapability("mjpegServerPort", lease.getMjpegServerPort());
+        return caps;
+    }
+    
+    /**
+     * Registro de dispositivos lido de "devices.android"/"devices.ios"
+     * (lista separada por vírgula); sem a lista, usa o device.name da plataforma
+     * Um registro por configuração de dispositivos (a lista pode mudar em runtime, ex: -Ddevices.android);
+     * cada empréstimo volta ao registro que o emitiu
+     */
+    private static DeviceRegistry getDeviceRegistry() {
+        String key = String.join("|", config.getProperty("devices.android", ""), config.getProperty("devices.ios", ""),
+                config.getProperty("device.name.android", ""), config.getProperty("device.name.ios", ""),
+                config.getProperty("device.port.base", ""));
+        return deviceRegistries.computeIfAbsent(key, k -> {
+            List<DeviceDescriptor> devices = new ArrayList<>();
+            devices.addAll(configuredDevices("android", "emulator-5556"));
+            devices.addAll(configuredDevices("ios", "iPhone 15 Pro"));
+            return new DeviceRegistry(devices, config.getIntProperty("device.port.base", 8200));
+        });
+    }
+    
+    private static List<DeviceDescriptor> configuredDevices(String platform, String defaultName) {
+        List<DeviceDescriptor> devices = new ArrayList<>();
+        String list = config.getProperty("devices." + platform);
+        if (list != null && !list.trim().isEmpty()) {
+            for (String entry : list.split(",")) {
+                if (!entry.trim().isEmpty()) {
+                    devices.add(DeviceDescriptor.parse(platform, entry));
+                }
+            }
+        } else {
+            devices.add(new DeviceDescriptor(platform, config.getProperty("device.name." + platform, defaultName), null, null));
+        }
+        return devices;
+    }
+    
+    private static void releaseDevice() {
+        DeviceRegistry.DeviceLease lease = deviceLease.get();
+        if (lease != null) {
+            lease.registry.release(lease);
+            deviceLease.remove();
+        }
+    }
+    
+    /**
+     * Cria as sessões do pool; a pré-criação em segundo plano usa o dispositivo e a configuração
+     * da thread do teste que devolveu a sessão
+     */
+    private static class SessionFactory implements SessionPool.SessionFactory {
+        @Override
+        public AppiumDriver create(String platform, Capabilities capabilities) throws Exception {
+            return newDriver(platform, capabilities);
+        }
+
+        @Override
+        public Callable<AppiumDriver> bind(String platform, Capabilities capabilities) {
+            DeviceRegistry.DeviceLease lease = deviceLease.get();
+            ConfigSnapshot snapshot = config.currentSession();
+            SessionContext background = new SessionContext("pré-criação " + lease);
+            return () -> background.call(() -> {
+                deviceLease.set(lease);
+                config.resumeSession(snapshot);
+                return newDriver(platform, capabilities);
+            });
+        }
+    }
+    
+    private static SessionPool getSessionPool() {
+        if (sessionPool == null) {
+            synchronized (DriverManager.class) {
+                if (sessionPool == null) {
+                    Duration maxAge = Duration.ofSeconds(config.getIntProperty("session.pool.max.age.seconds", 900));
+                    int maxUses = config.getIntProperty("session.pool.max.uses", 25);
+                    boolean prewarm = config.getBooleanProperty("session.pool.prewarm.enabled", false);
+                    sessionPool = new SessionPool(new SessionFactory(), maxAge, maxUses, prewarm);
+                    Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownSessionPool));
+                }
+            }
+        }
+        return sessionPool;
+    }
+    
+    private static DesiredCapabilities buildAndroidCapabilities() {
         DesiredCapabilities caps = new DesiredCapabilities();
         
         caps.setCapability("platformName", config.getProperty("platform.name.android", "Android"));
         caps.setCapability("platformVersion", config.getProperty("platform.version.android", "9.0"));
-        caps.setCapability("deviceName", config.getProperty("device.name.android", "emulator-5556"));
         caps.setCapability("automationName", config.getProperty("automation.name.android", "UiAutomator2"));
         caps.setCapability("appPackage", config.getProperty("app.package.android"));
         caps.setCapability("appActivity", config.getProperty("app.activity.android"));
@@ -61,26 +219,21 @@ public class DriverManager {
         // Configurações opcionais
         caps.setCapability("noReset", config.getBooleanProperty("no.reset.android", true));
         caps.setCapability("autoGrantPermissions", config.getBooleanProperty("auto.grant.permissions.android", true));
-        
-        String serverUrl = config.getProperty("appium.server.url", "http://127.0.0.1:4723");
-        return new AndroidDriver(new URL(serverUrl), caps);
+        return caps;
     }
     
-    private static IOSDriver createIOSDriver() throws Exception {
+    private static DesiredCapabilities buildIOSCapabilities() {
         DesiredCapabilities caps = new DesiredCapabilities();
         
         caps.setCapability("platformName", config.getProperty("platform.name.ios", "iOS"));
         caps.setCapability("platformVersion", config.getProperty("platform.version.ios", "17.2"));
-        caps.setCapability("deviceName", config.getProperty("device.name.ios", "iPhone 15 Pro"));
         caps.setCapability("automationName", config.getProperty("automation.name.ios", "XCUITest"));
         caps.setCapability("bundleId", config.getProperty("bundle.id.ios"));
         
         // Configurações opcionais
         caps.setCapability("noReset", config.getBooleanProperty("no.reset.ios", true));
         caps.setCapability("autoAcceptAlerts", config.getBooleanProperty("auto.accept.alerts.ios", true));
-        
-        String serverUrl = config.getProperty("appium.server.url", "http://127.0.0.1:4723");
-        return new IOSDriver(new URL(serverUrl), caps);
+        return caps;
     }
     
     public static AppiumDriver getDriver() {
@@ -91,16 +244,114 @@ public class DriverManager {
         return currentDriver;
     }
     
+    /**
+     * Associa à thread atual um driver criado fora do DriverManager
+     * (ex: driver simulado em benchmarks); quitDriver o finaliza normalmente
+     */
+    public static void setDriver(AppiumDriver appiumDriver) {
+        driver.set(appiumDriver);
+    }
+    
+    /**
+     * Finaliza o driver da thread (ou o devolve ao pool); o estado da sessão e o dispositivo
+     * são liberados mesmo quando o quit falha
+     */
     public static void quitDriver() {
         AppiumDriver currentDriver = driver.get();
-        if (currentDriver != null) {
-            currentDriver.quit();
+        boolean broken = sessionBroken.get();
+        sessionBroken.remove();
+        try {
+            DeviceLogStream.endSession();
+            if (currentDriver != null) {
+                SessionPool.PooledSession session = pooledSession.get();
+                if (session != null && broken) {
+                    sessionPool.retire(session, "sessão quebrada");
+                } else if (session != null) {
+                    sessionPool.release(session);
+                    logger.info("Driver devolvido ao pool de sessões");
+                } else if (broken) {
+                    try {
+                        currentDriver.quit();
+                    } catch (WebDriverException e) {
+                        logger.debug("Sessão quebrada já finalizada no servidor: {}", e.getMessage());
+                    }
+                    logger.info("Driver quebrado descartado");
+                } else {
+                    currentDriver.quit();
+                    logger.info("Driver finalizado");
+                }
+            }
+        } finally {
             driver.remove();
-            logger.info("Driver finalizado");
+            pooledSession.remove();
+            ElementUtils.invalidateSnapshot();
+            WaitEngine.endSession();
+            CommandMetrics.endSession();
+            releaseDevice();
+        }
+    }
+    
+    /**
+     * Finaliza todas as sessões mantidas pelo pool
+     */
+    public static void shutdownSessionPool() {
+        SessionPool pool = sessionPool;
+        if (pool != null) {
+            pool.shutdown();
         }
     }
     
     public static boolean isDriverActive() {
         return driver.get() != null;
     }
+
+    /**
+     * Nome do dispositivo emprestado para a thread atual, ou null sem sessão
+     */
+    public static String getCurrentDevice() {
+        DeviceRegistry.DeviceLease lease = deviceLease.get();
+        return lease != null ? lease.getDevice().getName() : null;
+    }
+    
+    /**
+     * Se a sessão atual ainda responde (ex: o UiAutomator2/WDA não caiu e o servidor está acessível)
+     * Consulta a orientação da tela: comando barato (sem serializar a árvore de elementos, como o page source)
+     * que ainda passa pelo servidor de automação do dispositivo e falha quando ele não responde
+     */
+    public static boolean isSessionHealthy() {
+        AppiumDriver currentDriver = driver.get();
+        if (currentDriver == null || currentDriver.getSessionId() == null) {
+            return false;
+        }
+        try {
+            ((SupportsRotation) currentDriver).getOrientation();
+            return true;
+        } catch (WebDriverException e) {
+            logger.info("Sessão não responde: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Marca a sessão atual como quebrada: o próximo quitDriver a descarta em vez de devolvê-la ao pool
+     */
+    public static void markSessionBroken() {
+        if (driver.get() != null) {
+            sessionBroken.set(true);
+        }
+    }
+    
+    /**
+     * Reinicia o app sob teste na sessão atual (terminateApp/activateApp), sem recriar a sessão
+     */
+    public static void restartApp() {
+        String platform = config.getPlatform();
+        String appId = "ios".equalsIgnoreCase(platform)
+                ? config.getProperty("bundle.id.ios")
+                : config.getProperty("app.package.android");
+        InteractsWithApps apps = (InteractsWithApps) getDriver();
+        apps.terminateApp(appId);
+        apps.activateApp(appId);
+        ElementUtils.invalidateSnapshot();
+    }
 }
@@ -0,0 +1,175 @@
+package driver;
+
+import io.appium.java_client.AppiumDriver;
+import utils.ConfigManager;
+import utils.ConfigSnapshot;
+import utils.ProbeMetrics;
+import utils.WaitMetrics;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Estado de uma sessão de teste: driver, dispositivo, configuração, métricas e caches
+ * (snapshot da tela, páginas, esperas), guardados em slots (Slot) em vez de ThreadLocals estáticos
+ * Os utilitários estáticos (DriverManager, ElementUtils, ConfigManager...) usam o contexto associado
+ * à thread atual; run/call associam um contexto a qualquer thread (inclusive virtual) durante um fluxo,
+ * o que permite a uma thread conduzir vários dispositivos ou a um fluxo trocar de thread
+ * Sem contexto associado, cada thread tem o seu próprio contexto implícito
+ */
+public final class SessionContext {
+    private static final ThreadLocal<SessionContext> bound = new ThreadLocal<>();
+    private static final ThreadLocal<SessionContext> implicit = ThreadLocal.withInitial(
+            () -> new SessionContext(Thread.currentThread().getName()));
+
+    private final String name;
+    private final Map<Slot<?>, Object> values = new ConcurrentHashMap<>();
+
+    public SessionContext(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Contexto associado à thread atual (o implícito da thread, se nenhum foi associado)
+     */
+    public static SessionContext current() {
+        SessionContext context = bound.get();
+        return context != null ? context : implicit.get();
+    }
+
+    /**
+     * Executa a ação com este contexto associado à thread atual, restaurando o anterior ao final
+     */
+    public void run(Runnable action) {
+        SessionContext previous = bound.get();
+        bound.set(this);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Executa a ação com este contexto associado à thread atual e devolve o resultado
+     */
+    public <T> T call(Callable<T> action) throws Exception {
+        SessionContext previous = bound.get();
+        bound.set(this);
+        try {
+            return action.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(SessionContext previous) {
+        if (previous != null) {
+            bound.set(previous);
+        } else {
+            bound.remove();
+        }
+    }
+
+    private <T> T supply(Supplier<T> getter) {
+        SessionContext previous = bound.get();
+        bound.set(this);
+        try {
+            return getter.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Driver da sessão; IllegalStateException se nenhum foi criado neste contexto
+     */
+    public AppiumDriver getDriver() {
+        return supply(DriverManager::getDriver);
+    }
+
+    /**
+     * Dispositivo emprestado para a sessão, ou null
+     */
+    public String getDevice() {
+        return supply(DriverManager::getCurrentDevice);
+    }
+
+    /**
+     * Configuração da sessão (plataforma, módulo e propriedades), ou null fora de sessão
+     */
+    public ConfigSnapshot getConfig() {
+        return supply(ConfigManager.getInstance()::currentSession);
+    }
+
+    public ProbeMetrics getProbeMetrics() {
+        return supply(ProbeMetrics::current);
+    }
+
+    public WaitMetrics getWaitMetrics() {
+        return supply(WaitMetrics::current);
+    }
+
+    @Override
+    public String toString() {
+        return "SessionContext[" + name + "]";
+    }
+
+    /**
+     * Valor guardado por sessão, com a mesma interface de um ThreadLocal: get/set/remove
+     * leem e alteram o contexto associado à thread atual
+     */
+    public static final class Slot<T> {
+        private final Supplier<? extends T> initial;
+
+        private Slot(Supplier<? extends T> initial) {
+            this.initial = initial;
+        }
+
+        public static <T> Slot<T> create() {
+            return new Slot<>(() -> null);
+        }
+
+        /**
+         * Slot com valor inicial criado na primeira leitura em cada contexto
+         */
+        public static <T> Slot<T> withInitial(Supplier<? extends T> initial) {
+            return new Slot<>(initial);
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get() {
+            Map<Slot<?>, Object> values = current().values;
+            Object value = values.get(this);
+            if (value == null) {
+                T created = initial.get();
+                if (created == null) {
+                    return null;
+                }
+                value = values.putIfAbsent(this, created);
+                if (value == null) {
+                    return created;
+                }
+            }
+            return (T) value;
+        }
+
+        public void set(T value) {
+            if (value == null) {
+                remove();
+            } else {
+                current().values.put(this, value);
+            }
+        }
+
+        public void remove() {
+            current().values.remove(this);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa fluxos em várias sessões ao mesmo tempo, cada um com o seu SessionContext
+ * (driver, dispositivo, configuração e métricas próprios), sem uma thread de TestNG por dispositivo
+ * No Java 21+ cada fluxo roda em uma virtual thread, e as esperas não ocupam threads do sistema;
+ * em JDKs anteriores, em um pool limitado a orchestrator.max.sessions threads
+ * Em ambos os casos, no máximo orchestrator.max.sessions sessões existem ao mesmo tempo
+ */
+public class SessionOrchestrator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SessionOrchestrator.class);
+
+    /**
+     * Fluxo executado com a sessão já criada; o driver é finalizado ao fim do fluxo
+     */
+    @FunctionalInterface
+    public interface Flow<T> {
+        T run(SessionContext session) throws Exception;
+    }
+
+    private final String platform;
+    private final String module;
+    private final Semaphore sessions;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final AtomicInteger flowCount = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    /**
+     * @param platform    Plataforma das sessões
+     * @param module      Módulo de configuração (null para apenas configurações globais)
+     * @param maxSessions Sessões simultâneas (normalmente, o número de dispositivos)
+     */
+    public SessionOrchestrator(String platform, String module, int maxSessions) {
+        this.platform = platform;
+        this.module = module;
+        this.sessions = new Semaphore(maxSessions);
+        ExecutorService virtual = ConfigManager.getInstance().getBooleanProperty("orchestrator.virtual.threads", true)
+                ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        if (virtual != null) {
+            this.executor = virtual;
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(maxSessions, task -> {
+                Thread thread = new Thread(task, "orchestrator-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        logger.info("Orquestrador de sessões: até {} sessões de {}, em {}", maxSessions, platform,
+                virtualThreads ? "virtual threads" : "pool de " + maxSessions + " threads");
+    }
+
+    /**
+     * Orquestrador com orchestrator.max.sessions sessões simultâneas
+     */
+    public SessionOrchestrator(String platform, String module) {
+        this(platform, module, ConfigManager.getInstance().getIntProperty("orchestrator.max.sessions", 4));
+    }
+
+    /**
+     * Executor com uma virtual thread por tarefa (Java 21+); null em JDKs anteriores
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Agenda o fluxo em uma sessão nova, criada quando houver vaga
+     */
+    public <T> CompletableFuture<T> submit(Flow<T> flow) {
+        String name = "fluxo-" + flowCount.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return runInSession(name, flow);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Executa todos os fluxos e devolve os resultados na mesma ordem
+     * Se algum falhar, aguarda os demais e lança a primeira falha
+     */
+    public <T> List<T> runAll(List<Flow<T>> flows) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (Flow<T> flow : flows) {
+            futures.add(submit(flow));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private <T> T runInSession(String name, Flow<T> flow) throws Exception {
+        sessions.acquire();
+        int running = active.incrementAndGet();
+        peak.accumulateAndGet(running, Math::max);
+        SessionContext session = new SessionContext(name);
+        ConfigManager config = ConfigManager.getInstance();
+        try {
+            return session.call(() -> {
+                config.openSession(platform, module);
+                try {
+                    DriverManager.createDriver();
+                    return flow.run(session);
+                } finally {
+                    DriverManager.quitDriver();
+                    config.closeSession();
+                }
+            });
+        } finally {
+            active.decrementAndGet();
+            sessions.release();
+        }
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Maior número de sessões simultâneas até agora
+     */
+    public int getPeakSessions() {
+        return peak.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,392 @@
+package driver;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import org.openqa.selenium.Capabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de sessões Appium reutilizáveis
+ * Mantém sessões "quentes" por plataforma e conjunto de capabilities,
+ * reiniciando apenas o app (terminate/activate) entre um teste e outro
+ * Com pré-criação, a sessão que sai do pool (expirada ou quebrada) é finalizada e substituída em segundo plano,
+ * e a substituta é entregue no próximo lease do mesmo dispositivo e capabilities
+ */
+public class SessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(SessionPool.class);
+
+    /**
+     * Cria uma nova sessão Appium para a plataforma e capabilities informadas
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+        AppiumDriver create(String platform, Capabilities capabilities) throws Exception;
+
+        /**
+         * Criação chamada mais tarde em outra thread (pré-criação); implementações que dependem
+         * do estado da thread atual (dispositivo, configuração) o capturam aqui
+         */
+        default Callable<AppiumDriver> bind(String platform, Capabilities capabilities) {
+            return () -> create(platform, capabilities);
+        }
+    }
+
+    /**
+     * Sessão mantida pelo pool
+     */
+    public static class PooledSession {
+        private final AppiumDriver driver;
+        private final String key;
+        private final String platform;
+        private final Capabilities capabilities;
+        private final long createdAt;
+        private int uses;
+
+        private PooledSession(AppiumDriver driver, String key, String platform, Capabilities capabilities) {
+            this.driver = driver;
+            this.key = key;
+            this.platform = platform;
+            this.capabilities = capabilities;
+            this.createdAt = System.nanoTime();
+        }
+
+        public AppiumDriver getDriver() {
+            return driver;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+
+        public Duration getAge() {
+            return Duration.ofNanos(System.nanoTime() - createdAt);
+        }
+    }
+
+    /**
+     * Substituta em negociação em segundo plano, com o dispositivo de destino
+     */
+    private static final class WarmSession {
+        final String device;
+        final CompletableFuture<PooledSession> future = new CompletableFuture<>();
+
+        WarmSession(String device) {
+            this.device = device;
+        }
+
+        /**
+         * Aguarda a negociação e finaliza a sessão, se ela foi criada
+         */
+        void discard(SessionPool pool, String reason) {
+            PooledSession session = future.exceptionally(e -> null).join();
+            if (session != null) {
+                pool.discard(session, reason);
+            }
+        }
+    }
+
+    private final SessionFactory factory;
+    private final Duration maxAge;
+    private final int maxUses;
+    private final boolean prewarm;
+    private final Map<String, Deque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private final Map<String, WarmSession> warming = new ConcurrentHashMap<>();
+    private volatile ExecutorService warmer;
+
+    public SessionPool(SessionFactory factory, Duration maxAge, int maxUses) {
+        this(factory, maxAge, maxUses, false);
+    }
+
+    /**
+     * @param prewarm Substitui em segundo plano as sessões que saem do pool (ver retire)
+     */
+    public SessionPool(SessionFactory factory, Duration maxAge, int maxUses, boolean prewarm) {
+        this.factory = factory;
+        this.maxAge = maxAge;
+        this.maxUses = maxUses;
+        this.prewarm = prewarm;
+    }
+
+    /**
+     * Empresta uma sessão para o teste atual
+     * Reutiliza uma sessão ociosa compatível (reiniciando o app) ou cria uma nova
+     */
+    public PooledSession lease(String platform, Capabilities capabilities) throws Exception {
+        String key = keyOf(platform, capabilities);
+        evictOtherKeys(deviceOf(capabilities), key);
+        Deque<PooledSession> sessions = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+
+        while (true) {
+            PooledSession session;
+            synchronized (sessions) {
+                session = sessions.pollFirst();
+            }
+            if (session == null) {
+                break;
+            }
+            if (isExpired(session)) {
+                discard(session, "expirada");
+                continue;
+            }
+            if (resetApp(session)) {
+                session.uses++;
+                logger.info("Sessão reutilizada do pool ({} usos, idade {}s)", session.uses, session.getAge().toSeconds());
+                return session;
+            }
+            discard(session, "falha ao reiniciar app");
+        }
+
+        PooledSession warm = takeWarm(key);
+        if (warm != null) {
+            warm.uses++;
+            return warm;
+        }
+        PooledSession session = create(platform, capabilities, key);
+        session.uses++;
+        logger.info("Nova sessão criada para o pool: {}", platform);
+        return session;
+    }
+
+    private PooledSession create(String platform, Capabilities capabilities, String key) throws Exception {
+        return new PooledSession(factory.create(platform, capabilities), key, platform, capabilities);
+    }
+
+    /**
+     * Sessão pré-criada para as capabilities, aguardando o fim da negociação; null sem pré-criação
+     * ou quando ela falhou (o lease então cria a sessão na hora)
+     */
+    private PooledSession takeWarm(String key) throws InterruptedException {
+        WarmSession pending = warming.remove(key);
+        if (pending == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            PooledSession session = pending.future.get();
+            logger.info("Sessão pré-criada entregue (espera de {} ms)", (System.nanoTime() - start) / 1_000_000);
+            return session;
+        } catch (ExecutionException e) {
+            logger.warn("Pré-criação de sessão falhou; criando na hora: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Um dispositivo só mantém uma sessão de automação (UiAutomator2/WDA): ao pedir capabilities diferentes,
+     * as sessões ociosas e pré-criadas do mesmo dispositivo com outras capabilities são descartadas
+     */
+    private void evictOtherKeys(String device, String key) {
+        if (device == null) {
+            return;
+        }
+        for (Map.Entry<String, Deque<PooledSession>> entry : idle.entrySet()) {
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            List<PooledSession> evicted = new ArrayList<>();
+            synchronized (entry.getValue()) {
+                entry.getValue().removeIf(session -> device.equals(deviceOf(session.capabilities)) && evicted.add(session));
+            }
+            evicted.forEach(session -> discard(session, "capabilities diferentes no mesmo dispositivo"));
+        }
+        for (String other : new ArrayList<>(warming.keySet())) {
+            WarmSession pending = warming.get(other);
+            if (other.equals(key) || pending == null || !device.equals(pending.device)) {
+                continue;
+            }
+            if (warming.remove(other, pending)) {
+                pending.discard(this, "capabilities diferentes no mesmo dispositivo");
+            }
+        }
+    }
+
+    /**
+     * Devolve a sessão ao pool ao fim do teste
+     */
+    public void release(PooledSession session) {
+        if (session == null) {
+            return;
+        }
+        if (isExpired(session)) {
+            retire(session, "limite de idade/usos atingido");
+            return;
+        }
+        Deque<PooledSession> sessions = idle.computeIfAbsent(session.key, k -> new ArrayDeque<>());
+        synchronized (sessions) {
+            sessions.addLast(session);
+        }
+        logger.debug("Sessão devolvida ao pool");
+    }
+
+    /**
+     * Descarta uma sessão que não deve mais ser reutilizada (ex: sessão quebrada)
+     */
+    public void discard(PooledSession session, String reason) {
+        logger.info("Descartando sessão do pool: {}", reason);
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Erro ao finalizar sessão descartada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tira a sessão do pool; com pré-criação, a finalização e a negociação da substituta (mesmas capabilities)
+     * ficam em segundo plano, enquanto a thread do teste segue para o teardown e o próximo setup
+     */
+    public void retire(PooledSession session, String reason) {
+        if (!prewarm) {
+            discard(session, reason);
+            return;
+        }
+        WarmSession replacement = new WarmSession(deviceOf(session.capabilities));
+        if (warming.putIfAbsent(session.key, replacement) != null) {
+            // Já existe uma substituta a caminho para estas capabilities
+            discard(session, reason);
+            return;
+        }
+        logger.info("Substituindo sessão em segundo plano: {}", reason);
+        Callable<AppiumDriver> creation = factory.bind(session.platform, session.capabilities);
+        getWarmer().execute(() -> {
+            discard(session, reason);
+            try {
+                replacement.future.complete(
+                        new PooledSession(creation.call(), session.key, session.platform, session.capabilities));
+            } catch (Throwable e) {
+                replacement.future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Finaliza todas as sessões ociosas e as pré-criadas (aguardando as negociações em andamento)
+     */
+    public void shutdown() {
+        List<PooledSession> all = new ArrayList<>();
+        for (Deque<PooledSession> sessions : idle.values()) {
+            synchronized (sessions) {
+                all.addAll(sessions);
+                sessions.clear();
+            }
+        }
+        for (PooledSession session : all) {
+            discard(session, "encerramento do pool");
+        }
+        for (String key : new ArrayList<>(warming.keySet())) {
+            WarmSession pending = warming.remove(key);
+            if (pending != null) {
+                pending.discard(this, "encerramento do pool");
+            }
+        }
+        ExecutorService current = warmer;
+        if (current != null) {
+            current.shutdown();
+            warmer = null;
+        }
+    }
+
+    /**
+     * Substitutas em negociação ou prontas, ainda não entregues
+     */
+    public int warmCount() {
+        return warming.size();
+    }
+
+    public int idleCount() {
+        int total = 0;
+        for (Deque<PooledSession> sessions : idle.values()) {
+            synchronized (sessions) {
+                total += sessions.size();
+            }
+        }
+        return total;
+    }
+
+    private ExecutorService getWarmer() {
+        if (warmer == null) {
+            synchronized (this) {
+                if (warmer == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    warmer = Executors.newCachedThreadPool(task -> {
+                        Thread thread = new Thread(task, "session-prewarm-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return warmer;
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return session.uses >= maxUses || session.getAge().compareTo(maxAge) > 0;
+    }
+
+    /**
+     * Reinicia o app sob teste sem recriar a sessão
+     */
+    private boolean resetApp(PooledSession session) {
+        String appId = appIdOf(session.capabilities);
+        if (appId == null) {
+            return session.driver.getSessionId() != null;
+        }
+        try {
+            InteractsWithApps apps = (InteractsWithApps) session.driver;
+            apps.terminateApp(appId);
+            apps.activateApp(appId);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Erro ao reiniciar app {}: {}", appId, e.getMessage());
+            return false;
+        }
+    }
+
+    static String keyOf(String platform, Capabilities capabilities) {
+        return platform.toLowerCase() + new TreeMap<>(capabilities.asMap());
+    }
+
+    /**
+     * Dispositivo das capabilities (udid ou deviceName, com ou sem o prefixo appium:)
+     */
+    private static String deviceOf(Capabilities capabilities) {
+        for (String name : new String[] {"udid", "deviceName"}) {
+            Object value = capabilities.getCapability(name);
+            if (value == null) {
+                value = capabilities.getCapability("appium:" + name);
+            }
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    private static String appIdOf(Capabilities capabilities) {
+        Object appPackage = capabilities.getCapability("appPackage");
+        if (appPackage != null) {
+            return appPackage.toString();
+        }
+        Object bundleId = capabilities.getCapability("bundleId");
+        return bundleId != null ? bundleId.toString() : null;
+    }
+}
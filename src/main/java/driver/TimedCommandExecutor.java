@@ -0,0 +1,58 @@
+package driver;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import utils.CommandMetrics;
+
+import java.net.URL;
+
+/**
+ * Executor de comandos Appium que mede a latência de cada comando enviado ao servidor
+ * Fica abaixo do AndroidDriver/IOSDriver, então os drivers continuam com seus tipos
+ * e todo comando (inclusive os do SessionPool) é registrado em CommandMetrics
+ */
+public class TimedCommandExecutor extends AppiumCommandExecutor {
+
+    public TimedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl);
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        long start = System.nanoTime();
+        try {
+            return super.execute(command);
+        } finally {
+            CommandMetrics.record(command.getName(), detailOf(command), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Estratégia de busca (find*) ou comando mobile executado (executeScript, ex: "mobile: terminateApp")
+     */
+    private static String detailOf(Command command) {
+        Object detail;
+        switch (command.getName()) {
+            case DriverCommand.FIND_ELEMENT:
+            case DriverCommand.FIND_ELEMENTS:
+            case DriverCommand.FIND_CHILD_ELEMENT:
+            case DriverCommand.FIND_CHILD_ELEMENTS:
+                detail = command.getParameters().get("using");
+                break;
+            case DriverCommand.EXECUTE_SCRIPT:
+                // Só os comandos "mobile:" viram chave; scripts JS livres ficam agrupados
+                detail = command.getParameters().get("script");
+                if (detail != null && !detail.toString().startsWith("mobile:")) {
+                    detail = "script";
+                }
+                break;
+            default:
+                return null;
+        }
+        return detail != null ? detail.toString() : null;
+    }
+}
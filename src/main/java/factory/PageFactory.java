@@ -1,24 +1,146 @@
 package factory;
 
+import driver.SessionContext;
 import pages.android.AdicionarContatoPageAndroid;
 import pages.android.ContatosMainPageAndroid;
 import pages.android.DetalhesContatoPageAndroid;
 import pages.ios.AdicionarContatoPageIOS;
 import pages.ios.ContatosMainPageIOS;
 import pages.ios.DetalhesContatoPageIOS;
+import pages.base.BasePage;
 import utils.ConfigManager;
+import utils.ElementUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
 /**
  * Factory para criação de páginas específicas por plataforma
  * Utiliza o padrão Factory Method para retornar a página correta
+ * page(Class) devolve a página tipada sem verificá-la (a verificação fica para a primeira interação)
+ * e reaproveita a mesma instância enquanto a tela não muda
+ * currentPage() devolve a página da tela atual, identificada pelo ScreenClassifier
  */
 public class PageFactory {
     private static final Logger logger = LoggerFactory.getLogger(PageFactory.class);
     private static final String ANDROID = "android";
     private static final String IOS = "ios";
     
+    /**
+     * Implementação de página registrada para uma plataforma
+     */
+    private static class Registration {
+        final String platform;
+        final Supplier<? extends BasePage> constructor;
+        
+        Registration(String platform, Supplier<? extends BasePage> constructor) {
+            this.platform = platform;
+            this.constructor = constructor;
+        }
+    }
+    
+    /**
+     * Página criada nesta thread e a versão da tela em que foi criada
+     */
+    private static class CachedPage {
+        final BasePage page;
+        final long screenVersion;
+        
+        CachedPage(BasePage page, long screenVersion) {
+            this.page = page;
+            this.screenVersion = screenVersion;
+        }
+        
+        boolean isValid() {
+            long version = page.isLoaded() ? page.getLoadedScreenVersion() : screenVersion;
+            return version == ElementUtils.screenVersion();
+        }
+    }
+    
+    // Ordem de registro: desempate do ScreenClassifier entre páginas igualmente específicas
+    private static final Map<Class<?>, Registration> registry = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final SessionContext.Slot<Map<Class<?>, CachedPage>> cache = SessionContext.Slot.withInitial(HashMap::new);
+    
+    static {
+        register(ANDROID, ContatosMainPageAndroid.class, ContatosMainPageAndroid::new);
+        register(ANDROID, AdicionarContatoPageAndroid.class, AdicionarContatoPageAndroid::new);
+        register(ANDROID, DetalhesContatoPageAndroid.class, DetalhesContatoPageAndroid::new);
+        register(IOS, ContatosMainPageIOS.class, ContatosMainPageIOS::new);
+        register(IOS, AdicionarContatoPageIOS.class, AdicionarContatoPageIOS::new);
+        register(IOS, DetalhesContatoPageIOS.class, DetalhesContatoPageIOS::new);
+    }
+    
+    /**
+     * Registra a implementação de uma página para a plataforma
+     */
+    public static <T extends BasePage> void register(String platform, Class<T> type, Supplier<T> constructor) {
+        registry.put(type, new Registration(platform.toLowerCase(), constructor));
+    }
+    
+    /**
+     * Páginas registradas para a plataforma, na ordem de registro, com seus construtores
+     */
+    static Map<Class<? extends BasePage>, Supplier<? extends BasePage>> registeredPages(String platform) {
+        Map<Class<? extends BasePage>, Supplier<? extends BasePage>> pages = new LinkedHashMap<>();
+        List<Map.Entry<Class<?>, Registration>> entries;
+        synchronized (registry) {
+            entries = new ArrayList<>(registry.entrySet());
+        }
+        for (Map.Entry<Class<?>, Registration> entry : entries) {
+            if (entry.getValue().platform.equals(platform.toLowerCase())) {
+                pages.put(entry.getKey().asSubclass(BasePage.class), entry.getValue().constructor);
+            }
+        }
+        return pages;
+    }
+    
+    /**
+     * Página da tela atual, identificada com um único page source (ScreenClassifier)
+     * Útil para recuperar a navegação quando um teste não sabe em que tela o app ficou
+     * @throws IllegalStateException se nenhuma página registrada corresponder à tela
+     */
+    public static BasePage currentPage() {
+        ScreenClassifier.Classification classification = ScreenClassifier.classify();
+        if (!classification.isKnown()) {
+            throw new IllegalStateException(classification.toString());
+        }
+        return page(classification.getPage());
+    }
+    
+    /**
+     * Página tipada da plataforma atual, para quando o chamador já sabe em que tela está
+     * A criação não envia comandos: a página é verificada na primeira interação com elementos,
+     * e a mesma instância é devolvida enquanto nenhum comando alterar a tela
+     */
+    public static <T extends BasePage> T page(Class<T> type) {
+        Registration registration = registry.get(type);
+        if (registration == null) {
+            throw new IllegalArgumentException("Página não registrada no PageFactory: " + type.getSimpleName());
+        }
+        String platform = ConfigManager.getInstance().getPlatform().toLowerCase();
+        if (!registration.platform.equals(platform)) {
+            throw new IllegalArgumentException("Página " + type.getSimpleName() + " é de " + registration.platform
+                    + ", plataforma atual: " + platform);
+        }
+        
+        CachedPage cached = cache.get().get(type);
+        if (cached != null && cached.isValid()) {
+            logger.debug("Reaproveitando {} (tela não mudou)", type.getSimpleName());
+            return type.cast(cached.page);
+        }
+        BasePage page = BasePage.deferLoad(registration.constructor);
+        cache.get().put(type, new CachedPage(page, ElementUtils.screenVersion()));
+        logger.debug("{} criada com verificação adiada", type.getSimpleName());
+        return type.cast(page);
+    }
+    
     /**
      * Cria a página principal de contatos baseada na plataforma
      */
@@ -28,10 +150,10 @@ public class PageFactory {
         switch (platform.toLowerCase()) {
             case ANDROID:
                 logger.info("Criando ContatosMainPageAndroid");
-                return new ContatosMainPageAndroid();
+                return page(ContatosMainPageAndroid.class);
             case IOS:
                 logger.info("Criando ContatosMainPageIOS");
-                return new ContatosMainPageIOS();
+                return page(ContatosMainPageIOS.class);
             default:
                 throw new IllegalArgumentException("Plataforma não suportada: " + platform);
         }
@@ -46,10 +168,10 @@ public class PageFactory {
         switch (platform.toLowerCase()) {
             case ANDROID:
                 logger.info("Criando AdicionarContatoPageAndroid");
-                return new AdicionarContatoPageAndroid();
+                return page(AdicionarContatoPageAndroid.class);
             case IOS:
                 logger.info("Criando AdicionarContatoPageIOS");
-                return new AdicionarContatoPageIOS();
+                return page(AdicionarContatoPageIOS.class);
             default:
                 throw new IllegalArgumentException("Plataforma não suportada: " + platform);
         }
@@ -64,10 +186,10 @@ public class PageFactory {
         switch (platform.toLowerCase()) {
             case ANDROID:
                 logger.info("Criando DetalhesContatoPageAndroid");
-                return new DetalhesContatoPageAndroid();
+                return page(DetalhesContatoPageAndroid.class);
             case IOS:
                 logger.info("Criando DetalhesContatoPageIOS");
-                return new DetalhesContatoPageIOS();
+                return page(DetalhesContatoPageIOS.class);
             default:
                 throw new IllegalArgumentException("Plataforma não suportada: " + platform);
         }
@@ -0,0 +1,121 @@
+package factory;
+
+import driver.DriverManager;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.base.BasePage;
+import utils.ConfigManager;
+import utils.PageSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Identifica a página da tela atual comparando um único page source com o fingerprint
+ * de todas as páginas registradas no PageFactory para a plataforma
+ * Substitui a sequência de isCurrentPage (um timeout por página errada) por uma ida ao dispositivo
+ */
+public final class ScreenClassifier {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenClassifier.class);
+
+    // Fingerprints lidos uma vez por classe, de instâncias que não tocam no dispositivo
+    private static final Map<Class<? extends BasePage>, List<By>> fingerprints = new ConcurrentHashMap<>();
+
+    private ScreenClassifier() {
+    }
+
+    /**
+     * Resultado da classificação: a página reconhecida (ou nenhuma) e, por página candidata,
+     * os elementos do fingerprint que faltaram na tela
+     */
+    public static final class Classification {
+        private final Class<? extends BasePage> page;
+        private final Map<Class<? extends BasePage>, List<By>> missing;
+
+        Classification(Class<? extends BasePage> page, Map<Class<? extends BasePage>, List<By>> missing) {
+            this.page = page;
+            this.missing = Collections.unmodifiableMap(missing);
+        }
+
+        /**
+         * Página reconhecida, ou null se a tela não corresponde a nenhuma
+         */
+        public Class<? extends BasePage> getPage() {
+            return page;
+        }
+
+        public boolean isKnown() {
+            return page != null;
+        }
+
+        /**
+         * Elementos do fingerprint ausentes, por página candidata (vazio para as que corresponderam)
+         */
+        public Map<Class<? extends BasePage>, List<By>> getMissing() {
+            return missing;
+        }
+
+        @Override
+        public String toString() {
+            if (isKnown()) {
+                return "Tela atual: " + page.getSimpleName();
+            }
+            StringBuilder diff = new StringBuilder("Tela desconhecida; elementos ausentes por página:");
+            missing.forEach((candidate, absent) ->
+                    diff.append("\n  ").append(candidate.getSimpleName()).append(": ").append(absent));
+            return diff.toString();
+        }
+    }
+
+    /**
+     * Classifica a tela atual com um único page source
+     * Havendo mais de uma página compatível, vence a de fingerprint mais específico (mais elementos),
+     * e depois a registrada primeiro
+     */
+    public static Classification classify() {
+        String platform = ConfigManager.getInstance().getPlatform();
+        return classify(PageSnapshot.parse(DriverManager.getDriver().getPageSource(), platform), platform);
+    }
+
+    /**
+     * Classifica um snapshot já obtido
+     */
+    public static Classification classify(PageSnapshot snapshot, String platform) {
+        Map<Class<? extends BasePage>, List<By>> missing = new LinkedHashMap<>();
+        Class<? extends BasePage> best = null;
+        int bestSize = 0;
+        for (Map.Entry<Class<? extends BasePage>, Supplier<? extends BasePage>> entry
+                : PageFactory.registeredPages(platform).entrySet()) {
+            List<By> fingerprint = fingerprint(entry.getKey(), entry.getValue());
+            List<By> absent = new ArrayList<>();
+            for (By locator : fingerprint) {
+                // Locators que o snapshot não avalia contam como ausentes: a classificação não faz outras buscas
+                if (!snapshot.supports(locator) || !snapshot.isPresent(locator)) {
+                    absent.add(locator);
+                }
+            }
+            missing.put(entry.getKey(), absent);
+            if (absent.isEmpty() && !fingerprint.isEmpty() && fingerprint.size() > bestSize) {
+                best = entry.getKey();
+                bestSize = fingerprint.size();
+            }
+        }
+        Classification classification = new Classification(best, missing);
+        logger.debug("{}", classification);
+        return classification;
+    }
+
+    private static List<By> fingerprint(Class<? extends BasePage> type, Supplier<? extends BasePage> constructor) {
+        return fingerprints.computeIfAbsent(type, key -> {
+            By[] locators = BasePage.withoutLoading(constructor).fingerprint();
+            return locators == null ? Collections.emptyList() : List.copyOf(Arrays.asList(locators));
+        });
+    }
+}
@@ -2,10 +2,12 @@ package pages.android;
 
 import model.Contato;
 import pages.base.BasePage;
-import utils.AndroidUtils;
 import utils.ElementUtils;
 import org.openqa.selenium.By;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Página para adicionar contato - Android
  */
@@ -21,22 +23,28 @@ public class AdicionarContatoPageAndroid extends BasePage {
     private final By tituloAdicionar = By.xpath("//android.widget.TextView[@text='Create new contact']");
     
     public AdicionarContatoPageAndroid() {
-        super();
-        
-        // Verificar se há popup de conta e lidar com ele
-        AndroidUtils.handleInitialPopups();
-        
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         // Aguardar a página de adicionar contato carregar
         waitForPageLoad(tituloAdicionar, "Adicionar Contato Android");
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(tituloAdicionar, 5);
+    public By[] fingerprint() {
+        return new By[] {tituloAdicionar, botaoSalvar};
+    }
+    
+    @Override
+    protected By[] currentPageIndicators() {
+        return new By[] {tituloAdicionar};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         return ElementUtils.getText(tituloAdicionar);
     }
     
@@ -44,6 +52,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Preenche o nome do contato (primeiro nome)
      */
     public AdicionarContatoPageAndroid preencherNome(String nome) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoNome, nome);
         logger.info("Nome preenchido: {}", nome);
         return this;
@@ -53,6 +62,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Preenche o sobrenome do contato
      */
     public AdicionarContatoPageAndroid preencherSobrenome(String sobrenome) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoSobrenome, sobrenome);
         logger.info("Sobrenome preenchido: {}", sobrenome);
         return this;
@@ -62,6 +72,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Preenche o telefone do contato
      */
     public AdicionarContatoPageAndroid preencherTelefone(String telefone) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoTelefone, telefone);
         logger.info("Telefone preenchido: {}", telefone);
         return this;
@@ -71,6 +82,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Preenche o email do contato (se disponível)
      */
     public AdicionarContatoPageAndroid preencherEmail(String email) {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(campoEmail, 3)) {
             ElementUtils.clearAndType(campoEmail, email);
             logger.info("Email preenchido: {}", email);
@@ -82,13 +94,29 @@ public class AdicionarContatoPageAndroid extends BasePage {
     
     /**
      * Preenche todos os dados do contato
+     * Com form.fast.fill.enabled, todos os campos são preenchidos de uma vez (ElementUtils.fillFields)
      */
     public AdicionarContatoPageAndroid preencherContato(Contato contato) {
+        ensureLoaded();
         // Dividir o nome em primeiro nome e sobrenome
         String[] nomes = contato.getNome().split(" ", 2);
         String primeiroNome = nomes[0];
         String sobrenome = nomes.length > 1 ? nomes[1] : "";
         
+        if (ElementUtils.isFastFillEnabled()) {
+            Map<By, String> campos = new LinkedHashMap<>();
+            campos.put(campoNome, primeiroNome);
+            if (!sobrenome.isEmpty()) {
+                campos.put(campoSobrenome, sobrenome);
+            }
+            campos.put(campoTelefone, contato.getTelefone());
+            campos.put(campoEmail, contato.getEmail());
+            if (ElementUtils.fillFields(campos, campoEmail).contains(campoEmail)) {
+                logger.warn("Campo email não disponível na versão atual do app Contatos");
+            }
+            return this;
+        }
+        
         preencherNome(primeiroNome);
         if (!sobrenome.isEmpty()) {
             preencherSobrenome(sobrenome);
@@ -102,6 +130,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Salva o contato
      */
     public void salvarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoSalvar);
         logger.info("Contato salvo com sucesso");
     }
@@ -110,6 +139,7 @@ public class AdicionarContatoPageAndroid extends BasePage {
      * Cancela a adição do contato
      */
     public void cancelarAdicao() {
+        ensureLoaded();
         ElementUtils.click(botaoCancelar);
         logger.info("Adição de contato cancelada");
     }
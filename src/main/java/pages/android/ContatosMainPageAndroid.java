@@ -28,8 +28,11 @@ public class ContatosMainPageAndroid extends BasePage {
     private final By botaoImportarContatos = By.id("com.android.contacts:id/import_contacts_button");
     
     public ContatosMainPageAndroid() {
-        super();
-        
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         // Navegar para o app de contatos e lidar com popups
         AndroidUtils.navigateToContacts();
         
@@ -38,15 +41,18 @@ public class ContatosMainPageAndroid extends BasePage {
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(tituloContatos, 5) || 
-               ElementUtils.isElementPresent(listaContatos, 5) ||
-               ElementUtils.isElementPresent(mensagemListaVazia, 5) ||
-               ElementUtils.isElementPresent(botaoAdicionar, 5);
+    public By[] fingerprint() {
+        return new By[] {botaoAdicionar};
+    }
+    
+    @Override
+    protected By[] currentPageIndicators() {
+        return new By[] {tituloContatos, listaContatos, mensagemListaVazia, botaoAdicionar};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(tituloContatos, 2)) {
             return ElementUtils.getText(tituloContatos);
         }
@@ -57,6 +63,7 @@ public class ContatosMainPageAndroid extends BasePage {
      * Clica no botão adicionar contato
      */
     public AdicionarContatoPageAndroid clicarAdicionarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoAdicionar);
         logger.info("Clicado no botão adicionar contato");
         return new AdicionarContatoPageAndroid();
@@ -66,6 +73,7 @@ public class ContatosMainPageAndroid extends BasePage {
      * Verifica se há contatos na lista
      */
     public boolean temContatos() {
+        ensureLoaded();
         return !ElementUtils.isElementPresent(mensagemListaVazia, 2);
     }
     
@@ -73,6 +81,7 @@ public class ContatosMainPageAndroid extends BasePage {
      * Pesquisa por um contato pelo nome (se disponível)
      */
     public ContatosMainPageAndroid pesquisarContato(String nome) {
+        ensureLoaded();
         if (!temContatos()) {
             logger.warn("Não é possível pesquisar - lista de contatos está vazia");
             return this;
@@ -92,17 +101,13 @@ public class ContatosMainPageAndroid extends BasePage {
      * Seleciona um contato da lista pelo nome
      */
     public DetalhesContatoPageAndroid selecionarContato(String nome) {
-        // Primeiro tentar pelo resource-id mais específico
-        By contatoLocator = By.xpath("//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='" + nome + "']");
-        
-        if (!ElementUtils.isElementPresent(contatoLocator, 3)) {
-            // Se não encontrar, tentar pelo texto simples
-            contatoLocator = By.xpath("//android.widget.TextView[@text='" + nome + "']");
-        }
+        ensureLoaded();
+        By[] seletoresContato = seletoresContato(nome);
         
-        if (!ElementUtils.isElementPresent(contatoLocator, 3)) {
-            // Se ainda não encontrar, tentar por contains para nomes parciais
-            contatoLocator = By.xpath("//android.widget.TextView[contains(@text, '" + nome + "')]");
+        // Primeiro seletor presente, na ordem de prioridade; sem nenhum, tenta o mais abrangente (contains)
+        By contatoLocator = ElementUtils.waitForInList(3, listaContatos, nome, seletoresContato);
+        if (contatoLocator == null) {
+            contatoLocator = seletoresContato[seletoresContato.length - 1];
         }
         
         ElementUtils.click(contatoLocator);
@@ -114,36 +119,40 @@ public class ContatosMainPageAndroid extends BasePage {
      * Verifica se um contato existe na lista
      */
     public boolean contatoExiste(String nome) {
-        // Primeiro tentar pelo resource-id mais específico
-        By contatoLocator = By.xpath("//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='" + nome + "']");
-        
-        if (!ElementUtils.isElementPresent(contatoLocator, 2)) {
-            // Se não encontrar, tentar pelo texto simples
-            contatoLocator = By.xpath("//android.widget.TextView[@text='" + nome + "']");
-        }
-        
-        if (!ElementUtils.isElementPresent(contatoLocator, 2)) {
-            // Se ainda não encontrar, tentar por contains para nomes parciais
-            contatoLocator = By.xpath("//android.widget.TextView[contains(@text, '" + nome + "')]");
-        }
-        
-        boolean existe = ElementUtils.isElementPresent(contatoLocator, 2);
+        ensureLoaded();
+        boolean existe = ElementUtils.waitForInList(2, listaContatos, nome, seletoresContato(nome)) != null;
         logger.info("Contato '{}' existe: {}", nome, existe);
         return existe;
     }
     
+    /**
+     * Seletores do contato na lista, do mais específico ao mais abrangente
+     */
+    private By[] seletoresContato(String nome) {
+        return new By[] {
+            // Resource-id da célula de nome
+            By.xpath("//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='" + nome + "']"),
+            // Texto simples
+            By.xpath("//android.widget.TextView[@text='" + nome + "']"),
+            // Contains para nomes parciais
+            By.xpath("//android.widget.TextView[contains(@text, '" + nome + "')]")
+        };
+    }
+    
     /**
      * Obtém o número total de contatos
      */
     public int getNumeroTotalContatos() {
+        ensureLoaded();
         List<By> contatos = List.of(By.xpath("//android.widget.TextView[contains(@resource-id, 'contact_name')]"));
-        return ElementUtils.getElementCount(contatos.get(0));
+        return ElementUtils.withSnapshot(() -> ElementUtils.getElementCount(contatos.get(0)));
     }
     
     /**
      * Abre o menu de opções
      */
     public ContatosMainPageAndroid abrirMenuOpcoes() {
+        ensureLoaded();
         ElementUtils.click(menuOpcoes);
         logger.info("Menu de opções aberto");
         return this;
@@ -153,6 +162,7 @@ public class ContatosMainPageAndroid extends BasePage {
      * Clica na opção importar contatos
      */
     public void importarContatos() {
+        ensureLoaded();
         abrirMenuOpcoes();
         ElementUtils.click(opcaoImportar);
         logger.info("Opção importar contatos selecionada");
@@ -162,6 +172,7 @@ public class ContatosMainPageAndroid extends BasePage {
      * Clica na opção exportar contatos
      */
     public void exportarContatos() {
+        ensureLoaded();
         abrirMenuOpcoes();
         ElementUtils.click(opcaoExportar);
         logger.info("Opção exportar contatos selecionada");
@@ -26,19 +26,28 @@ public class DetalhesContatoPageAndroid extends BasePage {
     private final By cancelarExclusao = By.id("android:id/button2"); // Botão CANCEL
     
     public DetalhesContatoPageAndroid() {
-        super();
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         // Na tela de detalhes, o mais confiável é aguardar pelo botão de editar
         waitForPageLoad(botaoEditar, "Detalhes Contato Android");
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(botaoEditar, 5) || 
-               ElementUtils.isElementPresent(botaoMaisOpcoes, 5);
+    public By[] fingerprint() {
+        return new By[] {botaoEditar};
+    }
+    
+    @Override
+    protected By[] currentPageIndicators() {
+        return new By[] {botaoEditar, botaoMaisOpcoes};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(nomeContato, 2)) {
             return "Detalhes - " + ElementUtils.getText(nomeContato);
         }
@@ -49,6 +58,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Obtém o nome do contato
      */
     public String getNome() {
+        ensureLoaded();
         String nome = ElementUtils.getText(nomeContato);
         logger.info("Nome obtido: {}", nome);
         return nome;
@@ -58,6 +68,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Obtém o telefone do contato
      */
     public String getTelefone() {
+        ensureLoaded();
         String telefone = ElementUtils.getText(telefoneContato);
         logger.info("Telefone obtido: {}", telefone);
         return telefone;
@@ -67,6 +78,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Obtém o email do contato
      */
     public String getEmail() {
+        ensureLoaded();
         String email = ElementUtils.getText(emailContato);
         logger.info("Email obtido: {}", email);
         return email;
@@ -76,6 +88,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Obtém a empresa do contato
      */
     public String getEmpresa() {
+        ensureLoaded();
         String empresa = ElementUtils.getText(empresaContato);
         logger.info("Empresa obtida: {}", empresa);
         return empresa;
@@ -85,18 +98,21 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Obtém todos os dados do contato
      */
     public Contato obterDadosContato() {
-        return new Contato.Builder()
+        ensureLoaded();
+        // Todos os campos lidos de um único page source
+        return ElementUtils.withSnapshot(() -> new Contato.Builder()
             .nome(getNome())
             .telefone(getTelefone())
             .email(getEmail())
             .empresa(getEmpresa())
-            .build();
+            .build());
     }
     
     /**
      * Clica no botão editar
      */
     public void editarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoEditar);
         logger.info("Botão editar clicado");
     }
@@ -105,6 +121,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Exclui o contato
      */
     public ContatosMainPageAndroid excluirContato() {
+        ensureLoaded();
         // Clicar no menu "More options"
         ElementUtils.click(botaoMaisOpcoes);
         logger.info("Menu de opções aberto");
@@ -124,6 +141,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Cancela a exclusão do contato
      */
     public DetalhesContatoPageAndroid cancelarExclusao() {
+        ensureLoaded();
         // Clicar no menu "More options"
         ElementUtils.click(botaoMaisOpcoes);
         logger.info("Menu de opções aberto");
@@ -143,6 +161,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Compartilha o contato
      */
     public void compartilharContato() {
+        ensureLoaded();
         ElementUtils.click(botaoCompartilhar);
         logger.info("Contato compartilhado");
     }
@@ -151,6 +170,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Liga para o contato
      */
     public void ligarParaContato() {
+        ensureLoaded();
         ElementUtils.click(botaoLigar);
         logger.info("Ligação iniciada para o contato");
     }
@@ -159,6 +179,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Envia mensagem para o contato
      */
     public void enviarMensagem() {
+        ensureLoaded();
         ElementUtils.click(botaoMensagem);
         logger.info("Aplicativo de mensagem aberto");
     }
@@ -167,6 +188,7 @@ public class DetalhesContatoPageAndroid extends BasePage {
      * Volta para a lista de contatos
      */
     public ContatosMainPageAndroid voltarParaLista() {
+        ensureLoaded();
         ElementUtils.click(botaoVoltar);
         logger.info("Voltando para lista de contatos");
         return new ContatosMainPageAndroid();
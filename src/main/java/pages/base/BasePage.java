@@ -1,29 +1,128 @@
 package pages.base;
 
 import driver.DriverManager;
+import driver.SessionContext;
 import utils.ElementUtils;
+import utils.PopupHandler;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
 /**
  * Classe base para todas as páginas
  * Contém funcionalidades comuns para Android e iOS
  */
 public abstract class BasePage {
+    /**
+     * Quando a página é carregada: no construtor, na primeira interação ou nunca (só para ler o fingerprint)
+     */
+    private enum LoadMode { NOW, DEFERRED, NEVER }
+    
+    private static final SessionContext.Slot<LoadMode> loadMode = SessionContext.Slot.withInitial(() -> LoadMode.NOW);
+    
     protected final Logger logger = LoggerFactory.getLogger(getClass());
+    private final SessionContext session = SessionContext.current();
+    private final LoadMode mode = loadMode.get();
+    private boolean loaded;
+    private long loadedScreenVersion;
+    
+    /**
+     * Cria a página sem carregá-la: a verificação (load) fica para a primeira ação da página (ensureLoaded)
+     * Usado pelo PageFactory.page quando o chamador já sabe em que tela está
+     */
+    public static <T extends BasePage> T deferLoad(Supplier<T> constructor) {
+        return create(constructor, LoadMode.DEFERRED);
+    }
+    
+    /**
+     * Cria a página sem carregá-la nem agendar a verificação; usado para ler o fingerprint
+     */
+    public static <T extends BasePage> T withoutLoading(Supplier<T> constructor) {
+        return create(constructor, LoadMode.NEVER);
+    }
     
-    public BasePage() {
-        if (!isCurrentPage()) {
-            logger.warn("Página {} pode não ter carregado corretamente", getClass().getSimpleName());
+    private static <T extends BasePage> T create(Supplier<T> constructor, LoadMode mode) {
+        loadMode.set(mode);
+        try {
+            return constructor.get();
+        } finally {
+            loadMode.remove();
         }
     }
     
     /**
-     * Verifica se está na página atual
+     * Navega até a página e aguarda seu elemento-chave
      * Deve ser implementado pelas páginas específicas
      */
-    public abstract boolean isCurrentPage();
+    protected abstract void load();
+    
+    /**
+     * Chamado no fim do construtor das páginas: carrega agora, a menos que a criação tenha sido adiada
+     */
+    protected final void loadPage() {
+        if (mode == LoadMode.NOW) {
+            ensureLoaded();
+        }
+    }
+    
+    /**
+     * Carrega a página se ainda não foi carregada
+     * Os métodos públicos das páginas chamam este método antes de interagir com elementos,
+     * então uma página criada com verificação adiada se verifica na sua primeira ação
+     */
+    public final void ensureLoaded() {
+        if (!loaded) {
+            load();
+            loaded = true;
+            loadedScreenVersion = ElementUtils.screenVersion();
+        }
+    }
+    
+    /**
+     * Sessão em que a página foi criada (driver, dispositivo, configuração e métricas)
+     */
+    public SessionContext getSession() {
+        return session;
+    }
+    
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Versão da tela (ElementUtils.screenVersion) quando a página terminou de carregar
+     */
+    public long getLoadedScreenVersion() {
+        return loadedScreenVersion;
+    }
+    
+    /**
+     * Elementos que identificam a tela (todos presentes ao mesmo tempo, em qualquer estado da tela)
+     * Usados pelo ScreenClassifier, que compara todas as páginas com um único page source
+     * Deve ser implementado pelas páginas específicas
+     */
+    public abstract By[] fingerprint();
+    
+    /**
+     * Elementos alternativos que indicam a tela para isCurrentPage (basta um presente)
+     * Por padrão, os do fingerprint; páginas com variações (ex: lista vazia) devolvem mais candidatos
+     */
+    protected By[] currentPageIndicators() {
+        return fingerprint();
+    }
+    
+    /**
+     * Verifica se está na página atual: aguarda qualquer um dos indicadores na tela
+     * (cada ciclo confere todos os candidatos em um único page source)
+     */
+    public boolean isCurrentPage() {
+        if (mode == LoadMode.DEFERRED) {
+            ensureLoaded();
+        }
+        return ElementUtils.waitForAny(5, currentPageIndicators()) != null;
+    }
     
     /**
      * Obtém o título da página
@@ -33,9 +132,11 @@ public abstract class BasePage {
     
     /**
      * Aguarda um elemento carregar para validar que a página carregou
+     * Se não carregar, fecha popups que estejam cobrindo a tela e aguarda mais uma vez
      */
     protected void waitForPageLoad(By locator, String pageName) {
-        if (ElementUtils.waitForElementPresent(locator, 10)) {
+        if (ElementUtils.waitForElementPresent(locator, 10)
+                || (PopupHandler.recover("carregamento de " + pageName) && ElementUtils.waitForElementPresent(locator, 10))) {
             logger.info("Página {} carregada com sucesso", pageName);
         } else {
             logger.error("Timeout ao aguardar carregamento da página: {}", pageName);
@@ -45,14 +146,10 @@ public abstract class BasePage {
     
     /**
      * Aguarda múltiplos elementos (pelo menos um deve estar presente)
+     * Todos os candidatos são verificados em cada ciclo, dentro de um único timeout
      */
     protected boolean waitForAnyElement(By... locators) {
-        for (By locator : locators) {
-            if (ElementUtils.waitForElementPresent(locator, 5)) {
-                return true;
-            }
-        }
-        return false;
+        return ElementUtils.waitForAny(5, locators) != null;
     }
     
     /**
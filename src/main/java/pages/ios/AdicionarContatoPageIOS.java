@@ -3,9 +3,11 @@ package pages.ios;
 import model.Contato;
 import pages.base.BasePage;
 import utils.ElementUtils;
-import utils.IOSUtils;
 import org.openqa.selenium.By;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Página para adicionar contato - iOS
  */
@@ -23,22 +25,28 @@ public class AdicionarContatoPageIOS extends BasePage {
     private final By botaoAdicionarCampo = By.xpath("//XCUIElementTypeButton[@name='add field']");
     
     public AdicionarContatoPageIOS() {
-        super();
-        
-        // Verificar se há popup de conta e lidar com ele
-        IOSUtils.handleInitialPopups();
-        
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         // Aguardar a página de adicionar contato carregar
         waitForPageLoad(tituloAdicionar, "Adicionar Contato iOS");
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(tituloAdicionar, 5);
+    public By[] fingerprint() {
+        return new By[] {tituloAdicionar, botaoSalvar};
+    }
+    
+    @Override
+    protected By[] currentPageIndicators() {
+        return new By[] {tituloAdicionar};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         return "New Contact";
     }
     
@@ -46,6 +54,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Preenche o nome do contato
      */
     public AdicionarContatoPageIOS preencherNome(String nome) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoNome, nome);
         logger.info("Nome preenchido: {}", nome);
         return this;
@@ -55,6 +64,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Preenche o sobrenome do contato
      */
     public AdicionarContatoPageIOS preencherSobrenome(String sobrenome) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoSobrenome, sobrenome);
         logger.info("Sobrenome preenchido: {}", sobrenome);
         return this;
@@ -64,6 +74,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Preenche o telefone do contato
      */
     public AdicionarContatoPageIOS preencherTelefone(String telefone) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoTelefone, telefone);
         logger.info("Telefone preenchido: {}", telefone);
         return this;
@@ -73,6 +84,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Preenche o email do contato
      */
     public AdicionarContatoPageIOS preencherEmail(String email) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoEmail, email);
         logger.info("Email preenchido: {}", email);
         return this;
@@ -82,6 +94,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Preenche a empresa do contato
      */
     public AdicionarContatoPageIOS preencherEmpresa(String empresa) {
+        ensureLoaded();
         ElementUtils.clearAndType(campoEmpresa, empresa);
         logger.info("Empresa preenchida: {}", empresa);
         return this;
@@ -90,12 +103,27 @@ public class AdicionarContatoPageIOS extends BasePage {
     /**
      * Preenche todos os dados do contato
      * No iOS, o nome completo é dividido em nome e sobrenome
+     * Com form.fast.fill.enabled, todos os campos são preenchidos de uma vez (ElementUtils.fillFields)
      */
     public AdicionarContatoPageIOS preencherContato(Contato contato) {
+        ensureLoaded();
         String[] nomeCompleto = contato.getNome().split(" ", 2);
         String nome = nomeCompleto[0];
         String sobrenome = nomeCompleto.length > 1 ? nomeCompleto[1] : "";
         
+        if (ElementUtils.isFastFillEnabled()) {
+            Map<By, String> campos = new LinkedHashMap<>();
+            campos.put(campoNome, nome);
+            if (!sobrenome.isEmpty()) {
+                campos.put(campoSobrenome, sobrenome);
+            }
+            campos.put(campoTelefone, contato.getTelefone());
+            campos.put(campoEmail, contato.getEmail());
+            campos.put(campoEmpresa, contato.getEmpresa());
+            ElementUtils.fillFields(campos);
+            return this;
+        }
+        
         preencherNome(nome);
         if (!sobrenome.isEmpty()) {
             preencherSobrenome(sobrenome);
@@ -110,6 +138,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Salva o contato
      */
     public void salvarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoSalvar);
         logger.info("Contato salvo com sucesso");
     }
@@ -118,6 +147,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Cancela a adição do contato
      */
     public void cancelarAdicao() {
+        ensureLoaded();
         ElementUtils.click(botaoCancelar);
         logger.info("Adição de contato cancelada");
     }
@@ -126,6 +156,7 @@ public class AdicionarContatoPageIOS extends BasePage {
      * Adiciona um campo personalizado
      */
     public AdicionarContatoPageIOS adicionarCampo() {
+        ensureLoaded();
         ElementUtils.click(botaoAdicionarCampo);
         logger.info("Campo adicional adicionado");
         return this;
@@ -26,11 +26,11 @@ public class ContatosMainPageIOS extends BasePage {
     private final By botaoImportarContatos = By.xpath("//XCUIElementTypeButton[@name='Import Contacts']");
     
     public ContatosMainPageIOS() {
-        super();
-        
-        // Verificar se há popup e lidar com ele
-        IOSUtils.handleInitialPopups();
-        
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         // Navegar para o app se necessário
         IOSUtils.navegarParaContatos();
         
@@ -38,13 +38,18 @@ public class ContatosMainPageIOS extends BasePage {
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(tituloContatos, 5) || 
-               ElementUtils.isElementPresent(listaContatos, 5);
+    public By[] fingerprint() {
+        return new By[] {tituloContatos, botaoAdicionar};
+    }
+    
+    @Override
+    protected By[] currentPageIndicators() {
+        return new By[] {tituloContatos, listaContatos};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(tituloContatos, 2)) {
             return "Contacts";
         }
@@ -55,6 +60,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Clica no botão adicionar contato
      */
     public AdicionarContatoPageIOS clicarAdicionarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoAdicionar);
         logger.info("Clicado no botão adicionar contato");
         return new AdicionarContatoPageIOS();
@@ -64,6 +70,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Pesquisa por um contato pelo nome (se disponível)
      */
     public ContatosMainPageIOS pesquisarContato(String nome) {
+        ensureLoaded();
         if (!temContatos()) {
             logger.warn("Não é possível pesquisar - lista de contatos está vazia");
             return this;
@@ -79,6 +86,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Seleciona um contato da lista pelo nome
      */
     public DetalhesContatoPageIOS selecionarContato(String nome) {
+        ensureLoaded();
         // Tentar múltiplas estratégias para encontrar o contato
         By[] seletoresContato = {
             By.xpath("//XCUIElementTypeCell[contains(@name, '" + nome + "')]"),
@@ -87,12 +95,11 @@ public class ContatosMainPageIOS extends BasePage {
             By.xpath("//XCUIElementTypeCell//XCUIElementTypeStaticText[contains(text(), '" + nome + "')]/ancestor::XCUIElementTypeCell")
         };
         
-        for (By seletor : seletoresContato) {
-            if (ElementUtils.isElementPresent(seletor, 2)) {
-                ElementUtils.click(seletor);
-                logger.info("Contato '{}' selecionado com seletor: {}", nome, seletor);
-                return new DetalhesContatoPageIOS();
-            }
+        By seletor = ElementUtils.waitForInList(2, listaContatos, nome, seletoresContato);
+        if (seletor != null) {
+            ElementUtils.click(seletor);
+            logger.info("Contato '{}' selecionado com seletor: {}", nome, seletor);
+            return new DetalhesContatoPageIOS();
         }
         
         throw new RuntimeException("Não foi possível encontrar o contato: " + nome);
@@ -102,6 +109,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Verifica se um contato existe na lista
      */
     public boolean contatoExiste(String nome) {
+        ensureLoaded();
         // Tentar múltiplas estratégias para encontrar o contato
         By[] seletoresContato = {
             By.xpath("//XCUIElementTypeCell[contains(@name, '" + nome + "')]"),
@@ -110,11 +118,10 @@ public class ContatosMainPageIOS extends BasePage {
             By.xpath("//XCUIElementTypeCell//XCUIElementTypeStaticText[contains(text(), '" + nome + "')]")
         };
         
-        for (By seletor : seletoresContato) {
-            if (ElementUtils.isElementPresent(seletor, 3)) {
-                logger.info("Contato '{}' existe: true (encontrado com seletor: {})", nome, seletor);
-                return true;
-            }
+        By seletor = ElementUtils.waitForInList(3, listaContatos, nome, seletoresContato);
+        if (seletor != null) {
+            logger.info("Contato '{}' existe: true (encontrado com seletor: {})", nome, seletor);
+            return true;
         }
         
         logger.info("Contato '{}' existe: false", nome);
@@ -125,6 +132,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Verifica se há contatos na lista
      */
     public boolean temContatos() {
+        ensureLoaded();
         return !listaSemContatos();
     }
     
@@ -132,6 +140,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Verifica se não há contatos
      */
     public boolean listaSemContatos() {
+        ensureLoaded();
         boolean semContatos = ElementUtils.isElementPresent(mensagemSemContatos, 3);
         logger.info("Lista sem contatos: {}", semContatos);
         return semContatos;
@@ -141,14 +150,16 @@ public class ContatosMainPageIOS extends BasePage {
      * Obtém o número total de contatos visíveis
      */
     public int getNumeroTotalContatos() {
+        ensureLoaded();
         By contatosLocator = By.xpath("//XCUIElementTypeCell[contains(@name, ',')]");
-        return ElementUtils.getElementCount(contatosLocator);
+        return ElementUtils.withSnapshot(() -> ElementUtils.getElementCount(contatosLocator));
     }
     
     /**
      * Abre a tela de grupos
      */
     public void abrirGrupos() {
+        ensureLoaded();
         ElementUtils.click(botaoGrupos);
         logger.info("Tela de grupos aberta");
     }
@@ -157,6 +168,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Abre as configurações
      */
     public void abrirConfiguracoes() {
+        ensureLoaded();
         ElementUtils.click(botaoConfiguracao);
         logger.info("Configurações abertas");
     }
@@ -165,6 +177,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Limpa a pesquisa
      */
     public ContatosMainPageIOS limparPesquisa() {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(campoPesquisa, 2)) {
             ElementUtils.clear(campoPesquisa);
         }
@@ -176,6 +189,7 @@ public class ContatosMainPageIOS extends BasePage {
      * Verifica se o campo de pesquisa está ativo
      */
     public boolean pesquisaAtiva() {
+        ensureLoaded();
         return ElementUtils.isElementPresent(campoPesquisa, 2) && 
                ElementUtils.getText(campoPesquisa).length() > 0;
     }
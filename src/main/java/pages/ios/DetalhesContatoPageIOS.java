@@ -29,18 +29,22 @@ public class DetalhesContatoPageIOS extends BasePage {
     private final By cancelarExclusao = By.xpath("//XCUIElementTypeButton[@name='Cancel']");
     
     public DetalhesContatoPageIOS() {
-        super();
+        loadPage();
+    }
+    
+    @Override
+    protected void load() {
         waitForPageLoad(nomeContato, "Detalhes Contato iOS");
     }
     
     @Override
-    public boolean isCurrentPage() {
-        return ElementUtils.isElementPresent(nomeContato, 5) ||
-               ElementUtils.isElementPresent(botaoEditar, 5);
+    public By[] fingerprint() {
+        return new By[] {nomeContato, botaoEditar};
     }
     
     @Override
     public String getPageTitle() {
+        ensureLoaded();
         if (ElementUtils.isElementPresent(nomeContato, 2)) {
             return "Details - " + ElementUtils.getText(nomeContato);
         }
@@ -51,6 +55,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Obtém o nome do contato
      */
     public String getNome() {
+        ensureLoaded();
         String nome = ElementUtils.getText(nomeContato);
         logger.info("Nome obtido: {}", nome);
         return nome;
@@ -60,6 +65,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Obtém o telefone do contato
      */
     public String getTelefone() {
+        ensureLoaded();
         String telefone = ElementUtils.getText(telefoneContato);
         logger.info("Telefone obtido: {}", telefone);
         return telefone;
@@ -69,6 +75,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Obtém o email do contato
      */
     public String getEmail() {
+        ensureLoaded();
         String email = ElementUtils.getText(emailContato);
         logger.info("Email obtido: {}", email);
         return email;
@@ -78,6 +85,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Obtém a empresa do contato
      */
     public String getEmpresa() {
+        ensureLoaded();
         String empresa = ElementUtils.getText(empresaContato);
         logger.info("Empresa obtida: {}", empresa);
         return empresa;
@@ -87,18 +95,21 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Obtém todos os dados do contato
      */
     public Contato obterDadosContato() {
-        return new Contato.Builder()
+        ensureLoaded();
+        // Todos os campos lidos de um único page source
+        return ElementUtils.withSnapshot(() -> new Contato.Builder()
             .nome(getNome())
             .telefone(getTelefone())
             .email(getEmail())
             .empresa(getEmpresa())
-            .build();
+            .build());
     }
     
     /**
      * Clica no botão editar
      */
     public void editarContato() {
+        ensureLoaded();
         ElementUtils.click(botaoEditar);
         logger.info("Botão editar clicado");
     }
@@ -107,6 +118,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Exclui o contato
      */
     public ContatosMainPageIOS excluirContato() {
+        ensureLoaded();
         // Clicar no menu "More options"
         ElementUtils.click(botaoMaisOpcoes);
         logger.info("Menu de opções aberto");
@@ -126,6 +138,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Cancela a exclusão do contato
      */
     public DetalhesContatoPageIOS cancelarExclusao() {
+        ensureLoaded();
         ElementUtils.click(botaoMaisOpcoes);
         ElementUtils.click(opcaoExcluir);
         ElementUtils.click(cancelarExclusao);
@@ -137,6 +150,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Compartilha o contato
      */
     public void compartilharContato() {
+        ensureLoaded();
         ElementUtils.click(botaoCompartilhar);
         logger.info("Contato compartilhado");
     }
@@ -145,6 +159,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Liga para o contato
      */
     public void ligarParaContato() {
+        ensureLoaded();
         ElementUtils.click(botaoLigar);
         logger.info("Ligação iniciada para o contato");
     }
@@ -153,6 +168,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Envia mensagem para o contato
      */
     public void enviarMensagem() {
+        ensureLoaded();
         ElementUtils.click(botaoMensagem);
         logger.info("Aplicativo de mensagem aberto");
     }
@@ -161,6 +177,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Inicia FaceTime com o contato
      */
     public void iniciarFacetime() {
+        ensureLoaded();
         ElementUtils.click(botaoFacetime);
         logger.info("FaceTime iniciado");
     }
@@ -169,6 +186,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Envia email para o contato
      */
     public void enviarEmail() {
+        ensureLoaded();
         ElementUtils.click(botaoEmail);
         logger.info("Aplicativo de email aberto");
     }
@@ -177,6 +195,7 @@ public class DetalhesContatoPageIOS extends BasePage {
      * Volta para a lista de contatos
      */
     public ContatosMainPageIOS voltarParaLista() {
+        ensureLoaded();
         ElementUtils.click(botaoVoltar);
         logger.info("Voltando para lista de contatos");
         return new ContatosMainPageIOS();
@@ -2,7 +2,6 @@ package utils;
 
 import driver.DriverManager;
 import org.openqa.selenium.By;
-import org.openqa.selenium.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,41 +12,13 @@ public class AndroidUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(AndroidUtils.class);
     
-    // Seletores para popups comuns
-    private static final By CANCEL_BUTTON = By.id("com.android.contacts:id/left_button");
-    private static final By ADD_ACCOUNT_BUTTON = By.id("com.android.contacts:id/right_button");
-    private static final By ACCOUNT_DIALOG_TEXT = By.id("com.android.contacts:id/text");
-    
     /**
-     * Lida com popups iniciais do Android (como criação de conta Google)
+     * Lida com popups do Android (como criação de conta Google)
+     * As regras ficam em popups-android.properties (global e do módulo)
      */
     public static void handleInitialPopups() {
-        logger.info("Verificando popups iniciais do Android...");
-        
-        try {
-            // Verificar se existe o popup de conta Google
-            if (ElementUtils.isElementPresent(ACCOUNT_DIALOG_TEXT, 3)) {
-                logger.info("Popup de conta Google detectado, clicando em CANCEL...");
-                
-                if (ElementUtils.isElementPresent(CANCEL_BUTTON, 2)) {
-                    ElementUtils.click(CANCEL_BUTTON);
-                    logger.info("Popup de conta cancelado com sucesso");
-                    
-                    // Aguardar um pouco para a UI se estabilizar
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    logger.warn("Botão CANCEL não encontrado no popup");
-                }
-            } else {
-                logger.info("Nenhum popup inicial detectado");
-            }
-        } catch (Exception e) {
-            logger.warn("Erro ao verificar popups iniciais: {}", e.getMessage());
-        }
+        logger.info("Verificando popups do Android...");
+        PopupHandler.dismissAll();
     }
     
     /**
@@ -70,6 +41,7 @@ public class AndroidUtils {
                 androidDriver.startActivity(
                     new io.appium.java_client.android.Activity("com.android.contacts", ".activities.PeopleActivity")
                 );
+                ElementUtils.invalidateSnapshot();
                 
                 // Aguardar o app carregar
                 ElementUtils.waitForElementPresent(contactsTitle, 10);
@@ -78,9 +50,6 @@ public class AndroidUtils {
                 logger.info("App de contatos já está ativo");
             }
             
-            // Lidar com popups após abrir o app
-            handleInitialPopups();
-            
         } catch (Exception e) {
             logger.error("Erro ao navegar para o app de contatos: {}", e.getMessage());
             throw new RuntimeException("Falha ao abrir app de contatos", e);
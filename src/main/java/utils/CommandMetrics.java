@@ -0,0 +1,239 @@
+package utils;
+
+import driver.SessionContext;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Latência de cada comando enviado ao Appium, agrupada por comando (com a estratégia de busca
+ * ou o script executado) e pelo método de página que originou o comando
+ * Cada sessão (SessionContext) registra em seus próprios histogramas, somados ao agregado da suíte quando
+ * a sessão termina (endSession); no fim da suíte o agregado é gravado em JSON e CSV no report.path
+ */
+public class CommandMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(CommandMetrics.class);
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final String SEM_PAGINA = "(fora de páginas)";
+    private static final String SEM_DETALHE = "";
+
+    // Sessões em andamento; as encerradas já foram somadas em finished
+    private static final Queue<CommandMetrics> openSessions = new ConcurrentLinkedQueue<>();
+    private static final CommandMetrics finished = new CommandMetrics();
+    private static final SessionContext.Slot<CommandMetrics> current = SessionContext.Slot.create();
+
+    // comando -> detalhe (estratégia/script) -> latências em microssegundos
+    private final Map<String, Map<String, LatencyHistogram>> byCommand = new HashMap<>();
+    // classe da página -> método -> latências em microssegundos
+    private final Map<String, Map<String, LatencyHistogram>> byPageMethod = new HashMap<>();
+
+    /**
+     * Registra a latência de um comando na thread atual
+     * @param command      Nome do comando W3C/Appium (ex: findElement, executeScript)
+     * @param detail       Estratégia de busca ou script executado; null se não se aplica
+     * @param elapsedNanos Tempo de ida e volta do comando
+     */
+    public static void record(String command, String detail, long elapsedNanos) {
+        String[] pageMethod = callingPageMethod();
+        forCurrentSession().add(command, detail != null ? detail : SEM_DETALHE, pageMethod[0], pageMethod[1], elapsedNanos / 1_000);
+    }
+
+    private static CommandMetrics forCurrentSession() {
+        CommandMetrics metrics = current.get();
+        if (metrics == null) {
+            metrics = new CommandMetrics();
+            current.set(metrics);
+            openSessions.add(metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Soma as latências da sessão atual ao agregado da suíte e libera os histogramas da sessão
+     * Chamado pelo DriverManager ao finalizar o driver
+     */
+    public static void endSession() {
+        CommandMetrics metrics = current.get();
+        if (metrics == null) {
+            return;
+        }
+        current.remove();
+        openSessions.remove(metrics);
+        synchronized (metrics) {
+            finished.absorb(metrics);
+        }
+    }
+
+    /**
+     * Sessões com métricas ainda não somadas ao agregado da suíte
+     */
+    public static int openSessionCount() {
+        return openSessions.size();
+    }
+
+    private synchronized void absorb(CommandMetrics other) {
+        absorb(byCommand, other.byCommand);
+        absorb(byPageMethod, other.byPageMethod);
+    }
+
+    private static void absorb(Map<String, Map<String, LatencyHistogram>> target, Map<String, Map<String, LatencyHistogram>> source) {
+        source.forEach((first, seconds) -> seconds.forEach((second, histogram) -> histogram(target, first, second).add(histogram)));
+    }
+
+    private synchronized void add(String command, String detail, String page, String method, long micros) {
+        histogram(byCommand, command, detail).record(micros);
+        histogram(byPageMethod, page, method).record(micros);
+    }
+
+    private static LatencyHistogram histogram(Map<String, Map<String, LatencyHistogram>> map, String first, String second) {
+        return map.computeIfAbsent(first, k -> new HashMap<>()).computeIfAbsent(second, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Método de page object mais próximo na pilha: {classe, método}
+     */
+    private static String[] callingPageMethod() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE))
+                .findFirst()
+                .map(frame -> new String[] {simpleName(frame.getClassName()), frame.getMethodName()})
+                .orElse(new String[] {SEM_PAGINA, SEM_DETALHE}));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Soma o agregado da suíte e as sessões em andamento, por comando ("comando [detalhe]")
+     */
+    public static Map<String, LatencyHistogram> mergedByCommand() {
+        return merge(true);
+    }
+
+    /**
+     * Soma o agregado da suíte e as sessões em andamento, por método de página ("Pagina.metodo")
+     */
+    public static Map<String, LatencyHistogram> mergedByPageMethod() {
+        return merge(false);
+    }
+
+    private static Map<String, LatencyHistogram> merge(boolean commands) {
+        Map<String, LatencyHistogram> merged = new TreeMap<>();
+        List<CommandMetrics> all = new ArrayList<>(openSessions);
+        all.add(finished);
+        for (CommandMetrics metrics : all) {
+            synchronized (metrics) {
+                (commands ? metrics.byCommand : metrics.byPageMethod).forEach((first, seconds) ->
+                        seconds.forEach((second, histogram) ->
+                                merged.computeIfAbsent(label(first, second, commands), k -> new LatencyHistogram()).add(histogram)));
+            }
+        }
+        return merged;
+    }
+
+    private static String label(String first, String second, boolean commands) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        return commands ? first + " [" + second + "]" : first + "." + second;
+    }
+
+    /**
+     * Descarta as latências registradas (agregado da suíte e sessões em andamento)
+     */
+    public static void reset() {
+        List<CommandMetrics> all = new ArrayList<>(openSessions);
+        all.add(finished);
+        for (CommandMetrics metrics : all) {
+            synchronized (metrics) {
+                metrics.byCommand.clear();
+                metrics.byPageMethod.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o relatório no report.path e zera as métricas
+     */
+    public static void writeReport() {
+        writeReport(Paths.get(ConfigManager.getInstance().getProperty("report.path", "target/reports")));
+    }
+
+    /**
+     * Grava command-latency.json e command-latency.csv no diretório informado e zera as métricas
+     */
+    public static void writeReport(Path directory) {
+        Map<String, LatencyHistogram> commands = mergedByCommand();
+        Map<String, LatencyHistogram> pageMethods = mergedByPageMethod();
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("unidade", "ms");
+        report.put("porComando", summaries(commands));
+        report.put("porMetodoDePagina", summaries(pageMethods));
+
+        StringBuilder csv = new StringBuilder("grupo,chave,amostras,p50_ms,p95_ms,p99_ms,max_ms,media_ms\n");
+        appendCsv(csv, "comando", commands);
+        appendCsv(csv, "metodo", pageMethods);
+
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("command-latency.json"), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("command-latency.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+            logger.info("Latência por comando gravada em {} ({} comandos, {} métodos de página)",
+                    directory.resolve("command-latency.json"), commands.size(), pageMethods.size());
+        } catch (IOException e) {
+            logger.warn("Não foi possível gravar o relatório de latência por comando: {}", e.getMessage());
+        }
+        reset();
+    }
+
+    private static List<Map<String, Object>> summaries(Map<String, LatencyHistogram> histograms) {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        histograms.forEach((key, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("chave", key);
+            summary.put("amostras", histogram.getTotalCount());
+            summary.put("p50", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p95", millis(histogram.getValueAtPercentile(95)));
+            summary.put("p99", millis(histogram.getValueAtPercentile(99)));
+            summary.put("max", millis(histogram.getMax()));
+            summary.put("media", millis(histogram.getMean()));
+            summaries.add(summary);
+        });
+        return summaries;
+    }
+
+    private static void appendCsv(StringBuilder csv, String group, Map<String, LatencyHistogram> histograms) {
+        histograms.forEach((key, histogram) -> csv.append(group).append(',')
+                .append('"').append(key.replace("\"", "\"\"")).append('"').append(',')
+                .append(histogram.getTotalCount()).append(',')
+                .append(millis(histogram.getValueAtPercentile(50))).append(',')
+                .append(millis(histogram.getValueAtPercentile(95))).append(',')
+                .append(millis(histogram.getValueAtPercentile(99))).append(',')
+                .append(millis(histogram.getMax())).append(',')
+                .append(millis(histogram.getMean())).append('\n'));
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -1,104 +1,154 @@
 package utils;
 
+import driver.SessionContext;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Gerenciador de configurações
  * Carrega configurações globais e específicas por módulo
+ * Cada sessão de teste (SessionContext) abre uma sessão de configuração (openSession) com plataforma e módulo próprios,
+ * lida de um ConfigSnapshot imutável; fora de sessão, as leituras consultam
+ * system properties e o arquivo global a cada chamada
  */
 public class ConfigManager {
-    private static ConfigManager instance;
-    private Properties globalProperties;
-    private Properties moduleProperties;
-    private String platform;
-    private String currentModule;
-    
+    private static final ConfigManager instance = new ConfigManager();
+    private final Properties globalProperties;
+    private final Map<String, Properties> moduleProperties = new ConcurrentHashMap<>();
+    private final SessionContext.Slot<ConfigSnapshot> session = SessionContext.Slot.create();
+
     private ConfigManager() {
-        loadGlobalConfig();
+        globalProperties = loadGlobalConfig();
     }
-    
+
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
-        }
         return instance;
     }
-    
-    private void loadGlobalConfig() {
-        // Pega plataforma do system property ou padrão
-        platform = System.getProperty("platform", "android").toLowerCase();
-        
-        globalProperties = new Properties();
+
+    private Properties loadGlobalConfig() {
+        Properties properties = new Properties();
         // Carrega o arquivo de configuração global
         String globalConfigFile = "/config-global.properties";
-        
+
         try (InputStream input = getClass().getResourceAsStream(globalConfigFile)) {
             if (input != null) {
-                globalProperties.load(input);
+                properties.load(input);
             } else {
                 throw new RuntimeException("Arquivo de configuração global não encontrado: " + globalConfigFile);
             }
         } catch (IOException e) {
             throw new RuntimeException("Erro ao carregar configurações globais", e);
         }
+        return properties;
+    }
+
+    /**
+     * Propriedades do módulo, lidas uma única vez (vazias se o arquivo não existir)
+     */
+    private Properties moduleConfig(String moduleName) {
+        return moduleProperties.computeIfAbsent(moduleName, name -> {
+            Properties properties = new Properties();
+            String moduleConfigFile = "/suites/" + name + "/" + name + ".properties";
+
+            try (InputStream input = getClass().getResourceAsStream(moduleConfigFile)) {
+                if (input != null) {
+                    properties.load(input);
+                    System.out.println("Configurações do módulo '" + name + "' carregadas com sucesso");
+                } else {
+                    System.out.println("Arquivo de configuração do módulo não encontrado: " + moduleConfigFile);
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao carregar configurações do módulo " + name + ": " + e.getMessage());
+            }
+            return properties;
+        });
+    }
+
+    /**
+     * Abre a sessão de configuração da thread atual
+     * @param platform Plataforma (null usa -Dplatform ou android)
+     * @param module   Módulo (null ou vazio para apenas configurações globais)
+     * @return Snapshot imutável usado pelas leituras desta thread até closeSession
+     */
+    public ConfigSnapshot openSession(String platform, String module) {
+        String sessionPlatform = platform != null && !platform.trim().isEmpty()
+                ? platform.trim()
+                : System.getProperty("platform", "android");
+        String sessionModule = module != null && !module.trim().isEmpty() ? module.trim() : null;
+
+        ConfigSnapshot snapshot = ConfigSnapshot.build(sessionPlatform, sessionModule, globalProperties,
+                sessionModule != null ? moduleConfig(sessionModule) : null, System.getProperties());
+        session.set(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Associa à thread atual uma sessão aberta em outra thread (ex: tarefa em segundo plano da sessão do teste)
+     */
+    public void resumeSession(ConfigSnapshot snapshot) {
+        session.set(snapshot);
+    }
+
+    /**
+     * Encerra a sessão da thread atual; as leituras voltam a consultar system properties e global
+     */
+    public void closeSession() {
+        session.remove();
+    }
+
+    /**
+     * Snapshot da sessão da thread atual ou null fora de sessão
+     */
+    public ConfigSnapshot currentSession() {
+        return session.get();
     }
-    
+
     /**
-     * Carrega configurações específicas de um módulo
+     * Carrega configurações específicas de um módulo na sessão da thread atual
      * @param moduleName Nome do módulo (ex: "contatos")
      */
     public void loadModuleConfig(String moduleName) {
         if (moduleName == null || moduleName.trim().isEmpty()) {
             return;
         }
-        
-        currentModule = moduleName;
-        moduleProperties = new Properties();
-        String moduleConfigFile = "/suites/" + moduleName + "/" + moduleName + ".properties";
-        
-        try (InputStream input = getClass().getResourceAsStream(moduleConfigFile)) {
-            if (input != null) {
-                moduleProperties.load(input);
-                System.out.println("Configurações do módulo '" + moduleName + "' carregadas com sucesso");
-            } else {
-                System.out.println("Arquivo de configuração do módulo não encontrado: " + moduleConfigFile);
-                moduleProperties = null;
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar configurações do módulo " + moduleName + ": " + e.getMessage());
-            moduleProperties = null;
-        }
+        openSession(getPlatform(), moduleName);
     }
-    
+
     public String getPlatform() {
-        // Sempre verifica o system property para mudanças em runtime
-        String currentPlatform = System.getProperty("platform", "android").toLowerCase();
-        if (!currentPlatform.equals(platform)) {
-            platform = currentPlatform;
+        ConfigSnapshot snapshot = session.get();
+        if (snapshot != null) {
+            return snapshot.getPlatform();
         }
-        return platform;
+        // Fora de sessão, sempre verifica o system property para mudanças em runtime
+        return System.getProperty("platform", "android").toLowerCase();
     }
-    
+
     public String getCurrentModule() {
-        return currentModule;
+        ConfigSnapshot snapshot = session.get();
+        return snapshot != null ? snapshot.getModule() : null;
     }
-    
+
     /**
-     * Busca uma propriedade primeiro no módulo atual, depois no global
+     * Busca uma propriedade na sessão da thread atual (ConfigSnapshot); fora de sessão, no global,
+     * com a mesma regra do snapshot: um system property (-Dchave=valor) só sobrescreve chaves declaradas
      * @param key Chave da propriedade
      * @return Valor da propriedade ou null se não encontrada
      */
     public String getProperty(String key) {
-        // Primeiro tenta no módulo atual
-        if (moduleProperties != null && moduleProperties.containsKey(key)) {
-            return moduleProperties.getProperty(key);
+        ConfigSnapshot snapshot = session.get();
+        if (snapshot != null) {
+            return snapshot.get(key);
         }
-        // Se não encontrou, busca no global
-        return globalProperties.getProperty(key);
+        String value = globalProperties.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        return System.getProperty(key, value);
     }
-    
+
     /**
      * Busca uma propriedade com valor padrão
      * @param key Chave da propriedade
@@ -109,16 +159,17 @@ public class ConfigManager {
         String value = getProperty(key);
         return value != null ? value : defaultValue;
     }
-    
+
     /**
      * Busca propriedade especificamente do módulo atual
      * @param key Chave da propriedade
      * @return Valor da propriedade do módulo ou null
      */
     public String getModuleProperty(String key) {
-        return moduleProperties != null ? moduleProperties.getProperty(key) : null;
+        String module = getCurrentModule();
+        return module != null ? moduleConfig(module).getProperty(key) : null;
     }
-    
+
     /**
      * Busca propriedade especificamente do arquivo global
      * @param key Chave da propriedade
@@ -127,17 +178,25 @@ public class ConfigManager {
     public String getGlobalProperty(String key) {
         return globalProperties.getProperty(key);
     }
-    
+
     public int getIntProperty(String key, int defaultValue) {
+        ConfigSnapshot snapshot = session.get();
+        if (snapshot != null) {
+            return snapshot.getInt(key, defaultValue);
+        }
         String value = getProperty(key);
         try {
-            return value != null ? Integer.parseInt(value) : defaultValue;
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
         } catch (NumberFormatException e) {
             return defaultValue;
         }
     }
-    
+
     public boolean getBooleanProperty(String key, boolean defaultValue) {
+        ConfigSnapshot snapshot = session.get();
+        if (snapshot != null) {
+            return snapshot.getBoolean(key, defaultValue);
+        }
         String value = getProperty(key);
         return value != null ? Boolean.parseBoolean(value) : defaultValue;
     }
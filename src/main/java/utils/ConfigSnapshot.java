@@ -0,0 +1,144 @@
+package utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Configuração imutável de uma sessão de teste (plataforma + módulo)
+ * As camadas são combinadas uma única vez, em ordem crescente de precedência:
+ * <ol>
+ *   <li>config-global.properties</li>
+ *   <li>propriedades do módulo (suites/{módulo}/{módulo}.properties)</li>
+ *   <li>plataforma: chaves "chave.{plataforma}" expostas também como "chave"</li>
+ *   <li>system properties (-Dchave=valor)</li>
+ * </ol>
+ * System properties só sobrescrevem chaves declaradas nas camadas de arquivo; as demais (as da JVM,
+ * como java.version ou user.dir) ficam fora do snapshot. Um -Dchave.{plataforma} também chega à "chave".
+ * Os valores já ficam convertidos para int e boolean
+ */
+public final class ConfigSnapshot {
+
+    /**
+     * Valor de uma chave com as conversões feitas na criação do snapshot
+     */
+    private static final class Value {
+        final String raw;
+        final Integer asInt;
+        final boolean asBoolean;
+
+        Value(String raw) {
+            this.raw = raw;
+            this.asInt = parseInt(raw);
+            this.asBoolean = Boolean.parseBoolean(raw);
+        }
+
+        private static Integer parseInt(String raw) {
+            try {
+                return Integer.valueOf(raw.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private final String platform;
+    private final String module;
+    private final Map<String, Value> values;
+
+    private ConfigSnapshot(String platform, String module, Map<String, Value> values) {
+        this.platform = platform;
+        this.module = module;
+        this.values = values;
+    }
+
+    /**
+     * Combina as camadas de configuração
+     * @param platform Plataforma da sessão (android/ios)
+     * @param module   Módulo da sessão ou null
+     * @param global   config-global.properties
+     * @param moduleProperties Propriedades do módulo ou null
+     * @param system   System properties (-Dchave=valor), aplicadas só às chaves já conhecidas
+     */
+    static ConfigSnapshot build(String platform, String module, Properties global, Properties moduleProperties, Properties system) {
+        String normalizedPlatform = platform.toLowerCase();
+        Map<String, String> merged = new HashMap<>();
+        copy(global, merged);
+        if (moduleProperties != null) {
+            copy(moduleProperties, merged);
+        }
+
+        overrideKnown(system, merged);
+
+        String suffix = "." + normalizedPlatform;
+        Map<String, String> platformLayer = new HashMap<>();
+        merged.forEach((key, value) -> {
+            if (key.endsWith(suffix) && key.length() > suffix.length()) {
+                platformLayer.put(key.substring(0, key.length() - suffix.length()), value);
+            }
+        });
+        merged.putAll(platformLayer);
+        overrideKnown(system, merged);
+
+        Map<String, Value> values = new HashMap<>(merged.size() * 2);
+        merged.forEach((key, value) -> values.put(key, new Value(value)));
+        return new ConfigSnapshot(normalizedPlatform, module, Collections.unmodifiableMap(values));
+    }
+
+    private static void copy(Properties source, Map<String, String> target) {
+        for (String key : source.stringPropertyNames()) {
+            target.put(key, source.getProperty(key));
+        }
+    }
+
+    /**
+     * Aplica as system properties só às chaves que já existem no mapa
+     */
+    private static void overrideKnown(Properties system, Map<String, String> target) {
+        for (String key : system.stringPropertyNames()) {
+            if (target.containsKey(key)) {
+                target.put(key, system.getProperty(key));
+            }
+        }
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    public String get(String key) {
+        Value value = values.get(key);
+        return value != null ? value.raw : null;
+    }
+
+    public String get(String key, String defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.raw : defaultValue;
+    }
+
+    /**
+     * @return Valor inteiro ou o padrão se a chave não existir ou não for numérica
+     */
+    public int getInt(String key, int defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.asInt != null ? value.asInt : defaultValue;
+    }
+
+    /**
+     * @return Valor booleano (Boolean.parseBoolean) ou o padrão se a chave não existir
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.asBoolean : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot{platform=" + platform + ", module=" + module + ", chaves=" + values.size() + "}";
+    }
+}
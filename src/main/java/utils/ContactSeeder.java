@@ -0,0 +1,199 @@
+package utils;
+
+import driver.DriverManager;
+import io.appium.java_client.PushesFiles;
+import model.Contato;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Insere contatos direto na agenda do dispositivo, sem passar pela interface do app
+ * Android: content provider de contatos via "mobile: shell" (Appium com --allow-insecure=adb_shell),
+ * um script por lote; iOS: um vCard por lote enviado à pasta de mídia do simulador
+ * (pushFile, que no simulador importa o arquivo na agenda como o simctl addmedia)
+ */
+public class ContactSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(ContactSeeder.class);
+
+    /**
+     * Comandos de dispositivo usados pelo seeder; substituível por uma implementação falsa nos testes
+     */
+    public interface DeviceCommands {
+        /**
+         * Executa um comando no shell do dispositivo Android
+         * @return Saída do comando
+         */
+        Object shell(String command, List<String> args);
+
+        /**
+         * Envia um arquivo ao dispositivo
+         */
+        void pushFile(String remotePath, byte[] content);
+    }
+
+    /**
+     * Comandos enviados ao driver da thread atual
+     */
+    public static final DeviceCommands DRIVER = new DeviceCommands() {
+        @Override
+        public Object shell(String command, List<String> args) {
+            return DriverManager.getDriver().executeScript("mobile: shell", Map.of("command", command, "args", args));
+        }
+
+        @Override
+        public void pushFile(String remotePath, byte[] content) {
+            // O java-client espera o conteúdo já em base64
+            ((PushesFiles) DriverManager.getDriver()).pushFile(remotePath, Base64.getEncoder().encode(content));
+        }
+    };
+
+    // Insere um contato (nome, telefone, email, empresa) e os dados ligados ao raw contact criado
+    private static final String ANDROID_SEED_FUNCTION =
+            "seed() { "
+            + "content insert --uri content://com.android.contacts/raw_contacts"
+            + " --bind account_type:n: --bind account_name:n: ; "
+            + "id=$(content query --uri content://com.android.contacts/raw_contacts --projection _id"
+            + " --sort '_id DESC' | head -n 1 | sed 's/.*_id=//'); "
+            + "data() { content insert --uri content://com.android.contacts/data"
+            + " --bind raw_contact_id:i:$id --bind mimetype:s:vnd.android.cursor.item/$1 --bind data1:s:\"$2\" $3; }; "
+            + "data name \"$1\"; "
+            + "[ -n \"$2\" ] && data phone_v2 \"$2\" '--bind data2:i:2'; "
+            + "[ -n \"$3\" ] && data email_v2 \"$3\" '--bind data2:i:1'; "
+            + "[ -n \"$4\" ] && data organization \"$4\"; "
+            + "true; }\n";
+
+    private final String platform;
+    private final DeviceCommands commands;
+    private final int batchSize;
+
+    /**
+     * @param platform  android ou ios
+     * @param commands  Executor dos comandos de dispositivo
+     * @param batchSize Contatos por comando (script shell ou arquivo vCard)
+     */
+    public ContactSeeder(String platform, DeviceCommands commands, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamanho de lote inválido: " + batchSize);
+        }
+        this.platform = platform.toLowerCase();
+        this.commands = commands;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Seeder da sessão atual: plataforma da configuração, driver da thread e contact.seeder.batch.size
+     */
+    public static ContactSeeder forCurrentSession() {
+        ConfigManager config = ConfigManager.getInstance();
+        return new ContactSeeder(config.getPlatform(), DRIVER, config.getIntProperty("contact.seeder.batch.size", 200));
+    }
+
+    /**
+     * Se os testes devem criar pré-condições pelo seeder em vez da interface
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("contact.seeder.enabled", false);
+    }
+
+    public int seed(Contato... contatos) {
+        return seed(Arrays.asList(contatos));
+    }
+
+    /**
+     * Insere os contatos em lotes de batchSize
+     * @return Quantidade de comandos enviados ao dispositivo
+     */
+    public int seed(List<Contato> contatos) {
+        long start = System.nanoTime();
+        int batches = 0;
+        for (int from = 0; from < contatos.size(); from += batchSize) {
+            List<Contato> batch = contatos.subList(from, Math.min(from + batchSize, contatos.size()));
+            if ("android".equals(platform)) {
+                // O adb junta os argumentos com espaços e o shell do dispositivo os separa de novo:
+                // o script vai entre aspas para chegar inteiro ao sh -c
+                commands.shell("sh", List.of("-c", shellQuote(androidScript(batch))));
+            } else if ("ios".equals(platform)) {
+                commands.pushFile("contatos-" + System.nanoTime() + "-" + batches + ".vcf",
+                        vCards(batch).getBytes(StandardCharsets.UTF_8));
+            } else {
+                throw new IllegalArgumentException("Plataforma não suportada: " + platform);
+            }
+            batches++;
+        }
+        ElementUtils.invalidateSnapshot();
+        logger.info("{} contatos inseridos sem interface em {} lote(s) ({} ms)",
+                contatos.size(), batches, (System.nanoTime() - start) / 1_000_000);
+        return batches;
+    }
+
+    /**
+     * Script sh do lote: a função seed e uma chamada por contato
+     */
+    private static String androidScript(List<Contato> batch) {
+        StringBuilder script = new StringBuilder(ANDROID_SEED_FUNCTION);
+        for (Contato contato : batch) {
+            script.append("seed ")
+                    .append(shellQuote(contato.getNome())).append(' ')
+                    .append(shellQuote(contato.getTelefone())).append(' ')
+                    .append(shellQuote(contato.getEmail())).append(' ')
+                    .append(shellQuote(contato.getEmpresa())).append('\n');
+        }
+        return script.toString();
+    }
+
+    /**
+     * Arquivo vCard 3.0 com um cartão por contato
+     */
+    private static String vCards(List<Contato> batch) {
+        StringBuilder vcf = new StringBuilder();
+        for (Contato contato : batch) {
+            String[] nomes = contato.getNome().split(" ", 2);
+            vcf.append("BEGIN:VCARD\r\nVERSION:3.0\r\n")
+                    .append("N:").append(vCardEscape(nomes.length > 1 ? nomes[1] : "")).append(';')
+                    .append(vCardEscape(nomes[0])).append(";;;\r\n")
+                    .append("FN:").append(vCardEscape(contato.getNome())).append("\r\n");
+            if (!contato.getTelefone().isEmpty()) {
+                vcf.append("TEL;TYPE=CELL:").append(vCardEscape(contato.getTelefone())).append("\r\n");
+            }
+            if (!contato.getEmail().isEmpty()) {
+                vcf.append("EMAIL;TYPE=INTERNET:").append(vCardEscape(contato.getEmail())).append("\r\n");
+            }
+            if (!contato.getEmpresa().isEmpty()) {
+                vcf.append("ORG:").append(vCardEscape(contato.getEmpresa())).append("\r\n");
+            }
+            vcf.append("END:VCARD\r\n");
+        }
+        return vcf.toString();
+    }
+
+    /**
+     * Contatos sintéticos para simular agendas grandes ("Prefixo 00001", telefone e email únicos)
+     */
+    public static List<Contato> generate(String prefix, int count) {
+        List<Contato> contatos = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String sequence = String.format("%05d", i);
+            contatos.add(new Contato.Builder()
+                    .nome(prefix + " " + sequence)
+                    .telefone("(11) 9" + String.format("%04d", i / 10_000) + "-" + sequence.substring(1))
+                    .email(prefix.toLowerCase().replace(' ', '.') + "." + sequence + "@teste.com")
+                    .build());
+        }
+        return contatos;
+    }
+
+    private static String shellQuote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    private static String vCardEscape(String value) {
+        return value.replace("\\", "\\\\").replace(",", "\\,").replace(";", "\\;").replace("\n", "\\n");
+    }
+}
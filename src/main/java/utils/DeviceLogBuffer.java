@@ -0,0 +1,121 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Buffer circular de tamanho fixo para o log de um dispositivo
+ * As linhas ficam em um único byte[] (UTF-8, separadas por '\n'); quando o buffer enche, os bytes
+ * mais antigos são sobrescritos, então a memória não cresce em execuções longas
+ */
+public final class DeviceLogBuffer {
+    private final byte[] data;
+    private int start;
+    private int size;
+    private long appended;
+
+    public DeviceLogBuffer(int capacityBytes) {
+        if (capacityBytes <= 0) {
+            throw new IllegalArgumentException("Capacidade do buffer de log deve ser positiva: " + capacityBytes);
+        }
+        this.data = new byte[capacityBytes];
+    }
+
+    /**
+     * Acrescenta uma linha; linhas maiores que o buffer ficam só com o final
+     */
+    public synchronized void append(String line) {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        appended += bytes.length;
+        int offset = Math.max(0, bytes.length - data.length);
+        int length = bytes.length - offset;
+
+        int end = (start + size) % data.length;
+        int first = Math.min(length, data.length - end);
+        System.arraycopy(bytes, offset, data, end, first);
+        System.arraycopy(bytes, offset + first, data, 0, length - first);
+
+        int overflow = size + length - data.length;
+        if (overflow > 0) {
+            start = (start + overflow) % data.length;
+            size = data.length;
+        } else {
+            size += length;
+        }
+    }
+
+    /**
+     * Linhas retidas, da mais antiga para a mais recente; a primeira linha, se cortada pela sobrescrita, é descartada
+     */
+    public List<String> lines() {
+        byte[] copy;
+        boolean truncated;
+        synchronized (this) {
+            copy = new byte[size];
+            int first = Math.min(size, data.length - start);
+            System.arraycopy(data, start, copy, 0, first);
+            System.arraycopy(data, 0, copy, first, size - first);
+            truncated = appended > size;
+        }
+        int from = 0;
+        if (truncated) {
+            while (from < copy.length && copy[from] != '\n') {
+                from++;
+            }
+            from++;
+        }
+        if (from >= copy.length) {
+            return Collections.emptyList();
+        }
+        String text = new String(copy, from, copy.length - from, StandardCharsets.UTF_8);
+        return new ArrayList<>(Arrays.asList(text.split("\n")));
+    }
+
+    /**
+     * Últimas linhas retidas
+     */
+    public List<String> tail(int count) {
+        List<String> lines = lines();
+        return lines.subList(Math.max(0, lines.size() - count), lines.size());
+    }
+
+    /**
+     * Grava as linhas retidas no arquivo (sob demanda ou na falha de um teste)
+     */
+    public void writeTo(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines(), StandardCharsets.UTF_8);
+    }
+
+    public synchronized void clear() {
+        start = 0;
+        size = 0;
+        appended = 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * Bytes retidos no momento (nunca mais que a capacidade)
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Bytes sobrescritos desde a criação ou o último clear
+     */
+    public synchronized long getDroppedBytes() {
+        return appended - size;
+    }
+}
@@ -0,0 +1,139 @@
+package utils;
+
+import driver.SessionContext;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log do dispositivo (logcat no Android, syslog no iOS) lido em segundo plano durante a sessão
+ * Cada sessão criada pelo DriverManager consulta as linhas novas a cada device.log.poll.ms em uma thread
+ * compartilhada e as guarda no DeviceLogBuffer do dispositivo (device.log.buffer.kb por dispositivo)
+ * Nada vai para o disco a não ser na falha de um teste (FailureArtifacts) ou sob demanda (writeTo)
+ */
+public final class DeviceLogStream {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceLogStream.class);
+
+    private static final Map<String, DeviceLogBuffer> buffers = new ConcurrentHashMap<>();
+    private static final SessionContext.Slot<DeviceLogStream> current = SessionContext.Slot.create();
+    private static final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "device-log-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AppiumDriver driver;
+    private final String logType;
+    private final DeviceLogBuffer buffer;
+    private ScheduledFuture<?> task;
+    private boolean unavailable;
+
+    private DeviceLogStream(AppiumDriver driver, String logType, DeviceLogBuffer buffer) {
+        this.driver = driver;
+        this.logType = logType;
+        this.buffer = buffer;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("device.log.streaming.enabled", false);
+    }
+
+    /**
+     * Começa a ler o log do dispositivo da sessão atual; chamado ao criar o driver
+     */
+    public static void startSession(AppiumDriver driver, String device, String platform) {
+        endSession();
+        if (!isEnabled()) {
+            return;
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        DeviceLogBuffer buffer = buffer(device);
+        buffer.append("----- sessão " + driver.getSessionId() + " (" + Thread.currentThread().getName() + ") -----");
+
+        DeviceLogStream stream = new DeviceLogStream(driver, "ios".equalsIgnoreCase(platform) ? "syslog" : "logcat", buffer);
+        long interval = config.getIntProperty("device.log.poll.ms", 2000);
+        stream.task = poller.scheduleWithFixedDelay(stream::poll, 0, interval, TimeUnit.MILLISECONDS);
+        current.set(stream);
+    }
+
+    /**
+     * Para a leitura em segundo plano; chamado antes de a sessão ser finalizada ou devolvida ao pool
+     */
+    public static void endSession() {
+        DeviceLogStream stream = current.get();
+        if (stream != null) {
+            stream.task.cancel(false);
+            current.remove();
+        }
+    }
+
+    /**
+     * Buffer do dispositivo, criado na primeira sessão
+     */
+    public static DeviceLogBuffer buffer(String device) {
+        return buffers.computeIfAbsent(device, key ->
+                new DeviceLogBuffer(ConfigManager.getInstance().getIntProperty("device.log.buffer.kb", 1024) * 1024));
+    }
+
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Últimas linhas do log da sessão atual, incluindo as ainda não lidas pela thread de segundo plano
+     */
+    public static List<String> tail(int lines) {
+        DeviceLogStream stream = current.get();
+        if (stream == null) {
+            return Collections.emptyList();
+        }
+        stream.poll();
+        return stream.buffer.tail(lines);
+    }
+
+    /**
+     * Grava o log retido do dispositivo da sessão atual
+     */
+    public static void writeTo(Path file) throws IOException {
+        DeviceLogStream stream = current.get();
+        if (stream != null) {
+            stream.poll();
+            stream.buffer.writeTo(file);
+        }
+    }
+
+    /**
+     * Lê as linhas novas do servidor (cada leitura devolve só o que chegou desde a anterior)
+     * Sincronizado para que a leitura da thread do teste e a de segundo plano não se intercalem
+     */
+    private synchronized void poll() {
+        if (unavailable) {
+            return;
+        }
+        try {
+            for (LogEntry entry : driver.manage().logs().get(logType)) {
+                buffer.append(entry.toString());
+            }
+        } catch (WebDriverException e) {
+            // Tipo de log não suportado ou sessão encerrada: não tenta de novo nesta sessão
+            unavailable = true;
+            if (task != null) {
+                task.cancel(false);
+            }
+            logger.debug("Log do dispositivo ({}) indisponível: {}", logType, e.getMessage());
+        }
+    }
+}
@@ -1,47 +1,273 @@
 package utils;
 
 import driver.DriverManager;
+import driver.SessionContext;
+import io.appium.java_client.AppiumBy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ElementUtils {
     private static final Logger logger = LoggerFactory.getLogger(ElementUtils.class);
     private static final ConfigManager config = ConfigManager.getInstance();
     
-    private static WebDriverWait getWait() {
-        int timeout = config.getIntProperty("explicit.wait", 20);
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeout));
+    // Snapshot do page source da sessão atual e profundidade de blocos withSnapshot
+    private static final SessionContext.Slot<PageSnapshot> snapshot = SessionContext.Slot.create();
+    private static final SessionContext.Slot<Integer> snapshotScope = SessionContext.Slot.withInitial(() -> 0);
+    // Incrementada a cada comando que altera a tela (mesmos pontos que descartam o snapshot)
+    private static final SessionContext.Slot<long[]> screenVersion = SessionContext.Slot.withInitial(() -> new long[1]);
+    
+    /**
+     * Espera da sessão atual (polling adaptativo, configuração lida na criação do driver)
+     */
+    private static WaitEngine waits() {
+        return WaitEngine.current();
+    }
+    
+    /**
+     * Modo de sondagem apenas com espera explícita (implicit wait zerado na sessão)
+     * Um probe negativo termina exatamente no timeout solicitado
+     */
+    public static boolean isExplicitOnly() {
+        return config.getBooleanProperty("element.probe.explicit.only", false);
+    }
+    
+    /**
+     * Locator efetivamente enviado ao dispositivo: XPath compilado para estratégia nativa quando habilitado
+     */
+    private static By resolve(By locator) {
+        if (!config.getBooleanProperty("locator.compiler.enabled", false)) {
+            return locator;
+        }
+        return LocatorCompiler.compile(locator, config.getPlatform());
+    }
+    
+    private static void recordProbe(long start, boolean found, int timeoutSeconds) {
+        int implicitSeconds = isExplicitOnly() ? config.getIntProperty("implicit.wait", 10) : 0;
+        ProbeMetrics.record(System.nanoTime() - start, found, timeoutSeconds, implicitSeconds);
+    }
+    
+    // Snapshot do page source
+    
+    /**
+     * Executa consultas somente-leitura sobre um único page source
+     * Presença, contagem e texto são respondidos localmente dentro do bloco
+     */
+    public static <T> T withSnapshot(Supplier<T> queries) {
+        snapshotScope.set(snapshotScope.get() + 1);
+        try {
+            return queries.get();
+        } finally {
+            snapshotScope.set(snapshotScope.get() - 1);
+            if (snapshotScope.get() == 0 && !isSnapshotEnabled()) {
+                snapshot.remove();
+            }
+        }
+    }
+    
+    /**
+     * Descarta o snapshot atual; chamado em todo comando que altera a tela
+     */
+    public static void invalidateSnapshot() {
+        snapshot.remove();
+        screenVersion.get()[0]++;
+    }
+    
+    /**
+     * Versão da tela nesta thread: muda a cada comando que pode alterá-la
+     * Páginas verificadas na mesma versão continuam válidas (cache do PageFactory)
+     */
+    public static long screenVersion() {
+        return screenVersion.get()[0];
+    }
+    
+    private static boolean isSnapshotEnabled() {
+        return config.getBooleanProperty("page.snapshot.enabled", false);
+    }
+    
+    private static boolean useSnapshot(By locator) {
+        if (snapshotScope.get() == 0 && !isSnapshotEnabled()) {
+            return false;
+        }
+        return PageSnapshot.toXPath(locator, config.getPlatform()) != null;
+    }
+    
+    private static PageSnapshot currentSnapshot() {
+        PageSnapshot current = snapshot.get();
+        if (current == null || current.getAgeMillis() > config.getIntProperty("page.snapshot.max.age.ms", 2000)) {
+            current = refreshSnapshot();
+        }
+        return current;
+    }
+    
+    private static PageSnapshot refreshSnapshot() {
+        PageSnapshot fresh = PageSnapshot.parse(DriverManager.getDriver().getPageSource(), config.getPlatform());
+        snapshot.set(fresh);
+        return fresh;
+    }
+    
+    /**
+     * Aguarda o elemento no snapshot, buscando um novo page source a cada ciclo
+     */
+    private static boolean waitInSnapshot(By locator, int timeoutSeconds) {
+        return pollSnapshot(timeoutSeconds, current -> current.isPresent(locator) ? Boolean.TRUE : null) != null;
+    }
+    
+    /**
+     * Avalia a condição sobre o snapshot atual e, enquanto não satisfeita,
+     * sobre um novo page source a cada ciclo até o timeout
+     * @return Resultado não nulo da condição, ou null no timeout
+     */
+    private static <T> T pollSnapshot(int timeoutSeconds, Function<PageSnapshot, T> condition) {
+        return waits().poll(Duration.ofSeconds(timeoutSeconds),
+                attempt -> condition.apply(attempt == 0 ? currentSnapshot() : refreshSnapshot()));
+    }
+    
+    // Condições compostas
+    
+    /**
+     * Aguarda até que qualquer um dos locators esteja presente
+     * Cada ciclo de polling verifica todos os candidatos em uma única ida ao dispositivo,
+     * então o pior caso é um timeout, e não a soma dos timeouts
+     * @return Primeiro locator (na ordem informada) presente, ou null no timeout
+     */
+    public static By waitForAny(int timeoutSeconds, By... locators) {
+        if (locators.length == 0) {
+            return null;
+        }
+        long start = System.nanoTime();
+        By found = allSupportedBySnapshot(locators)
+                ? withSnapshot(() -> pollSnapshot(timeoutSeconds, current -> firstIn(current, locators)))
+                : pollDriver(timeoutSeconds, () -> firstInDriver(locators));
+        recordProbe(start, found != null, timeoutSeconds);
+        return found;
+    }
+    
+    /**
+     * Aguarda até que todos os locators estejam presentes na mesma tela
+     */
+    public static boolean waitForAll(int timeoutSeconds, By... locators) {
+        if (locators.length == 0) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Boolean found = allSupportedBySnapshot(locators)
+                ? withSnapshot(() -> pollSnapshot(timeoutSeconds, current -> allIn(current, locators)))
+                : pollDriver(timeoutSeconds, () -> firstMissingInDriver(locators) == null ? Boolean.TRUE : null);
+        recordProbe(start, found != null, timeoutSeconds);
+        return found != null;
+    }
+    
+    /**
+     * Primeiro locator presente agora, sem espera
+     * @return Locator encontrado ou null
+     */
+    public static By firstPresent(By... locators) {
+        return waitForAny(0, locators);
+    }
+    
+    private static boolean allSupportedBySnapshot(By... locators) {
+        String platform = config.getPlatform();
+        for (By locator : locators) {
+            if (PageSnapshot.toXPath(locator, platform) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static By firstIn(PageSnapshot current, By... locators) {
+        for (By locator : locators) {
+            if (current.isPresent(locator)) {
+                return locator;
+            }
+        }
+        return null;
+    }
+    
+    private static Boolean allIn(PageSnapshot current, By... locators) {
+        for (By locator : locators) {
+            if (!current.isPresent(locator)) {
+                return null;
+            }
+        }
+        return Boolean.TRUE;
+    }
+    
+    /**
+     * Alternativa para locators sem tradução para o snapshot: uma busca por candidato a cada ciclo
+     */
+    private static By firstInDriver(By... locators) {
+        for (By locator : locators) {
+            if (!DriverManager.getDriver().findElements(resolve(locator)).isEmpty()) {
+                return locator;
+            }
+        }
+        return null;
+    }
+    
+    private static By firstMissingInDriver(By... locators) {
+        for (By locator : locators) {
+            if (DriverManager.getDriver().findElements(resolve(locator)).isEmpty()) {
+                return locator;
+            }
+        }
+        return null;
+    }
+    
+    private static <T> T pollDriver(int timeoutSeconds, Supplier<T> condition) {
+        return waits().poll(Duration.ofSeconds(timeoutSeconds), attempt -> condition.get());
     }
     
     public static boolean waitForElementPresent(By locator, int timeoutSeconds) {
+        long start = System.nanoTime();
+        if (useSnapshot(locator)) {
+            boolean found = waitInSnapshot(locator, timeoutSeconds);
+            recordProbe(start, found, timeoutSeconds);
+            return found;
+        }
+        boolean found;
         try {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-            return true;
+            waits().until(Duration.ofSeconds(timeoutSeconds), ExpectedConditions.presenceOfElementLocated(resolve(locator)));
+            found = true;
         } catch (Exception e) {
-            return false;
+            found = false;
         }
+        recordProbe(start, found, timeoutSeconds);
+        return found;
     }
     
     public static boolean isElementPresent(By locator) {
+        long start = System.nanoTime();
+        boolean found;
         try {
-            DriverManager.getDriver().findElement(locator);
-            return true;
+            found = useSnapshot(locator)
+                    ? currentSnapshot().isPresent(locator)
+                    : !DriverManager.getDriver().findElements(resolve(locator)).isEmpty();
         } catch (Exception e) {
-            return false;
+            found = false;
         }
+        recordProbe(start, found, 0);
+        return found;
     }
     
     public static void clickElement(By locator, String elementName) {
+        invalidateSnapshot();
         try {
-            WebElement element = getWait().until(ExpectedConditions.elementToBeClickable(locator));
-            element.click();
+            withPopupRecovery(elementName, () ->
+                    waits().until(ExpectedConditions.elementToBeClickable(resolve(locator))).click());
             logger.info("Clicou no elemento: {}", elementName);
         } catch (Exception e) {
             logger.error("Erro ao clicar no elemento: {}", elementName, e);
@@ -50,10 +276,13 @@ public class ElementUtils {
     }
     
     public static void sendKeys(By locator, String text, String elementName) {
+        invalidateSnapshot();
         try {
-            WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
-            element.clear();
-            element.sendKeys(text);
+            withPopupRecovery(elementName, () -> {
+                WebElement element = waits().until(ExpectedConditions.presenceOfElementLocated(resolve(locator)));
+                element.clear();
+                element.sendKeys(text);
+            });
             logger.info("Inseriu texto '{}' no elemento: {}", text, elementName);
         } catch (Exception e) {
             logger.error("Erro ao inserir texto no elemento: {}", elementName, e);
@@ -62,8 +291,15 @@ public class ElementUtils {
     }
     
     public static String getText(By locator, String elementName) {
+        if (useSnapshot(locator)) {
+            String text = currentSnapshot().getText(locator);
+            if (text != null) {
+                logger.debug("Obteve texto '{}' do elemento (snapshot): {}", text, elementName);
+                return text;
+            }
+        }
         try {
-            WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = waits().until(ExpectedConditions.presenceOfElementLocated(resolve(locator)));
             String text = element.getText();
             logger.debug("Obteve texto '{}' do elemento: {}", text, elementName);
             return text;
@@ -75,7 +311,7 @@ public class ElementUtils {
     
     public static void waitForElementClickable(By locator, String elementName) {
         try {
-            getWait().until(ExpectedConditions.elementToBeClickable(locator));
+            waits().until(ExpectedConditions.elementToBeClickable(resolve(locator)));
             logger.debug("Elemento clicável: {}", elementName);
         } catch (Exception e) {
             logger.error("Elemento não ficou clicável: {}", elementName, e);
@@ -83,6 +319,92 @@ public class ElementUtils {
         }
     }
     
+    /**
+     * Executa a ação; se falhar e algum popup da tela for fechado, repete uma vez
+     * Execuções sem popup não pagam nenhuma verificação extra
+     */
+    private static void withPopupRecovery(String action, Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            if (!PopupHandler.recover(action)) {
+                throw e;
+            }
+            invalidateSnapshot();
+            command.run();
+        }
+    }
+    
+    // Preenchimento rápido de formulários
+    
+    public static boolean isFastFillEnabled() {
+        return config.getBooleanProperty("form.fast.fill.enabled", false);
+    }
+    
+    /**
+     * Preenche vários campos com o mínimo de idas ao dispositivo
+     * Um único page source indica quais campos existem e quais já estão vazios; no Android o valor
+     * é definido direto (mobile: replaceElementValue, sem clear e sem abrir o teclado) e no iOS o
+     * clear só é enviado a campos com conteúdo. Campos que falharem no modo rápido, ou que não
+     * estiverem na tela, são preenchidos pelo caminho normal (espera + clear + sendKeys)
+     * @param fields   Campo e texto, na ordem de preenchimento
+     * @param optional Campos que podem não existir na tela (ignorados sem espera)
+     * @return Campos opcionais ausentes da tela
+     */
+    public static List<By> fillFields(Map<By, String> fields, By... optional) {
+        invalidateSnapshot();
+        String platform = config.getPlatform();
+        PageSnapshot form = allSupportedBySnapshot(fields.keySet().toArray(new By[0])) ? refreshSnapshot() : null;
+        List<By> optionalFields = Arrays.asList(optional);
+        List<By> missing = new ArrayList<>();
+        int direct = 0;
+        int fallback = 0;
+        
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            By locator = field.getKey();
+            String text = field.getValue() != null ? field.getValue() : "";
+            if (form != null && !form.isPresent(locator)) {
+                if (optionalFields.contains(locator)) {
+                    missing.add(locator);
+                    continue;
+                }
+                sendKeys(locator, text, "Campo de texto");
+                fallback++;
+                continue;
+            }
+            boolean empty = form != null && form.isEmptyField(locator);
+            if (empty && text.isEmpty()) {
+                continue;
+            }
+            try {
+                setValue(locator, text, empty, platform);
+                direct++;
+            } catch (RuntimeException e) {
+                logger.debug("Preenchimento rápido falhou em {}, usando sendKeys: {}", locator, e.getMessage());
+                sendKeys(locator, text, "Campo de texto");
+                fallback++;
+            }
+        }
+        invalidateSnapshot();
+        logger.info("Formulário preenchido: {} campos diretos, {} pelo caminho normal, {} ausentes",
+                direct, fallback, missing.size());
+        return missing;
+    }
+    
+    private static void setValue(By locator, String text, boolean empty, String platform) {
+        WebElement element = DriverManager.getDriver().findElement(resolve(locator));
+        if ("android".equals(platform)) {
+            DriverManager.getDriver().executeScript("mobile: replaceElementValue",
+                    Map.of("elementId", ((RemoteWebElement) element).getId(), "text", text));
+        } else {
+            if (!empty) {
+                element.clear();
+            }
+            element.sendKeys(text);
+        }
+        logger.debug("Valor definido no campo {}", locator);
+    }
+    
     // Métodos adicionais para compatibilidade com as páginas
     
     public static void click(By locator) {
@@ -94,9 +416,10 @@ public class ElementUtils {
     }
     
     public static void clear(By locator) {
+        invalidateSnapshot();
         try {
-            WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
-            element.clear();
+            withPopupRecovery("limpar campo", () ->
+                    waits().until(ExpectedConditions.presenceOfElementLocated(resolve(locator))).clear());
             logger.info("Campo limpo");
         } catch (Exception e) {
             logger.error("Erro ao limpar campo", e);
@@ -114,7 +437,10 @@ public class ElementUtils {
     
     public static int getElementCount(By locator) {
         try {
-            return DriverManager.getDriver().findElements(locator).size();
+            if (useSnapshot(locator)) {
+                return currentSnapshot().count(locator);
+            }
+            return DriverManager.getDriver().findElements(resolve(locator)).size();
         } catch (Exception e) {
             logger.error("Erro ao contar elementos", e);
             return 0;
@@ -123,20 +449,111 @@ public class ElementUtils {
     
     public static java.util.List<WebElement> findElements(By locator) {
         try {
-            return DriverManager.getDriver().findElements(locator);
+            return DriverManager.getDriver().findElements(resolve(locator));
         } catch (Exception e) {
             logger.error("Erro ao encontrar elementos", e);
             return java.util.Collections.emptyList();
         }
     }
     
+    // Rolagem
+    
+    public static boolean isScrollToFindEnabled() {
+        return config.getBooleanProperty("scroll.to.find.enabled", false);
+    }
+    
+    /**
+     * Rola a lista no próprio dispositivo até um item que contenha o texto ficar visível,
+     * em uma única ida ao servidor, independente do tamanho da lista
+     * Android: UiScrollable.scrollIntoView (até scroll.max.swipes telas);
+     * iOS: mobile: scroll com predicate sobre a lista, seguido de uma busca pelo item visível
+     * (o scroll pode terminar sem erro no fim da lista sem ter chegado ao item)
+     * @param list Lista rolável
+     * @param text Texto (ou parte dele) do item procurado
+     * @return true se o item ficou visível
+     */
+    public static boolean scrollIntoView(By list, String text) {
+        invalidateSnapshot();
+        long start = System.nanoTime();
+        boolean found;
+        try {
+            if ("android".equals(config.getPlatform())) {
+                String scrollable = "new UiScrollable(" + uiSelectorFor(list) + ")"
+                        + ".setMaxSearchSwipes(" + config.getIntProperty("scroll.max.swipes", 2000) + ")"
+                        + ".scrollIntoView(new UiSelector().textContains(" + LocatorCompiler.javaString(text) + "))";
+                found = !DriverManager.getDriver().findElements(AppiumBy.androidUIAutomator(scrollable)).isEmpty();
+            } else {
+                String predicate = "label CONTAINS " + LocatorCompiler.predicateString(text);
+                WebElement element = DriverManager.getDriver().findElement(resolve(list));
+                DriverManager.getDriver().executeScript("mobile: scroll", Map.of(
+                        "elementId", ((RemoteWebElement) element).getId(),
+                        "predicateString", predicate,
+                        "toVisible", true));
+                found = !DriverManager.getDriver().findElements(
+                        AppiumBy.iOSNsPredicateString(predicate + " AND visible == 1")).isEmpty();
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Item '{}' não encontrado rolando a lista: {}", text, e.getMessage());
+            found = false;
+        }
+        logger.info("Rolagem até '{}': {} ({} ms)", text, found ? "visível" : "não encontrado",
+                (System.nanoTime() - start) / 1_000_000);
+        return found;
+    }
+    
+    /**
+     * Aguarda qualquer um dos locators de um item da lista; se a lista aparece sem o item
+     * (fora das linhas visíveis), rola até ele com scrollIntoView e confere de novo
+     * @return Primeiro locator presente ou null
+     */
+    public static By waitForInList(int timeoutSeconds, By list, String text, By... candidates) {
+        By[] withList = Arrays.copyOf(candidates, candidates.length + 1);
+        withList[candidates.length] = list;
+        By found = waitForAny(timeoutSeconds, withList);
+        if (found != list) {
+            return found;
+        }
+        if (!isScrollToFindEnabled() || !scrollIntoView(list, text)) {
+            return null;
+        }
+        return firstPresent(candidates);
+    }
+    
+    /**
+     * UiSelector do contêiner rolável: pelo resource-id quando o locator é By.id
+     */
+    private static String uiSelectorFor(By list) {
+        String description = list.toString();
+        if (description.startsWith("By.id: ")) {
+            return "new UiSelector().resourceId(" + LocatorCompiler.javaString(description.substring("By.id: ".length())) + ")";
+        }
+        return "new UiSelector().scrollable(true)";
+    }
+    
+    /**
+     * Desliza o conteúdo do elemento para baixo (volta ao início da lista)
+     */
     public static void swipeDown(By locator) {
-        logger.info("Swipe down simulado para elemento");
-        // Implementação específica de swipe seria necessária para cada plataforma
+        swipe(locator, "down");
     }
     
+    /**
+     * Desliza o conteúdo do elemento para cima (avança na lista)
+     */
     public static void swipeUp(By locator) {
-        logger.info("Swipe up simulado para elemento");
-        // Implementação específica de swipe seria necessária para cada plataforma
+        swipe(locator, "up");
+    }
+    
+    private static void swipe(By locator, String direction) {
+        invalidateSnapshot();
+        WebElement element = waits().until(ExpectedConditions.presenceOfElementLocated(resolve(locator)));
+        String elementId = ((RemoteWebElement) element).getId();
+        if ("android".equals(config.getPlatform())) {
+            DriverManager.getDriver().executeScript("mobile: swipeGesture",
+                    Map.of("elementId", elementId, "direction", direction, "percent", 0.75));
+        } else {
+            DriverManager.getDriver().executeScript("mobile: swipe", Map.of("elementId", elementId, "direction", direction));
+        }
+        logger.debug("Swipe {} no elemento {}", direction, locator);
     }
 }
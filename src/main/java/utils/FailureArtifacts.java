@@ -0,0 +1,210 @@
+package utils;
+
+import driver.DriverManager;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Artefatos de falha: screenshot, page source, fim do log do dispositivo e capabilities
+ * Os dados são lidos do driver na thread do teste (antes de a sessão ser finalizada ou devolvida ao pool);
+ * decodificação, compactação e gravação em disco rodam em um executor limitado em segundo plano.
+ * Com a fila cheia, a thread do teste grava o artefato ela mesma (backpressure em vez de memória sem limite)
+ * drain() aguarda as gravações pendentes no fim da suíte
+ */
+public final class FailureArtifacts {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifacts.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static ThreadPoolExecutor writer;
+
+    private FailureArtifacts() {
+    }
+
+    /**
+     * Dados brutos lidos do driver, ainda sem decodificar nem gravar
+     */
+    private static final class Capture {
+        final String name;
+        final String screenshotBase64;
+        final String pageSource;
+        final List<String> deviceLog;
+        final Map<String, Object> capabilities;
+
+        Capture(String name, String screenshotBase64, String pageSource, List<String> deviceLog,
+                Map<String, Object> capabilities) {
+            this.name = name;
+            this.screenshotBase64 = screenshotBase64;
+            this.pageSource = pageSource;
+            this.deviceLog = deviceLog;
+            this.capabilities = capabilities;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("screenshot.on.failure", false);
+    }
+
+    /**
+     * Lê os artefatos da sessão atual e agenda a gravação
+     * Não faz nada se a captura estiver desabilitada ou não houver driver ativo
+     * @param testName Nome do teste, usado nos nomes dos arquivos
+     */
+    public static void capture(String testName) {
+        if (!isEnabled() || !DriverManager.isDriverActive()) {
+            return;
+        }
+        long start = System.nanoTime();
+        AppiumDriver driver = DriverManager.getDriver();
+        String name = fileName(testName);
+        Capture capture = new Capture(name, screenshot(driver), pageSource(driver), deviceLogTail(driver),
+                driver.getCapabilities().asMap());
+        executor().execute(() -> write(capture));
+        logger.info("Artefatos de falha de {} lidos em {} ms; gravação em segundo plano",
+                testName, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aguarda as gravações pendentes e encerra o executor (o próximo capture cria outro)
+     * @return true se todas as gravações terminaram dentro do timeout
+     */
+    public static boolean drain() {
+        ThreadPoolExecutor current;
+        synchronized (FailureArtifacts.class) {
+            current = writer;
+            writer = null;
+        }
+        if (current == null) {
+            return true;
+        }
+        current.shutdown();
+        try {
+            int timeout = ConfigManager.getInstance().getIntProperty("failure.artifacts.drain.timeout.seconds", 60);
+            boolean finished = current.awaitTermination(timeout, TimeUnit.SECONDS);
+            if (!finished) {
+                logger.warn("Gravação de artefatos de falha não terminou em {} s", timeout);
+            }
+            return finished;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor executor() {
+        if (writer == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            int threads = config.getIntProperty("failure.artifacts.threads", 1);
+            writer = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getIntProperty("failure.artifacts.queue.size", 8)),
+                    task -> {
+                        Thread thread = new Thread(task, "failure-artifacts-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return writer;
+    }
+
+    private static String fileName(String testName) {
+        return testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + LocalDateTime.now().format(TIMESTAMP);
+    }
+
+    // Leitura na thread do teste: cada item que falhar é omitido, sem impedir os demais
+
+    private static String screenshot(AppiumDriver driver) {
+        try {
+            return driver.getScreenshotAs(OutputType.BASE64);
+        } catch (WebDriverException e) {
+            logger.warn("Screenshot de falha indisponível: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String pageSource(AppiumDriver driver) {
+        try {
+            return driver.getPageSource();
+        } catch (WebDriverException e) {
+            logger.warn("Page source de falha indisponível: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> deviceLogTail(AppiumDriver driver) {
+        String type = "ios".equals(ConfigManager.getInstance().getPlatform()) ? "syslog" : "logcat";
+        int lines = ConfigManager.getInstance().getIntProperty("failure.artifacts.log.lines", 500);
+        if (DeviceLogStream.isActive()) {
+            // Log já lido em segundo plano durante o teste: só as linhas novas vão ao servidor
+            return DeviceLogStream.tail(lines);
+        }
+        try {
+            List<String> log = new ArrayList<>();
+            for (LogEntry entry : driver.manage().logs().get(type)) {
+                log.add(entry.toString());
+            }
+            return log.subList(Math.max(0, log.size() - lines), log.size());
+        } catch (WebDriverException e) {
+            logger.warn("Log do dispositivo ({}) indisponível: {}", type, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    // Gravação em segundo plano
+
+    private static void write(Capture capture) {
+        ConfigManager config = ConfigManager.getInstance();
+        try {
+            if (capture.screenshotBase64 != null) {
+                Path screenshots = Paths.get(config.getProperty("screenshot.path", "target/screenshots"));
+                Files.createDirectories(screenshots);
+                Files.write(screenshots.resolve(capture.name + ".png"), Base64.getMimeDecoder().decode(capture.screenshotBase64));
+            }
+
+            Path artifacts = Paths.get(config.getProperty("failure.artifacts.path", "target/failure-artifacts"));
+            Files.createDirectories(artifacts);
+            try (OutputStream file = Files.newOutputStream(artifacts.resolve(capture.name + ".zip"));
+                 ZipOutputStream zip = new ZipOutputStream(file)) {
+                if (capture.pageSource != null) {
+                    addEntry(zip, "page-source.xml", capture.pageSource);
+                }
+                addEntry(zip, "device.log", String.join("\n", capture.deviceLog));
+                addEntry(zip, "capabilities.json", new Json().toJson(capture.capabilities));
+            }
+            logger.info("Artefatos de falha gravados: {}", capture.name);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Não foi possível gravar os artefatos de falha {}: {}", capture.name, e.getMessage());
+        }
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
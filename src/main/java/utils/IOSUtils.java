@@ -37,55 +37,12 @@ public class IOSUtils {
     }
     
     /**
-     * Verifica e trata popups iniciais comuns no iOS
+     * Verifica e trata popups comuns no iOS (permissão, tutorial, continue, skip)
+     * As regras ficam em popups-ios.properties e são avaliadas sobre um único page source
      */
     public static void handleInitialPopups() {
-        logger.info("Verificando popups iniciais do iOS...");
-        
-        // Popup de permissão de contatos
-        By permitirContatos = By.xpath("//XCUIElementTypeButton[@name='Allow']");
-        if (ElementUtils.isElementPresent(permitirContatos, 3)) {
-            ElementUtils.click(permitirContatos);
-            logger.info("Permissão de contatos concedida");
-            return;
-        }
-        
-        // Popup de "Don't Allow"
-        By naoPermitir = By.xpath("//XCUIElementTypeButton[@name=\"Don't Allow\"]");
-        if (ElementUtils.isElementPresent(naoPermitir, 3)) {
-            // Se aparecer, vamos permitir mesmo assim clicando em Allow se estiver disponível
-            if (ElementUtils.isElementPresent(permitirContatos, 1)) {
-                ElementUtils.click(permitirContatos);
-                logger.info("Permissão de contatos concedida após popup de não permitir");
-            }
-            return;
-        }
-        
-        // Popup de tour/tutorial do app
-        By botaoOK = By.xpath("//XCUIElementTypeButton[@name='OK']");
-        if (ElementUtils.isElementPresent(botaoOK, 3)) {
-            ElementUtils.click(botaoOK);
-            logger.info("Popup de tutorial/OK fechado");
-            return;
-        }
-        
-        // Popup de "Continue"
-        By botaoContinue = By.xpath("//XCUIElementTypeButton[@name='Continue']");
-        if (ElementUtils.isElementPresent(botaoContinue, 3)) {
-            ElementUtils.click(botaoContinue);
-            logger.info("Popup de continue fechado");
-            return;
-        }
-        
-        // Popup de "Skip"
-        By botaoSkip = By.xpath("//XCUIElementTypeButton[@name='Skip']");
-        if (ElementUtils.isElementPresent(botaoSkip, 3)) {
-            ElementUtils.click(botaoSkip);
-            logger.info("Popup de skip fechado");
-            return;
-        }
-        
-        logger.info("Nenhum popup inicial detectado");
+        logger.info("Verificando popups do iOS...");
+        PopupHandler.dismissAll();
     }
     
     /**
@@ -112,6 +69,7 @@ public class IOSUtils {
             // Como último recurso, tentar usar o método do Appium para iOS
             try {
                 ((io.appium.java_client.ios.IOSDriver) DriverManager.getDriver()).hideKeyboard();
+                ElementUtils.invalidateSnapshot();
                 logger.info("Teclado fechado via hideKeyboard");
             } catch (Exception ex) {
                 logger.warn("Método hideKeyboard não disponível ou não funcionou: {}", ex.getMessage());
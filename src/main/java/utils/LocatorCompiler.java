@@ -0,0 +1,265 @@
+package utils;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compilador de locators XPath para estratégias nativas
+ * Reescreve formatos comuns de XPath em UiSelector (UiAutomator2),
+ * predicate string / class chain (XCUITest) ou accessibility id,
+ * somente quando a tradução é equivalente; caso contrário mantém o XPath
+ */
+public class LocatorCompiler {
+
+    private static final Pattern ROOT = Pattern.compile("^//([A-Za-z][A-Za-z0-9_.]*|\\*)(?:\\[(.+)])?$");
+    private static final Pattern EQUALS = Pattern.compile("^@([a-z-]+)\\s*=\\s*('[^']*'|\"[^\"]*\")$");
+    private static final Pattern FUNCTION = Pattern.compile("^(contains|starts-with)\\(\\s*@([a-z-]+)\\s*,\\s*('[^']*'|\"[^\"]*\")\\s*\\)$");
+
+    private static final Map<String, By> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Condição simples do predicado XPath: @atributo op 'valor'
+     */
+    static class Condition {
+        final String attribute;
+        final String operator;
+        final String value;
+
+        Condition(String attribute, String operator, String value) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Retorna o locator nativo equivalente, ou o próprio locator quando não há tradução segura
+     */
+    public static By compile(By locator, String platform) {
+        String description = locator.toString();
+        if (!description.startsWith("By.xpath: ")) {
+            return locator;
+        }
+        return cache.computeIfAbsent(platform.toLowerCase() + "|" + description, key -> {
+            By compiled = compileXPath(description.substring("By.xpath: ".length()), platform);
+            return compiled != null ? compiled : locator;
+        });
+    }
+
+    /**
+     * @return Locator nativo ou null se o XPath não tiver equivalente
+     */
+    static By compileXPath(String xpath, String platform) {
+        Matcher root = ROOT.matcher(xpath.trim());
+        if (!root.matches()) {
+            return null;
+        }
+        String tag = root.group(1);
+        String predicate = root.group(2);
+        if ("*".equals(tag) && predicate == null) {
+            return null;
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        boolean or = false;
+        if (predicate != null) {
+            boolean hasAnd = containsOperator(predicate, " and ");
+            or = containsOperator(predicate, " or ");
+            if (hasAnd && or) {
+                return null;
+            }
+            for (String part : splitOutsideQuotes(predicate, or ? " or " : " and ")) {
+                Condition condition = parseCondition(part.trim());
+                if (condition == null) {
+                    return null;
+                }
+                conditions.add(condition);
+            }
+        }
+
+        return "ios".equalsIgnoreCase(platform)
+                ? compileIOS(tag, conditions, or)
+                : compileAndroid(tag, conditions, or);
+    }
+
+    private static By compileAndroid(String tag, List<Condition> conditions, boolean or) {
+        boolean anyTag = "*".equals(tag);
+        if (anyTag && conditions.size() == 1 && isEquals(conditions.get(0), "content-desc")) {
+            return AppiumBy.accessibilityId(conditions.get(0).value);
+        }
+
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        if (!anyTag) {
+            selector.append(".className(").append(javaString(tag)).append(")");
+        }
+
+        if (or) {
+            // UiSelector não tem OR; só é equivalente quando todas as condições são igualdades no mesmo atributo
+            String attribute = conditions.get(0).attribute;
+            List<String> alternatives = new ArrayList<>();
+            for (Condition condition : conditions) {
+                if (!isEquals(condition, attribute)) {
+                    return null;
+                }
+                alternatives.add(regexLiteral(condition.value));
+            }
+            String method = androidMethod(attribute, "matches");
+            if (method == null) {
+                return null;
+            }
+            selector.append('.').append(method).append('(').append(javaString(String.join("|", alternatives))).append(')');
+            return AppiumBy.androidUIAutomator(selector.toString());
+        }
+
+        for (Condition condition : conditions) {
+            String method;
+            String argument = condition.value;
+            if ("resource-id".equals(condition.attribute) && !"=".equals(condition.operator)) {
+                // resourceId não tem contains/startsWith; usa regex equivalente
+                method = "resourceIdMatches";
+                argument = ("starts-with".equals(condition.operator) ? "" : ".*") + regexLiteral(condition.value) + ".*";
+            } else {
+                method = androidMethod(condition.attribute, condition.operator);
+            }
+            if (method == null) {
+                return null;
+            }
+            selector.append('.').append(method).append('(').append(javaString(argument)).append(')');
+        }
+        return AppiumBy.androidUIAutomator(selector.toString());
+    }
+
+    private static String androidMethod(String attribute, String operator) {
+        String base;
+        switch (attribute) {
+            case "text":
+                base = "text";
+                break;
+            case "content-desc":
+                base = "description";
+                break;
+            case "resource-id":
+                base = "resourceId";
+                break;
+            case "class":
+                base = "className";
+                break;
+            default:
+                return null;
+        }
+        switch (operator) {
+            case "=":
+                return base;
+            case "contains":
+                return "resourceId".equals(base) || "className".equals(base) ? null : base + "Contains";
+            case "starts-with":
+                return "resourceId".equals(base) || "className".equals(base) ? null : base + "StartsWith";
+            case "matches":
+                return base + "Matches";
+            default:
+                return null;
+        }
+    }
+
+    private static By compileIOS(String tag, List<Condition> conditions, boolean or) {
+        boolean anyTag = "*".equals(tag);
+        if (anyTag && conditions.size() == 1 && isEquals(conditions.get(0), "name")) {
+            return AppiumBy.accessibilityId(conditions.get(0).value);
+        }
+        if (!anyTag && conditions.isEmpty()) {
+            return AppiumBy.iOSClassChain("**/" + tag);
+        }
+
+        List<String> clauses = new ArrayList<>();
+        for (Condition condition : conditions) {
+            if (!"name".equals(condition.attribute) && !"label".equals(condition.attribute)
+                    && !"value".equals(condition.attribute)) {
+                return null;
+            }
+            String operator;
+            switch (condition.operator) {
+                case "=":
+                    operator = "==";
+                    break;
+                case "contains":
+                    operator = "CONTAINS";
+                    break;
+                default:
+                    operator = "BEGINSWITH";
+                    break;
+            }
+            clauses.add(condition.attribute + " " + operator + " " + predicateString(condition.value));
+        }
+
+        String predicate = String.join(or ? " OR " : " AND ", clauses);
+        if (!anyTag) {
+            predicate = "type == " + predicateString(tag) + (clauses.isEmpty() ? "" : " AND (" + predicate + ")");
+        }
+        return AppiumBy.iOSNsPredicateString(predicate);
+    }
+
+    private static Condition parseCondition(String text) {
+        Matcher equals = EQUALS.matcher(text);
+        if (equals.matches()) {
+            return new Condition(equals.group(1), "=", unquote(equals.group(2)));
+        }
+        Matcher function = FUNCTION.matcher(text);
+        if (function.matches()) {
+            return new Condition(function.group(2), function.group(1), unquote(function.group(3)));
+        }
+        return null;
+    }
+
+    private static boolean isEquals(Condition condition, String attribute) {
+        return "=".equals(condition.operator) && attribute.equals(condition.attribute);
+    }
+
+    private static boolean containsOperator(String predicate, String operator) {
+        return splitOutsideQuotes(predicate, operator).size() > 1;
+    }
+
+    private static List<String> splitOutsideQuotes(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (text.startsWith(separator, i)) {
+                parts.add(text.substring(start, i));
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    private static String unquote(String quoted) {
+        return quoted.substring(1, quoted.length() - 1);
+    }
+
+    private static String regexLiteral(String value) {
+        return value.replaceAll("([\\\\.\\[\\]{}()*+?^$|])", "\\\\$1");
+    }
+
+    static String javaString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    static String predicateString(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
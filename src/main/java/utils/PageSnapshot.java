@@ -0,0 +1,160 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+
+/**
+ * Snapshot da hierarquia de elementos (page source) avaliado localmente
+ * Permite responder presença, contagem e texto de vários elementos
+ * com uma única chamada ao dispositivo
+ */
+public class PageSnapshot {
+    private static final ThreadLocal<XPath> xpath = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    private final Document document;
+    private final String platform;
+    private final long createdAt = System.nanoTime();
+
+    private PageSnapshot(Document document, String platform) {
+        this.document = document;
+        this.platform = platform.toLowerCase();
+    }
+
+    /**
+     * Interpreta o page source retornado pelo Appium
+     */
+    public static PageSnapshot parse(String pageSource, String platform) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(pageSource)));
+            return new PageSnapshot(document, platform);
+        } catch (Exception e) {
+            throw new RuntimeException("Falha ao interpretar page source", e);
+        }
+    }
+
+    public long getAgeMillis() {
+        return (System.nanoTime() - createdAt) / 1_000_000;
+    }
+
+    /**
+     * Verifica se o locator pode ser avaliado localmente
+     */
+    public boolean supports(By locator) {
+        return toXPath(locator, platform) != null;
+    }
+
+    public boolean isPresent(By locator) {
+        return count(locator) > 0;
+    }
+
+    public int count(By locator) {
+        return find(locator).getLength();
+    }
+
+    /**
+     * Texto do primeiro elemento encontrado, como o Appium retornaria no getText
+     * @return Texto ou null se o elemento não existir
+     */
+    public String getText(By locator) {
+        NodeList nodes = find(locator);
+        if (nodes.getLength() == 0) {
+            return null;
+        }
+        Element element = (Element) nodes.item(0);
+        if ("ios".equals(platform)) {
+            String value = element.getAttribute("value");
+            return !value.isEmpty() ? value : element.getAttribute("label");
+        }
+        return element.getAttribute("text");
+    }
+
+    /**
+     * Verifica se o campo de texto está vazio: sem texto ou mostrando apenas o hint/placeholder
+     * @return false também quando o elemento não existe
+     */
+    public boolean isEmptyField(By locator) {
+        NodeList nodes = find(locator);
+        if (nodes.getLength() == 0) {
+            return false;
+        }
+        Element element = (Element) nodes.item(0);
+        String value = element.getAttribute("ios".equals(platform) ? "value" : "text");
+        String placeholder = element.getAttribute("ios".equals(platform) ? "placeholderValue" : "hint");
+        return value.isEmpty() || value.equals(placeholder);
+    }
+
+    /**
+     * Elementos que atendem ao locator, em ordem de documento
+     */
+    public NodeList find(By locator) {
+        String expression = toXPath(locator, platform);
+        if (expression == null) {
+            throw new IllegalArgumentException("Locator não suportado pelo snapshot: " + locator);
+        }
+        try {
+            return (NodeList) xpath.get().evaluate(expression, document, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("XPath inválido para avaliação local: " + expression, e);
+        }
+    }
+
+    /**
+     * Converte um locator Selenium/Appium em XPath sobre o page source
+     * @return XPath equivalente ou null se não houver tradução
+     */
+    public static String toXPath(By locator, String platform) {
+        if (locator == null) {
+            return null;
+        }
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return null;
+        }
+        String strategy = description.substring(0, separator);
+        String value = description.substring(separator + 2);
+        boolean ios = "ios".equalsIgnoreCase(platform);
+
+        switch (strategy) {
+            case "By.xpath":
+                return value;
+            case "By.id":
+            case "AppiumBy.id":
+                return "//*[@" + (ios ? "name" : "resource-id") + "=" + literal(value) + "]";
+            case "AppiumBy.accessibilityId":
+                return "//*[@" + (ios ? "name" : "content-desc") + "=" + literal(value) + "]";
+            case "By.className":
+            case "AppiumBy.className":
+                return "//" + value;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Literal XPath 1.0 seguro para valores com aspas simples e duplas
+     */
+    static String literal(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+}
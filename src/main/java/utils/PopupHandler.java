@@ -0,0 +1,157 @@
+package utils;
+
+import driver.SessionContext;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de regras de popup por plataforma e módulo
+ * As regras vêm de popups-{plataforma}.properties (global) e
+ * suites/{módulo}/popups-{plataforma}.properties (módulo, avaliadas primeiro).
+ * Todas são verificadas sobre um único page source; o tratamento só é
+ * acionado quando uma ação ou carregamento de página falha
+ */
+public class PopupHandler {
+    private static final Logger logger = LoggerFactory.getLogger(PopupHandler.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final int MAX_POPUPS = 3;
+
+    private static final Map<String, List<PopupRule>> rules = new ConcurrentHashMap<>();
+    private static final SessionContext.Slot<Boolean> handling = SessionContext.Slot.withInitial(() -> false);
+
+    public static boolean isEnabled() {
+        return config.getBooleanProperty("popup.handler.enabled", true);
+    }
+
+    /**
+     * Regras aplicáveis à plataforma e ao módulo atuais, na ordem de avaliação
+     */
+    public static List<PopupRule> getRules() {
+        String platform = config.getPlatform();
+        String module = config.getCurrentModule();
+        return rules.computeIfAbsent(platform + "|" + module, key -> {
+            List<PopupRule> loaded = new ArrayList<>();
+            if (module != null) {
+                loaded.addAll(load("/suites/" + module + "/popups-" + platform + ".properties"));
+            }
+            loaded.addAll(load("/popups-" + platform + ".properties"));
+            return Collections.unmodifiableList(loaded);
+        });
+    }
+
+    /**
+     * Registra uma regra em tempo de execução para a plataforma e módulo atuais
+     */
+    public static void register(PopupRule rule) {
+        List<PopupRule> updated = new ArrayList<>();
+        updated.add(rule);
+        updated.addAll(getRules());
+        rules.put(config.getPlatform() + "|" + config.getCurrentModule(), Collections.unmodifiableList(updated));
+    }
+
+    /**
+     * Descarta as regras carregadas (ex: após trocar de módulo nos testes)
+     */
+    public static void reset() {
+        rules.clear();
+    }
+
+    /**
+     * Fecha os popups presentes na tela
+     * @return Quantidade de popups fechados
+     */
+    public static int dismissAll() {
+        if (handling.get()) {
+            return 0;
+        }
+        List<PopupRule> active = getRules();
+        if (active.isEmpty()) {
+            return 0;
+        }
+        By[] detectors = active.stream().map(PopupRule::getDetect).toArray(By[]::new);
+
+        handling.set(true);
+        int dismissed = 0;
+        try {
+            while (dismissed < MAX_POPUPS) {
+                ElementUtils.invalidateSnapshot();
+                By found = ElementUtils.firstPresent(detectors);
+                if (found == null) {
+                    break;
+                }
+                PopupRule rule = active.get(indexOf(detectors, found));
+                ElementUtils.click(rule.getDismiss());
+                logger.info("Popup '{}' fechado", rule.getName());
+                dismissed++;
+            }
+            if (dismissed == 0) {
+                logger.debug("Nenhum popup detectado");
+            }
+            return dismissed;
+        } catch (Exception e) {
+            logger.warn("Erro ao tratar popups: {}", e.getMessage());
+            return dismissed;
+        } finally {
+            handling.set(false);
+        }
+    }
+
+    /**
+     * Chamado pelo ElementUtils quando uma ação falha
+     * @return true se algum popup foi fechado e a ação deve ser repetida
+     */
+    public static boolean recover(String action) {
+        if (!isEnabled() || handling.get()) {
+            return false;
+        }
+        logger.info("Falha em '{}', verificando popups...", action);
+        return dismissAll() > 0;
+    }
+
+    private static int indexOf(By[] locators, By locator) {
+        for (int i = 0; i < locators.length; i++) {
+            if (locators[i] == locator) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Locator fora das regras: " + locator);
+    }
+
+    private static List<PopupRule> load(String resource) {
+        Properties properties = new Properties();
+        try (InputStream input = PopupHandler.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                return Collections.emptyList();
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao carregar regras de popup: " + resource, e);
+        }
+
+        List<PopupRule> loaded = new ArrayList<>();
+        for (String name : properties.getProperty("popups", "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String detect = properties.getProperty("popup." + name + ".detect");
+            String dismiss = properties.getProperty("popup." + name + ".dismiss");
+            if (detect == null || dismiss == null) {
+                throw new IllegalArgumentException("Regra de popup incompleta '" + name + "' em " + resource);
+            }
+            loaded.add(new PopupRule(name, PopupRule.parseLocator(detect), PopupRule.parseLocator(dismiss)));
+        }
+        logger.debug("{} regras de popup carregadas de {}", loaded.size(), resource);
+        return loaded;
+    }
+}
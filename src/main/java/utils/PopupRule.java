@@ -0,0 +1,66 @@
+package utils;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+
+/**
+ * Regra declarativa de popup: quando o elemento de detecção está na tela,
+ * o popup é fechado clicando no elemento de dispensa
+ */
+public class PopupRule {
+    private final String name;
+    private final By detect;
+    private final By dismiss;
+
+    public PopupRule(String name, By detect, By dismiss) {
+        this.name = name;
+        this.detect = detect;
+        this.dismiss = dismiss;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public By getDetect() {
+        return detect;
+    }
+
+    public By getDismiss() {
+        return dismiss;
+    }
+
+    /**
+     * Interpreta um locator no formato "estratégia:valor"
+     * Estratégias: id, xpath, accessibilityId, uiautomator, predicate, classChain
+     */
+    public static By parseLocator(String text) {
+        int separator = text.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Locator de popup sem estratégia: " + text);
+        }
+        String strategy = text.substring(0, separator).trim();
+        String value = text.substring(separator + 1).trim();
+        switch (strategy) {
+            case "id":
+                return By.id(value);
+            case "xpath":
+                return By.xpath(value);
+            case "accessibilityId":
+                return AppiumBy.accessibilityId(value);
+            case "uiautomator":
+                return AppiumBy.androidUIAutomator(value);
+            case "predicate":
+                return AppiumBy.iOSNsPredicateString(value);
+            case "classChain":
+                return AppiumBy.iOSClassChain(value);
+            default:
+                throw new IllegalArgumentException("Estratégia de locator de popup desconhecida: " + strategy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
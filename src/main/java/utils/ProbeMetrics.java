@@ -0,0 +1,70 @@
+package utils;
+
+import driver.SessionContext;
+
+/**
+ * Métricas das verificações de presença de elementos (probes) por sessão (SessionContext)
+ * Estima o tempo economizado ao sondar sem implicit wait: no modo antigo,
+ * cada probe negativo pagava o implicit wait inteiro, somado ao timeout explícito
+ */
+public class ProbeMetrics {
+
+    private static final SessionContext.Slot<ProbeMetrics> current = SessionContext.Slot.withInitial(ProbeMetrics::new);
+
+    private int probes;
+    private int negativeProbes;
+    private long elapsedNanos;
+    private long savedNanos;
+
+    public static ProbeMetrics current() {
+        return current.get();
+    }
+
+    /**
+     * Registra um probe
+     * @param elapsedNanos    Tempo gasto no probe
+     * @param found           Se o elemento foi encontrado
+     * @param timeoutSeconds  Timeout explícito solicitado (0 para busca direta)
+     * @param implicitSeconds Implicit wait que seria pago no modo antigo
+     */
+    public static void record(long elapsedNanos, boolean found, int timeoutSeconds, int implicitSeconds) {
+        ProbeMetrics metrics = current.get();
+        metrics.probes++;
+        metrics.elapsedNanos += elapsedNanos;
+        if (!found) {
+            metrics.negativeProbes++;
+            long legacyNanos = (timeoutSeconds + implicitSeconds) * 1_000_000_000L;
+            metrics.savedNanos += Math.max(0, legacyNanos - elapsedNanos);
+        }
+    }
+
+    /**
+     * Zera as métricas da thread atual (início de um teste)
+     */
+    public static void reset() {
+        current.remove();
+    }
+
+    public int getProbes() {
+        return probes;
+    }
+
+    public int getNegativeProbes() {
+        return negativeProbes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getSavedMillis() {
+        return savedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "probes=" + probes + ", negativos=" + negativeProbes
+                + ", tempo em probes=" + getElapsedMillis() + " ms"
+                + ", tempo economizado (estimado)=" + getSavedMillis() + " ms";
+    }
+}
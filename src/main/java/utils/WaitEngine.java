@@ -0,0 +1,190 @@
+package utils;
+
+import driver.DriverManager;
+import driver.SessionContext;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Espera explícita reutilizável da sessão, com polling adaptativo
+ * A primeira consulta é imediata; os intervalos começam em wait.poll.initial.ms e
+ * são multiplicados por wait.poll.backoff até o teto wait.poll.max.ms, então telas
+ * que respondem rápido não pagam o ciclo fixo de 500 ms do WebDriverWait
+ * Uma instância por sessão (SessionContext), criada junto com o driver (configuração lida uma vez)
+ */
+public final class WaitEngine {
+    private static final SessionContext.Slot<WaitEngine> current = SessionContext.Slot.create();
+    private static final String DEFAULT_IGNORED =
+            "org.openqa.selenium.NotFoundException,org.openqa.selenium.StaleElementReferenceException";
+
+    private final Duration timeout;
+    private final long initialPollNanos;
+    private final long maxPollNanos;
+    private final double backoff;
+    private final List<Class<? extends Throwable>> ignored;
+
+    /**
+     * @param timeout     Timeout padrão de until(condição)
+     * @param initialPoll Intervalo após a primeira consulta
+     * @param maxPoll     Teto do intervalo entre consultas
+     * @param backoff     Fator de crescimento do intervalo (1 para polling fixo)
+     * @param ignored     Exceções tratadas como "condição ainda não satisfeita"
+     */
+    public WaitEngine(Duration timeout, Duration initialPoll, Duration maxPoll, double backoff,
+                      List<Class<? extends Throwable>> ignored) {
+        if (backoff < 1) {
+            throw new IllegalArgumentException("wait.poll.backoff deve ser >= 1: " + backoff);
+        }
+        this.timeout = timeout;
+        this.initialPollNanos = Math.max(1, initialPoll.toNanos());
+        this.maxPollNanos = Math.max(initialPollNanos, maxPoll.toNanos());
+        this.backoff = backoff;
+        this.ignored = Collections.unmodifiableList(new ArrayList<>(ignored));
+    }
+
+    /**
+     * Cria a espera a partir da configuração atual (explicit.wait e wait.*)
+     */
+    public static WaitEngine fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        return new WaitEngine(
+                Duration.ofSeconds(config.getIntProperty("explicit.wait", 20)),
+                Duration.ofMillis(config.getIntProperty("wait.poll.initial.ms", 25)),
+                Duration.ofMillis(config.getIntProperty("wait.poll.max.ms", 500)),
+                Double.parseDouble(config.getProperty("wait.poll.backoff", "2").trim()),
+                parseIgnored(config.getProperty("wait.ignored.exceptions", DEFAULT_IGNORED)));
+    }
+
+    private static List<Class<? extends Throwable>> parseIgnored(String classNames) {
+        List<Class<? extends Throwable>> classes = new ArrayList<>();
+        for (String name : classNames.split(",")) {
+            if (name.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                classes.add(Class.forName(name.trim()).asSubclass(Throwable.class));
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IllegalArgumentException("Exceção inválida em wait.ignored.exceptions: " + name.trim(), e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Espera da sessão da thread atual (criada sob demanda se o driver veio de fora do DriverManager)
+     */
+    public static WaitEngine current() {
+        WaitEngine engine = current.get();
+        if (engine == null) {
+            engine = fromConfig();
+            current.set(engine);
+        }
+        return engine;
+    }
+
+    /**
+     * Recria a espera da thread atual com a configuração vigente; chamado ao criar o driver
+     */
+    public static void startSession() {
+        current.set(fromConfig());
+    }
+
+    public static void endSession() {
+        current.remove();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Aguarda a condição sobre o driver da thread atual com o timeout padrão
+     * @return Resultado não nulo (e diferente de false) da condição
+     * @throws TimeoutException se a condição não for satisfeita no timeout
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(timeout, condition);
+    }
+
+    public <T> T until(Duration timeout, Function<? super WebDriver, T> condition) {
+        WebDriver driver = DriverManager.getDriver();
+        return run(timeout, attempt -> condition.apply(driver), condition, true);
+    }
+
+    /**
+     * Consulta repetidamente até um resultado não nulo ou o timeout
+     * @param attempt Recebe o número da consulta (0 na primeira, imediata)
+     * @return Resultado da condição, ou null no timeout
+     */
+    public <T> T poll(Duration timeout, IntFunction<T> attempt) {
+        return run(timeout, attempt, null, false);
+    }
+
+    private <T> T run(Duration timeout, IntFunction<T> attempt, Object description, boolean throwOnTimeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = initialPollNanos;
+        RuntimeException lastError = null;
+
+        for (int polls = 1; ; polls++) {
+            T result = null;
+            try {
+                result = attempt.apply(polls - 1);
+                lastError = null;
+            } catch (RuntimeException e) {
+                if (!isIgnored(e)) {
+                    WaitMetrics.record(polls, System.nanoTime() - start, false);
+                    throw e;
+                }
+                lastError = e;
+            }
+            if (result != null && !Boolean.FALSE.equals(result)) {
+                WaitMetrics.record(polls, System.nanoTime() - start, true);
+                return result;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !sleep(Math.min(interval, remaining))) {
+                WaitMetrics.record(polls, System.nanoTime() - start, false);
+                if (throwOnTimeout) {
+                    throw new TimeoutException(String.format("Condição não satisfeita em %d ms (%d consultas): %s",
+                            timeout.toMillis(), polls, description), lastError);
+                }
+                return null;
+            }
+            interval = Math.min((long) (interval * backoff), maxPollNanos);
+        }
+    }
+
+    private boolean isIgnored(Throwable error) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WaitEngine{timeout=" + timeout.getSeconds() + "s, poll=" + initialPollNanos / 1_000_000
+                + "ms x" + backoff + " até " + maxPollNanos / 1_000_000 + "ms}";
+    }
+}
@@ -0,0 +1,86 @@
+package utils;
+
+import driver.SessionContext;
+
+/**
+ * Métricas das esperas explícitas (WaitEngine) por sessão (SessionContext)
+ * Conta quantas consultas ao dispositivo cada espera precisou até ser satisfeita ou expirar
+ */
+public class WaitMetrics {
+
+    private static final SessionContext.Slot<WaitMetrics> current = SessionContext.Slot.withInitial(WaitMetrics::new);
+
+    private int waits;
+    private int timeouts;
+    private long polls;
+    private int maxPolls;
+    private int lastPolls;
+    private long elapsedNanos;
+
+    public static WaitMetrics current() {
+        return current.get();
+    }
+
+    /**
+     * Registra uma espera
+     * @param polls        Consultas feitas (a primeira é imediata)
+     * @param elapsedNanos Tempo total da espera
+     * @param satisfied    Se a condição foi satisfeita antes do timeout
+     */
+    public static void record(int polls, long elapsedNanos, boolean satisfied) {
+        WaitMetrics metrics = current.get();
+        metrics.waits++;
+        metrics.polls += polls;
+        metrics.maxPolls = Math.max(metrics.maxPolls, polls);
+        metrics.lastPolls = polls;
+        metrics.elapsedNanos += elapsedNanos;
+        if (!satisfied) {
+            metrics.timeouts++;
+        }
+    }
+
+    /**
+     * Zera as métricas da thread atual (início de um teste)
+     */
+    public static void reset() {
+        current.remove();
+    }
+
+    public int getWaits() {
+        return waits;
+    }
+
+    public int getTimeouts() {
+        return timeouts;
+    }
+
+    public long getPolls() {
+        return polls;
+    }
+
+    public int getMaxPolls() {
+        return maxPolls;
+    }
+
+    /**
+     * Consultas da espera mais recente
+     */
+    public int getLastPolls() {
+        return lastPolls;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getMeanPolls() {
+        return waits == 0 ? 0 : (double) polls / waits;
+    }
+
+    @Override
+    public String toString() {
+        return "esperas=" + waits + ", timeouts=" + timeouts
+                + ", consultas=" + polls + " (média " + String.format("%.1f", getMeanPolls()) + ", máx " + maxPolls + ")"
+                + ", tempo em esperas=" + getElapsedMillis() + " ms";
+    }
+}
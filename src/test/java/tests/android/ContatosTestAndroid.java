@@ -1,18 +1,25 @@
 package tests.android;
 
+import tests.base.AppState;
 import tests.base.BaseTest;
 import factory.PageFactory;
 import pages.android.*;
 import model.Contato;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import utils.ContactSeeder;
 
 /**
  * Testes específicos para Android
  */
+@AppState(produces = ContatosTestAndroid.TELA_PRINCIPAL)
 public class ContatosTestAndroid extends BaseTest {
+    // Estados do app encadeados entre os testes (ver AppStateInterceptor)
+    static final String TELA_PRINCIPAL = "tela:principal";
+    static final String CONTATO_ADICIONADO = "contato:Fábio Fernandes";
     
     @Test(description = "Teste de adição de contato no Android")
+    @AppState(requires = TELA_PRINCIPAL, produces = CONTATO_ADICIONADO)
     public void testeAdicionarContatoAndroid() {
         logger.info("Iniciando teste de adição de contato no Android");
         
@@ -25,7 +32,7 @@ public class ContatosTestAndroid extends BaseTest {
                 .build();
         
         // Navegar e adicionar contato
-        ContatosMainPageAndroid mainPage = (ContatosMainPageAndroid) PageFactory.createContatosMainPage();
+        ContatosMainPageAndroid mainPage = PageFactory.page(ContatosMainPageAndroid.class);
         Assert.assertTrue(mainPage.isCurrentPage(), "Não está na tela principal de contatos");
         
         AdicionarContatoPageAndroid addPage = mainPage.clicarAdicionarContato();
@@ -35,7 +42,7 @@ public class ContatosTestAndroid extends BaseTest {
         addPage.salvarContato();
         
         // Verificar se contato foi adicionado
-        ContatosMainPageAndroid mainPageRetorno = new ContatosMainPageAndroid();
+        ContatosMainPageAndroid mainPageRetorno = PageFactory.page(ContatosMainPageAndroid.class);
         Assert.assertTrue(mainPageRetorno.isCurrentPage(), "Não retornou para tela principal");
         
         boolean contatoEncontrado = mainPageRetorno.contatoExiste(novoContato.getNome());
@@ -45,10 +52,11 @@ public class ContatosTestAndroid extends BaseTest {
     }
     
     @Test(description = "Teste de cancelamento de adição no Android")
+    @AppState(requires = TELA_PRINCIPAL)
     public void testeCancelarAdicaoAndroid() {
         logger.info("Iniciando teste de cancelamento no Android");
         
-        ContatosMainPageAndroid mainPage = (ContatosMainPageAndroid) PageFactory.createContatosMainPage();
+        ContatosMainPageAndroid mainPage = PageFactory.page(ContatosMainPageAndroid.class);
         AdicionarContatoPageAndroid addPage = mainPage.clicarAdicionarContato();
         
         // Preencher dados e cancelar
@@ -60,7 +68,7 @@ public class ContatosTestAndroid extends BaseTest {
         addPage.preencherContato(contato);
         addPage.cancelarAdicao();
         
-        ContatosMainPageAndroid mainPageRetorno = new ContatosMainPageAndroid();
+        ContatosMainPageAndroid mainPageRetorno = PageFactory.page(ContatosMainPageAndroid.class);
         Assert.assertTrue(mainPageRetorno.isCurrentPage(), "Não retornou para tela principal");
         
         // Verificar que contato não foi salvo
@@ -71,27 +79,32 @@ public class ContatosTestAndroid extends BaseTest {
     }
     
     @Test(description = "Teste de pesquisa de contato no Android")
+    @AppState(requires = {TELA_PRINCIPAL, CONTATO_ADICIONADO}, invalidates = TELA_PRINCIPAL)
     public void testePesquisarContatoAndroid() {
         logger.info("Iniciando teste de pesquisa no Android");
         
-        ContatosMainPageAndroid mainPage = (ContatosMainPageAndroid) PageFactory.createContatosMainPage();
+        ContatosMainPageAndroid mainPage = PageFactory.page(ContatosMainPageAndroid.class);
         
         // Verificar se há contatos para pesquisar
-        if (!mainPage.temContatos()) {
+        if (!estadoDisponivel(CONTATO_ADICIONADO) && !mainPage.temContatos()) {
             logger.info("Lista de contatos vazia, adicionando um contato primeiro");
             
             // Adicionar um contato para poder pesquisar
-            AdicionarContatoPageAndroid adicionarPage = mainPage.clicarAdicionarContato();
             Contato contato = new Contato.Builder()
                     .nome("Fábio")
                     .telefone("11999999999")
                     .email("")
                     .build();
-            adicionarPage.preencherContato(contato);
-            adicionarPage.salvarContato();
+            if (ContactSeeder.isEnabled()) {
+                ContactSeeder.forCurrentSession().seed(contato);
+            } else {
+                AdicionarContatoPageAndroid adicionarPage = mainPage.clicarAdicionarContato();
+                adicionarPage.preencherContato(contato);
+                adicionarPage.salvarContato();
+            }
             
             // Voltar para a página principal
-            mainPage = (ContatosMainPageAndroid) PageFactory.createContatosMainPage();
+            mainPage = PageFactory.page(ContatosMainPageAndroid.class);
         }
         
         // Pesquisar por um contato
@@ -105,36 +118,42 @@ public class ContatosTestAndroid extends BaseTest {
     }
     
     @Test(description = "Teste de exclusão de contato no Android")
+    @AppState(requires = {TELA_PRINCIPAL, CONTATO_ADICIONADO}, invalidates = CONTATO_ADICIONADO)
     public void testeExcluirContatoAndroid() {
         logger.info("Iniciando teste de exclusão de contato no Android");
         
-        ContatosMainPageAndroid mainPage = (ContatosMainPageAndroid) PageFactory.createContatosMainPage();
+        ContatosMainPageAndroid mainPage = PageFactory.page(ContatosMainPageAndroid.class);
         Assert.assertTrue(mainPage.isCurrentPage(), "Não está na tela principal de contatos");
         
-        // Definir o contato para exclusão
-        String nomeParaExcluir = "Fábio Exclusão";
+        // Contato criado pelo teste de adição
+        String nomeParaExcluir = "Fábio Fernandes";
         Contato contatoParaExcluir = new Contato.Builder()
                 .nome(nomeParaExcluir)
-                .telefone("(11) 88888-8888")
-                .email("exclusao@teste.com")
-                .empresa("Empresa Exclusão")
+                .telefone("(11) 99999-9999")
+                .email("fabio@teste.com")
+                .empresa("Empresa Teste")
                 .build();
         
-        // Verificar se o contato já existe
-        boolean contatoJaExiste = mainPage.contatoExiste(nomeParaExcluir);
+        // Contato deixado pelo teste de adição na mesma sessão; fora da cadeia, verificar na lista
+        boolean contatoJaExiste = estadoDisponivel(CONTATO_ADICIONADO) || mainPage.contatoExiste(nomeParaExcluir);
         
         if (!contatoJaExiste) {
             // Contato não existe, então criar primeiro
             logger.info("Contato '{}' não existe, criando antes de excluir", nomeParaExcluir);
             
-            AdicionarContatoPageAndroid addPage = mainPage.clicarAdicionarContato();
-            Assert.assertTrue(addPage.isCurrentPage(), "Não está na tela de adicionar contato");
-            
-            addPage.preencherContato(contatoParaExcluir);
-            addPage.salvarContato();
+            if (ContactSeeder.isEnabled()) {
+                // Pré-condição criada direto na agenda, sem passar pelo formulário
+                ContactSeeder.forCurrentSession().seed(contatoParaExcluir);
+            } else {
+                AdicionarContatoPageAndroid addPage = mainPage.clicarAdicionarContato();
+                Assert.assertTrue(addPage.isCurrentPage(), "Não está na tela de adicionar contato");
+                
+                addPage.preencherContato(contatoParaExcluir);
+                addPage.salvarContato();
+            }
             
             // Voltar para a página principal e verificar se contato foi criado
-            mainPage = new ContatosMainPageAndroid();
+            mainPage = PageFactory.page(ContatosMainPageAndroid.class);
             Assert.assertTrue(mainPage.isCurrentPage(), "Não retornou para tela principal após adicionar");
             
             // Verificar se o contato foi criado com sucesso
@@ -0,0 +1,31 @@
+package tests.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Estado do app exigido e deixado por um teste (ex: "tela:principal", "contato:Fábio Fernandes")
+ * No método: o AppStateInterceptor ordena os testes para que o próximo aproveite o estado
+ * (e a sessão) deixado pelo anterior. Na classe: estados de uma sessão nova (produces)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AppState {
+
+    /**
+     * Estados que o teste precisa encontrar; os ausentes são recriados pelo próprio teste
+     */
+    String[] requires() default {};
+
+    /**
+     * Estados que o teste deixa ao passar
+     */
+    String[] produces() default {};
+
+    /**
+     * Estados que deixam de valer depois do teste (ex: contato excluído, tela trocada)
+     */
+    String[] invalidates() default {};
+}
@@ -0,0 +1,186 @@
+package tests.base;
+
+import driver.DriverManager;
+import driver.SessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encadeamento de testes pelo estado do app (@AppState)
+ * O plano (ordem e quais testes continuam a sessão do anterior) é montado pelo AppStateInterceptor;
+ * em execução, cada sessão (SessionContext) sabe quais estados garante. Uma falha, um teste sem @AppState
+ * ou um teste que exige um estado ausente quebram a cadeia: sessão nova e pré-condições recriadas
+ */
+public final class AppStateChain {
+    private static final Logger logger = LoggerFactory.getLogger(AppStateChain.class);
+
+    // teste -> próximo teste do plano que continua a mesma sessão
+    private static final Map<Method, Method> nextInChain = new ConcurrentHashMap<>();
+    private static final SessionContext.Slot<Set<String>> states = SessionContext.Slot.withInitial(LinkedHashSet::new);
+    private static final SessionContext.Slot<Method> keptFor = SessionContext.Slot.create();
+
+    private AppStateChain() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("app.state.chaining.enabled", false);
+    }
+
+    /**
+     * Ordena os testes para reaproveitar estado: a cada passo, o próximo é o que não invalida estados
+     * ainda exigidos por outros testes pendentes e tem menos pré-condições a recriar (empate: ordem original)
+     * Registra quais testes continuam a sessão do anterior
+     * @return Testes na ordem de execução
+     */
+    public static List<Method> plan(List<Method> methods) {
+        List<Method> pending = new ArrayList<>(methods);
+        List<Method> ordered = new ArrayList<>();
+        Set<String> state = null;
+        Method previous = null;
+        while (!pending.isEmpty()) {
+            Method best = null;
+            int[] bestScore = null;
+            for (int i = 0; i < pending.size(); i++) {
+                Method candidate = pending.get(i);
+                int[] score = {conflicts(candidate, pending) ? 1 : 0, missing(candidate, state), methods.indexOf(candidate)};
+                if (bestScore == null || Arrays.compare(score, bestScore) < 0) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            pending.remove(best);
+            ordered.add(best);
+
+            AppState declared = best.getAnnotation(AppState.class);
+            boolean reused = previous != null && continues(best, state);
+            if (reused) {
+                nextInChain.put(previous, best);
+            }
+            if (declared == null) {
+                state = null;
+            } else {
+                state = new LinkedHashSet<>(reused ? state : initialStates(best.getDeclaringClass()));
+                state.removeAll(Arrays.asList(declared.invalidates()));
+                state.addAll(Arrays.asList(declared.produces()));
+            }
+            previous = best;
+        }
+        return ordered;
+    }
+
+    /**
+     * Se o teste pode continuar a sessão com o estado informado: tem @AppState e todos os requisitos valem
+     */
+    private static boolean continues(Method method, Set<String> state) {
+        AppState declared = method.getAnnotation(AppState.class);
+        return declared != null && state != null && state.containsAll(Arrays.asList(declared.requires()));
+    }
+
+    /**
+     * Pré-condições que o teste teria de recriar, continuando a sessão ou em uma sessão nova
+     */
+    private static int missing(Method method, Set<String> state) {
+        AppState declared = method.getAnnotation(AppState.class);
+        if (declared == null) {
+            return 0;
+        }
+        Set<String> available = continues(method, state) ? state : initialStates(method.getDeclaringClass());
+        return (int) Arrays.stream(declared.requires()).filter(required -> !available.contains(required)).count();
+    }
+
+    /**
+     * Se o teste invalida um estado exigido por outro teste pendente (sem produzi-lo de novo)
+     */
+    private static boolean conflicts(Method method, List<Method> pending) {
+        AppState declared = method.getAnnotation(AppState.class);
+        if (declared == null) {
+            return false;
+        }
+        Set<String> lost = new HashSet<>(Arrays.asList(declared.invalidates()));
+        lost.removeAll(Arrays.asList(declared.produces()));
+        for (Method other : pending) {
+            AppState required = other.getAnnotation(AppState.class);
+            if (other != method && required != null
+                    && Arrays.stream(required.requires()).anyMatch(lost::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> initialStates(Class<?> testClass) {
+        AppState declared = testClass.getAnnotation(AppState.class);
+        return declared != null ? new LinkedHashSet<>(Arrays.asList(declared.produces())) : Collections.emptySet();
+    }
+
+    /**
+     * Próximo teste do plano que continua a sessão deste, ou null
+     */
+    public static Method nextInChain(Method method) {
+        return nextInChain.get(method);
+    }
+
+    /**
+     * Se o teste continua a sessão mantida pelo anterior
+     */
+    static boolean continueSession(Method method) {
+        Method expected = keptFor.get();
+        keptFor.remove();
+        return method.equals(expected) && DriverManager.isDriverActive() && continues(method, states.get());
+    }
+
+    /**
+     * Sessão nova: vale só o estado inicial da classe de teste
+     */
+    static void startSession(Class<?> testClass) {
+        states.get().clear();
+        states.get().addAll(initialStates(testClass));
+    }
+
+    /**
+     * Aplica o estado deixado pelo teste
+     * @return true se a sessão deve ser mantida para o próximo teste da cadeia
+     */
+    static boolean finish(Method method, boolean success) {
+        AppState declared = method.getAnnotation(AppState.class);
+        Method next = nextInChain.get(method);
+        if (!success || declared == null) {
+            states.get().clear();
+            return false;
+        }
+        states.get().removeAll(Arrays.asList(declared.invalidates()));
+        states.get().addAll(Arrays.asList(declared.produces()));
+        if (next == null || !isEnabled()) {
+            return false;
+        }
+        keptFor.set(next);
+        logger.info("Sessão mantida para {} (estados: {})", next.getName(), states.get());
+        return true;
+    }
+
+    /**
+     * Se o estado vale na sessão atual (produzido por um teste anterior da cadeia ou inicial)
+     */
+    public static boolean isAvailable(String state) {
+        return states.get().contains(state);
+    }
+
+    /**
+     * Descarta o plano; testes seguintes usam sessões novas
+     */
+    public static void clearPlan() {
+        nextInChain.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package tests.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Ordena os testes de cada &lt;test&gt; pelo estado do app declarado em @AppState, para que um teste
+ * continue a sessão e o estado deixados pelo anterior em vez de recriar as pré-condições
+ * Registrado como listener nas suítes sequenciais; em suítes paralelas a ordem é mantida
+ */
+public class AppStateInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AppStateInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!AppStateChain.isEnabled() || context.getSuite().getXmlSuite().getParallel().isParallel()) {
+            return methods;
+        }
+        Map<Method, IMethodInstance> byMethod = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            byMethod.put(instance.getMethod().getConstructorOrMethod().getMethod(), instance);
+        }
+        if (byMethod.size() < methods.size()) {
+            // O mesmo método mais de uma vez (data provider, invocationCount): mantém a ordem
+            return methods;
+        }
+
+        List<Method> ordered = AppStateChain.plan(new ArrayList<>(byMethod.keySet()));
+        long chained = ordered.stream().filter(method -> AppStateChain.nextInChain(method) != null).count();
+        logger.info("Ordem por estado do app em '{}': {} ({} sessões reaproveitadas)", context.getName(),
+                ordered.stream().map(Method::getName).collect(Collectors.joining(" -> ")), chained);
+        return ordered.stream().map(byMethod::get).collect(Collectors.toList());
+    }
+}
@@ -1,11 +1,18 @@
 package tests.base;
 
 import driver.DriverManager;
+import utils.CommandMetrics;
 import utils.ConfigManager;
+import utils.ConfigSnapshot;
+import utils.ProbeMetrics;
+import utils.WaitMetrics;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
+
 /**
  * Classe base para todos os testes
  * Gerencia setup e teardown do driver
@@ -16,28 +23,47 @@ public class BaseTest {
     
     @Parameters({"module", "platform"})
     @BeforeMethod
-    public void setUp(@Optional String module, @Optional String platform) {
+    public void setUp(@Optional String module, @Optional String platform, Method method) {
         logger.info("Parâmetros recebidos - module: {}, platform: {}", module, platform);
         
-        // Define a plataforma se fornecida como parâmetro
-        if (platform != null && !platform.trim().isEmpty()) {
-            System.setProperty("platform", platform);
-            logger.info("Plataforma definida via parâmetro: {}", platform);
-        }
-        
-        String currentPlatform = config.getPlatform();
-        logger.info("Iniciando teste para plataforma: {}", currentPlatform);
+        // Plataforma e módulo ficam na sessão de configuração desta thread (sem alterar system properties),
+        // o que permite testes paralelos em plataformas e módulos diferentes
+        ConfigSnapshot session = config.openSession(platform, module);
+        logger.info("Iniciando teste para plataforma: {}", session.getPlatform());
         
-        // Carrega configurações específicas do módulo se fornecido
-        if (module != null && !module.trim().isEmpty()) {
-            config.loadModuleConfig(module);
-            logger.info("Módulo configurado: {}", module);
+        if (session.getModule() != null) {
+            logger.info("Módulo configurado: {}", session.getModule());
         } else {
             logger.info("Nenhum módulo específico configurado, usando apenas configurações globais");
         }
         
+        ProbeMetrics.reset();
+        WaitMetrics.reset();
+        
+        // Continua a sessão do teste anterior quando o plano do AppStateInterceptor encadeou os dois
+        if (AppStateChain.continueSession(method)) {
+            logger.info("Sessão do teste anterior reaproveitada");
+            return;
+        }
+        // Nova tentativa (RetryAnalyzer) com a sessão saudável: só reinicia o app
+        if (RetryAnalyzer.resumeSession(method)) {
+            try {
+                DriverManager.restartApp();
+                AppStateChain.startSession(getClass());
+                logger.info("Nova tentativa na mesma sessão, com o app reiniciado");
+                return;
+            } catch (Exception e) {
+                logger.warn("Não foi possível reiniciar o app; criando sessão nova: {}", e.getMessage());
+                DriverManager.markSessionBroken();
+            }
+        }
+        if (DriverManager.isDriverActive()) {
+            DriverManager.quitDriver();
+        }
+        
         try {
             DriverManager.createDriver();
+            AppStateChain.startSession(getClass());
             logger.info("Driver criado com sucesso");
         } catch (Exception e) {
             logger.error("Erro ao criar driver", e);
@@ -46,12 +72,43 @@ public class BaseTest {
     }
     
     @AfterMethod
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
+        logger.info("Métricas de presença de elementos: {}", ProbeMetrics.current());
+        logger.info("Métricas de esperas explícitas: {}", WaitMetrics.current());
+        
         try {
+            Method method = result.getMethod().getConstructorOrMethod().getMethod();
+            if (AppStateChain.finish(method, result.isSuccess())) {
+                return;
+            }
+            if (RetryAnalyzer.keepsSession(method)) {
+                logger.info("Sessão mantida para a nova tentativa");
+                return;
+            }
             DriverManager.quitDriver();
             logger.info("Driver finalizado com sucesso");
         } catch (Exception e) {
             logger.warn("Erro ao finalizar driver", e);
+        } finally {
+            config.closeSession();
+        }
+    }
+    
+    /**
+     * Se o estado do app vale nesta sessão (deixado por um teste anterior da cadeia, ver @AppState);
+     * quando não vale, o teste recria a pré-condição
+     */
+    protected boolean estadoDisponivel(String estado) {
+        return AppStateChain.isAvailable(estado);
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void encerrarSessoes() {
+        if (DriverManager.isDriverActive()) {
+            DriverManager.quitDriver();
         }
+        DriverManager.shutdownSessionPool();
+        logger.info("Pool de sessões encerrado");
+        CommandMetrics.writeReport();
     }
 }
@@ -0,0 +1,28 @@
+package tests.base;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import utils.FailureArtifacts;
+
+/**
+ * Captura os artefatos de falha (FailureArtifacts) logo após o método de teste falhar,
+ * antes do @AfterMethod finalizar a sessão; a gravação em disco fica em segundo plano
+ * No fim da suíte, aguarda as gravações pendentes
+ */
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod() && result.getStatus() == ITestResult.FAILURE) {
+            FailureArtifacts.capture(result.getTestClass().getRealClass().getSimpleName() + "." + result.getName());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.drain();
+    }
+}
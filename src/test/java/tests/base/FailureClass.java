@@ -0,0 +1,80 @@
+package tests.base;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import utils.ConfigManager;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Classe de uma falha de teste, usada pelo RetryAnalyzer para decidir se vale uma nova tentativa
+ */
+public enum FailureClass {
+    /**
+     * Sessão ou servidor fora do ar: sessão inexistente, UiAutomator2/WDA caído, conexão recusada ou sem resposta
+     */
+    INFRASTRUCTURE,
+    /**
+     * Espera esgotada com a sessão saudável (elemento ou condição que não apareceu a tempo)
+     */
+    TIMEOUT,
+    /**
+     * Verificação do teste ou erro do próprio teste
+     */
+    ASSERTION;
+
+    // Mensagens do Appium quando o servidor de automação do dispositivo caiu
+    private static final String[] INFRASTRUCTURE_MESSAGES = {
+            "instrumentation process is not running", "uiautomator2 server", "socket hang up",
+            "could not proxy command", "econnrefused", "econnreset"
+    };
+
+    /**
+     * Classifica a falha pelo tipo da exceção (e suas causas) e pela saúde da sessão:
+     * com a sessão quebrada, qualquer falha é de infraestrutura
+     */
+    public static FailureClass classify(Throwable error, boolean sessionHealthy) {
+        if (!sessionHealthy) {
+            return INFRASTRUCTURE;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (isInfrastructure(cause)) {
+                return INFRASTRUCTURE;
+            }
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof NoSuchElementException) {
+                return TIMEOUT;
+            }
+        }
+        return ASSERTION;
+    }
+
+    private static boolean isInfrastructure(Throwable error) {
+        if (error instanceof NoSuchSessionException || error instanceof SessionNotCreatedException
+                || error instanceof UnreachableBrowserException || error instanceof ConnectException
+                || error instanceof SocketTimeoutException || error instanceof HttpTimeoutException) {
+            return true;
+        }
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        return Arrays.stream(INFRASTRUCTURE_MESSAGES).anyMatch(message::contains);
+    }
+
+    /**
+     * Se falhas desta classe são repetidas (retry.classes; ASSERTION nunca é)
+     */
+    public boolean isRetryable() {
+        if (this == ASSERTION) {
+            return false;
+        }
+        String classes = ConfigManager.getInstance().getProperty("retry.classes", "INFRASTRUCTURE,TIMEOUT");
+        return Arrays.stream(classes.split(",")).map(String::trim).anyMatch(name()::equalsIgnoreCase);
+    }
+}
@@ -0,0 +1,77 @@
+package tests.base;
+
+import driver.DriverManager;
+import driver.SessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import utils.ConfigManager;
+
+import java.lang.reflect.Method;
+
+/**
+ * Repete testes que falharam por infraestrutura ou timeout (ver FailureClass), até max.retry.attempts vezes
+ * Com a sessão saudável, a nova tentativa roda nela com o app reiniciado; com a sessão quebrada,
+ * a sessão é descartada (inclusive do pool) e a nova tentativa cria outra
+ * Associado a todos os testes pelo RetryListener
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(RetryAnalyzer.class);
+    // teste que vai continuar a sessão da tentativa anterior
+    private static final SessionContext.Slot<Method> keptFor = SessionContext.Slot.create();
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        ConfigManager config = ConfigManager.getInstance();
+        boolean healthy = DriverManager.isSessionHealthy();
+        FailureClass failureClass = FailureClass.classify(result.getThrowable(), healthy);
+        RetryStats.failed(failureClass);
+        if (!failureClass.isRetryable() || attempts >= config.getIntProperty("max.retry.attempts", 0)) {
+            logger.info("{} falhou ({}), sem nova tentativa", result.getName(), failureClass);
+            return false;
+        }
+        attempts++;
+
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        if (healthy) {
+            keptFor.set(method);
+        } else {
+            DriverManager.markSessionBroken();
+        }
+        logger.info("{} falhou ({}): nova tentativa {} em {}", result.getName(), failureClass, attempts,
+                healthy ? "a mesma sessão" : "uma sessão nova");
+        RetryStats.retrying(failureClass);
+        sleep(config.getIntProperty("retry.delay.seconds", 0) * 1000L);
+        return true;
+    }
+
+    /**
+     * Se a sessão deve ser mantida para a nova tentativa do teste (consultado no tearDown)
+     */
+    static boolean keepsSession(Method method) {
+        return method.equals(keptFor.get()) && DriverManager.isDriverActive();
+    }
+
+    /**
+     * Se a nova tentativa continua a sessão da anterior (consultado no setUp)
+     */
+    static boolean resumeSession(Method method) {
+        Method expected = keptFor.get();
+        keptFor.remove();
+        return method.equals(expected) && DriverManager.isDriverActive();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package tests.base;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Associa o RetryAnalyzer aos testes que não declaram outro, mede as novas tentativas
+ * e grava o relatório por classe de falha no fim da suíte
+ */
+public class RetryListener implements IAnnotationTransformer, IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == org.testng.internal.annotations.DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            RetryStats.finishRetry(result.isSuccess());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        RetryStats.writeReport();
+    }
+}
@@ -0,0 +1,153 @@
+package tests.base;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contagem de falhas e novas tentativas por classe de falha, e o tempo gasto nas novas tentativas
+ * (da decisão de repetir até o fim da nova execução, incluindo espera e criação de sessão)
+ */
+public final class RetryStats {
+    private static final Logger logger = LoggerFactory.getLogger(RetryStats.class);
+
+    /**
+     * Números de uma classe de falha
+     */
+    public static final class Counters {
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+        private final AtomicInteger recovered = new AtomicInteger();
+        private final AtomicLong retryNanos = new AtomicLong();
+
+        public int getFailures() {
+            return failures.get();
+        }
+
+        public int getRetries() {
+            return retries.get();
+        }
+
+        /**
+         * Novas tentativas que passaram
+         */
+        public int getRecovered() {
+            return recovered.get();
+        }
+
+        public long getRetryMillis() {
+            return retryNanos.get() / 1_000_000;
+        }
+    }
+
+    /**
+     * Nova tentativa em andamento na thread
+     */
+    private static final class Pending {
+        final FailureClass failureClass;
+        final long start;
+
+        Pending(FailureClass failureClass, long start) {
+            this.failureClass = failureClass;
+            this.start = start;
+        }
+    }
+
+    private static final Map<FailureClass, Counters> counters = new EnumMap<>(FailureClass.class);
+    private static final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+    static {
+        for (FailureClass failureClass : FailureClass.values()) {
+            counters.put(failureClass, new Counters());
+        }
+    }
+
+    private RetryStats() {
+    }
+
+    static void failed(FailureClass failureClass) {
+        counters.get(failureClass).failures.incrementAndGet();
+    }
+
+    /**
+     * Nova tentativa decidida: o tempo conta a partir daqui
+     */
+    static void retrying(FailureClass failureClass) {
+        finishRetry(false);
+        counters.get(failureClass).retries.incrementAndGet();
+        pending.set(new Pending(failureClass, System.nanoTime()));
+    }
+
+    /**
+     * Fim da execução de um teste; se era uma nova tentativa, soma o tempo e o resultado
+     */
+    static void finishRetry(boolean success) {
+        Pending current = pending.get();
+        if (current == null) {
+            return;
+        }
+        pending.remove();
+        Counters target = counters.get(current.failureClass);
+        target.retryNanos.addAndGet(System.nanoTime() - current.start);
+        if (success) {
+            target.recovered.incrementAndGet();
+        }
+    }
+
+    public static Counters get(FailureClass failureClass) {
+        return counters.get(failureClass);
+    }
+
+    public static void reset() {
+        for (FailureClass failureClass : FailureClass.values()) {
+            counters.put(failureClass, new Counters());
+        }
+    }
+
+    /**
+     * Registra o resumo no log e grava retry-report.json no report.path
+     */
+    public static void writeReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        int total = 0;
+        for (FailureClass failureClass : FailureClass.values()) {
+            Counters current = counters.get(failureClass);
+            total += current.getFailures();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("falhas", current.getFailures());
+            summary.put("novasTentativas", current.getRetries());
+            summary.put("recuperadas", current.getRecovered());
+            summary.put("tempoEmNovasTentativasMs", current.getRetryMillis());
+            report.put(failureClass.name(), summary);
+            if (current.getFailures() > 0) {
+                logger.info("Falhas {}: {} ({} novas tentativas, {} recuperadas, {} ms em novas tentativas)",
+                        failureClass, current.getFailures(), current.getRetries(), current.getRecovered(),
+                        current.getRetryMillis());
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+        Path directory = Paths.get(ConfigManager.getInstance().getProperty("report.path", "target/reports"));
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("retry-report.json"), List.of(new Json().toJson(report)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Não foi possível gravar o relatório de novas tentativas: {}", e.getMessage());
+        }
+        reset();
+    }
+}
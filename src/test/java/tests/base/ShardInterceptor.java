@@ -0,0 +1,56 @@
+package tests.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.ConfigManager;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém só os testes do shard desta JVM (-Dshard=i/N), conforme o ShardPlanner
+ * Registrado antes do AppStateInterceptor, que ordena o que sobrar; sem -Dshard, não altera nada
+ * Usa as durações do TimingStore e, para os testes que não estão nele, as dos testng-results*.xml
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ShardInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigManager config = ConfigManager.getInstance();
+        String spec = config.getProperty("shard", "");
+        if (spec.isBlank()) {
+            return methods;
+        }
+        ShardPlanner.Shard shard = ShardPlanner.Shard.parse(spec);
+
+        Set<String> tests = new LinkedHashSet<>();
+        for (IMethodInstance instance : methods) {
+            tests.add(idOf(instance.getMethod()));
+        }
+        // Durações do TimingStore prevalecem sobre as dos testng-results*.xml
+        Map<String, Long> history = ShardPlanner.loadHistory(Paths.get(config.getProperty("shard.history.dir", "test-history")));
+        String platform = context.getCurrentXmlTest().getParameter("platform");
+        history.putAll(TimingStore.estimates(platform != null ? platform : config.getPlatform()));
+        List<String> selected = ShardPlanner.plan(new ArrayList<>(tests), history, shard.getTotal())
+                .get(shard.getIndex() - 1);
+
+        logger.info("Shard {} de '{}': {} de {} testes ({} com histórico de duração): {}", shard, context.getName(),
+                selected.size(), tests.size(), tests.stream().filter(history::containsKey).count(), selected);
+        Set<String> keep = Set.copyOf(selected);
+        return methods.stream().filter(instance -> keep.contains(idOf(instance.getMethod()))).collect(Collectors.toList());
+    }
+
+    private static String idOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+}
@@ -0,0 +1,184 @@
+package tests.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Divide os testes em N shards equilibrados pela duração de execuções anteriores
+ * (maior duração primeiro, cada teste no shard menos carregado), para rodar uma suíte em várias JVMs/máquinas
+ * com -Dshard=i/N. Sem histórico, divide em rodízio. Todas as JVMs calculam o mesmo plano
+ */
+public final class ShardPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlanner.class);
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Shard desta JVM: índice (1 a total) e total de shards
+     */
+    public static final class Shard {
+        private final int index;
+        private final int total;
+
+        Shard(int index, int total) {
+            this.index = index;
+            this.total = total;
+        }
+
+        /**
+         * Interpreta "i/N" (ex: 2/4); índices começam em 1
+         */
+        public static Shard parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            try {
+                if (parts.length == 2) {
+                    int index = Integer.parseInt(parts[0].trim());
+                    int total = Integer.parseInt(parts[1].trim());
+                    if (total > 0 && index >= 1 && index <= total) {
+                        return new Shard(index, total);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // cai na mensagem abaixo
+            }
+            throw new IllegalArgumentException("Shard inválido (use i/N, com 1 <= i <= N): " + spec);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + total;
+        }
+    }
+
+    /**
+     * Distribui os testes nos shards
+     * Com histórico, ordena pela duração (maior primeiro) e coloca cada teste no shard de menor carga;
+     * testes sem histórico recebem a mediana dos conhecidos. Sem nenhum histórico, usa rodízio
+     * @param tests     Identificadores dos testes (Classe.metodo), na ordem da suíte
+     * @param durations Duração anterior de cada teste em ms
+     * @return Testes de cada shard, na ordem original da suíte
+     */
+    public static List<List<String>> plan(List<String> tests, Map<String, Long> durations, int shards) {
+        List<List<String>> plan = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            plan.add(new ArrayList<>());
+        }
+        boolean known = tests.stream().anyMatch(durations::containsKey);
+        if (!known) {
+            for (int i = 0; i < tests.size(); i++) {
+                plan.get(i % shards).add(tests.get(i));
+            }
+            return plan;
+        }
+
+        long fallback = median(tests.stream().filter(durations::containsKey).map(durations::get).collect(Collectors.toList()));
+        List<String> longestFirst = new ArrayList<>(tests);
+        longestFirst.sort(Comparator.comparingLong((String test) -> durations.getOrDefault(test, fallback)).reversed()
+                .thenComparingInt(tests::indexOf));
+        long[] load = new long[shards];
+        Map<String, Integer> assigned = new HashMap<>();
+        for (String test : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            load[lightest] += durations.getOrDefault(test, fallback);
+            assigned.put(test, lightest);
+        }
+        for (String test : tests) {
+            plan.get(assigned.get(test)).add(test);
+        }
+        logger.info("Carga estimada por shard (ms): {}", Arrays.toString(load));
+        return plan;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().collect(Collectors.toList());
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Durações por teste lidas dos testng-results*.xml do diretório (os mais recentes prevalecem)
+     * A duração de cada teste inclui os métodos de configuração que rodaram antes dele (ex: setUp com a sessão)
+     */
+    public static Map<String, Long> loadHistory(Path directory) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return durations;
+        }
+        List<File> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.map(Path::toFile)
+                    .filter(file -> file.getName().startsWith("testng-results") && file.getName().endsWith(".xml"))
+                    .sorted(Comparator.comparingLong(File::lastModified))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            logger.warn("Não foi possível listar o histórico de durações em {}: {}", directory, e.getMessage());
+            return durations;
+        }
+        for (File file : files) {
+            try {
+                durations.putAll(parseResults(file));
+            } catch (Exception e) {
+                logger.warn("Histórico de durações ignorado ({}): {}", file, e.getMessage());
+            }
+        }
+        return durations;
+    }
+
+    private static Map<String, Long> parseResults(File file) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        Document document = factory.newDocumentBuilder().parse(file);
+
+        Map<String, Long> durations = new LinkedHashMap<>();
+        NodeList classes = document.getElementsByTagName("class");
+        for (int c = 0; c < classes.getLength(); c++) {
+            Element testClass = (Element) classes.item(c);
+            NodeList methods = testClass.getElementsByTagName("test-method");
+            long configuration = 0;
+            for (int m = 0; m < methods.getLength(); m++) {
+                Element method = (Element) methods.item(m);
+                long duration = Long.parseLong(method.getAttribute("duration-ms"));
+                if ("true".equals(method.getAttribute("is-config"))) {
+                    configuration += duration;
+                    continue;
+                }
+                String test = testClass.getAttribute("name") + "." + method.getAttribute("name");
+                durations.merge(test, duration + configuration, Long::sum);
+                configuration = 0;
+            }
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,49 @@
+package tests.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Em suítes paralelas, começa pelos testes mais lentos segundo o TimingStore, para que os rápidos preencham
+ * o fim da execução e nenhuma thread fique sozinha com um teste longo
+ * Nas suítes sequenciais a ordem total não muda o tempo, e o AppStateInterceptor decide a ordem
+ */
+public class SlowestFirstInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(SlowestFirstInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!context.getSuite().getXmlSuite().getParallel().isParallel()) {
+            return methods;
+        }
+        Map<String, List<IMethodInstance>> byTest = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            byTest.computeIfAbsent(idOf(instance.getMethod()), test -> new ArrayList<>()).add(instance);
+        }
+        String platform = context.getCurrentXmlTest().getParameter("platform");
+        Map<String, Long> estimates = TimingStore.estimates(
+                platform != null ? platform : ConfigManager.getInstance().getPlatform());
+        List<String> ordered = TimingStore.slowestFirst(new ArrayList<>(byTest.keySet()), estimates);
+
+        logger.info("Mais lentos primeiro em '{}': {}", context.getName(), ordered.stream()
+                .map(test -> test.substring(test.lastIndexOf('.') + 1)
+                        + (estimates.containsKey(test) ? " (" + estimates.get(test) + " ms)" : " (sem histórico)"))
+                .collect(Collectors.joining(", ")));
+        return ordered.stream().flatMap(test -> byTest.get(test).stream()).collect(Collectors.toList());
+    }
+
+    private static String idOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+}
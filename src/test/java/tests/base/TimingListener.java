@@ -0,0 +1,53 @@
+package tests.base;
+
+import driver.DriverManager;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import utils.ConfigManager;
+
+/**
+ * Grava no TimingStore a duração de cada teste, com o tempo do @BeforeMethod que o precedeu,
+ * a plataforma e o dispositivo da sessão; compacta o histórico no fim da suíte
+ * Cada tentativa do RetryAnalyzer é uma execução, com o próprio resultado
+ */
+public class TimingListener implements IInvokedMethodListener, ISuiteListener {
+    private static final ThreadLocal<Long> setupMillis = ThreadLocal.withInitial(() -> 0L);
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        long elapsed = result.getEndMillis() - result.getStartMillis();
+        if (method.isConfigurationMethod() && method.getTestMethod().isBeforeMethodConfiguration()) {
+            setupMillis.set(setupMillis.get() + elapsed);
+            return;
+        }
+        if (!method.isTestMethod()) {
+            return;
+        }
+        long setup = setupMillis.get();
+        setupMillis.remove();
+        String device = DriverManager.getCurrentDevice();
+        TimingStore.record(new TimingStore.Sample(
+                result.getTestClass().getRealClass().getName() + "." + result.getMethod().getMethodName(),
+                ConfigManager.getInstance().getPlatform(), device != null ? device : "-", elapsed, setup,
+                outcome(result), System.currentTimeMillis()));
+    }
+
+    private static String outcome(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            default:
+                return "SKIP";
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TimingStore.compact();
+    }
+}
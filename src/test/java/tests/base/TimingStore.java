@@ -0,0 +1,248 @@
+package tests.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico de duração dos testes: um registro por execução (teste, plataforma, dispositivo, duração,
+ * tempo de setup e resultado), acrescentado a um arquivo TSV em timing.store.path
+ * A compactação mantém só as últimas timing.store.samples amostras de cada teste/plataforma/dispositivo
+ */
+public final class TimingStore {
+    private static final Logger logger = LoggerFactory.getLogger(TimingStore.class);
+    private static final Object lock = new Object();
+
+    private TimingStore() {
+    }
+
+    /**
+     * Uma execução de um teste
+     */
+    public static final class Sample {
+        private final String test;
+        private final String platform;
+        private final String device;
+        private final long durationMs;
+        private final long setupMs;
+        private final String outcome;
+        private final long timestamp;
+
+        public Sample(String test, String platform, String device, long durationMs, long setupMs, String outcome,
+                      long timestamp) {
+            this.test = test;
+            this.platform = platform;
+            this.device = device;
+            this.durationMs = durationMs;
+            this.setupMs = setupMs;
+            this.outcome = outcome;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * Identificador Classe.metodo
+         */
+        public String getTest() {
+            return test;
+        }
+
+        public String getPlatform() {
+            return platform;
+        }
+
+        public String getDevice() {
+            return device;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        /**
+         * Tempo do @BeforeMethod que precedeu o teste (ex: criação da sessão)
+         */
+        public long getSetupMs() {
+            return setupMs;
+        }
+
+        /**
+         * PASS, FAIL ou SKIP
+         */
+        public String getOutcome() {
+            return outcome;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        String key() {
+            return test + '\t' + platform + '\t' + device;
+        }
+
+        String toLine() {
+            return String.join("\t", test, platform, device, String.valueOf(durationMs), String.valueOf(setupMs),
+                    outcome, String.valueOf(timestamp));
+        }
+
+        static Sample parse(String line) {
+            String[] fields = line.split("\t");
+            if (fields.length != 7) {
+                throw new IllegalArgumentException("Registro inválido: " + line);
+            }
+            return new Sample(fields[0], fields[1], fields[2], Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+                    fields[5], Long.parseLong(fields[6]));
+        }
+    }
+
+    private static Path path() {
+        return Paths.get(ConfigManager.getInstance().getProperty("timing.store.path", "target/test-timings.tsv"));
+    }
+
+    private static int samplesKept() {
+        return Math.max(1, ConfigManager.getInstance().getIntProperty("timing.store.samples", 10));
+    }
+
+    /**
+     * Acrescenta uma execução ao histórico
+     */
+    public static void record(Sample sample) {
+        Path file = path();
+        synchronized (lock) {
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.writeString(file, sample.toLine() + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.warn("Não foi possível gravar a duração de {}: {}", sample.getTest(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Todas as execuções do histórico, da mais antiga para a mais recente; linhas inválidas são ignoradas
+     */
+    public static List<Sample> load() {
+        Path file = path();
+        List<Sample> samples = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return samples;
+        }
+        List<String> lines;
+        synchronized (lock) {
+            try {
+                lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.warn("Não foi possível ler o histórico de durações {}: {}", file, e.getMessage());
+                return samples;
+            }
+        }
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                samples.add(Sample.parse(line));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Registro de duração ignorado: {}", line);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Reescreve o histórico só com as últimas timing.store.samples execuções de cada teste/plataforma/dispositivo
+     */
+    public static void compact() {
+        Path file = path();
+        int kept = samplesKept();
+        synchronized (lock) {
+            List<Sample> samples = load();
+            Map<String, Deque<Sample>> latest = new LinkedHashMap<>();
+            for (Sample sample : samples) {
+                Deque<Sample> window = latest.computeIfAbsent(sample.key(), key -> new ArrayDeque<>());
+                window.addLast(sample);
+                if (window.size() > kept) {
+                    window.removeFirst();
+                }
+            }
+            List<String> lines = latest.values().stream().flatMap(Deque::stream)
+                    .sorted(Comparator.comparingLong(Sample::getTimestamp))
+                    .map(Sample::toLine)
+                    .collect(Collectors.toList());
+            if (lines.size() == samples.size()) {
+                return;
+            }
+            try {
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temporary, lines, StandardCharsets.UTF_8);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("Histórico de durações compactado: {} de {} registros mantidos", lines.size(), samples.size());
+            } catch (IOException e) {
+                logger.warn("Não foi possível compactar o histórico de durações {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Duração estimada de cada teste na plataforma (mediana de setup + duração das últimas execuções,
+     * em qualquer dispositivo); execuções puladas não contam
+     */
+    public static Map<String, Long> estimates(String platform) {
+        int kept = samplesKept();
+        Map<String, Deque<Long>> totals = new HashMap<>();
+        for (Sample sample : load()) {
+            if ("SKIP".equals(sample.getOutcome())
+                    || (platform != null && !platform.equalsIgnoreCase(sample.getPlatform()))) {
+                continue;
+            }
+            Deque<Long> window = totals.computeIfAbsent(sample.getTest(), test -> new ArrayDeque<>());
+            window.addLast(sample.getSetupMs() + sample.getDurationMs());
+            if (window.size() > kept) {
+                window.removeFirst();
+            }
+        }
+        Map<String, Long> estimates = new HashMap<>();
+        totals.forEach((test, window) -> estimates.put(test, median(new ArrayList<>(window))));
+        return estimates;
+    }
+
+    /**
+     * Ordena os testes do mais lento para o mais rápido; testes sem histórico contam com a mediana
+     * dos conhecidos e os empates mantêm a ordem da suíte
+     */
+    public static List<String> slowestFirst(List<String> tests, Map<String, Long> estimates) {
+        List<Long> known = tests.stream().filter(estimates::containsKey).map(estimates::get).collect(Collectors.toList());
+        if (known.isEmpty()) {
+            return new ArrayList<>(tests);
+        }
+        long fallback = median(known);
+        List<String> ordered = new ArrayList<>(tests);
+        ordered.sort(Comparator.comparingLong((String test) -> estimates.getOrDefault(test, fallback)).reversed());
+        return ordered;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().collect(Collectors.toList());
+        return sorted.get(sorted.size() / 2);
+    }
+}
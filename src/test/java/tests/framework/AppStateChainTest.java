@@ -0,0 +1,92 @@
+package tests.framework;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.base.AppState;
+import tests.base.AppStateChain;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Testes do plano de encadeamento por estado do app (@AppState)
+ */
+public class AppStateChainTest {
+
+    /**
+     * Testes de mentira, só com as declarações de estado
+     */
+    @AppState(produces = "principal")
+    static class Fluxo {
+        @AppState(requires = {"principal", "contato"}, invalidates = "contato")
+        public void excluir() {
+        }
+
+        @AppState(requires = "principal", produces = "contato")
+        public void adicionar() {
+        }
+
+        @AppState(requires = {"principal", "contato"}, invalidates = "principal")
+        public void pesquisar() {
+        }
+
+        @AppState(requires = {"principal", "contato"})
+        public void editar() {
+        }
+
+        @AppState(requires = "principal")
+        public void cancelar() {
+        }
+
+        public void semEstado() {
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void limparPlano() {
+        AppStateChain.clearPlan();
+    }
+
+    private static List<Method> metodos(String... nomes) throws NoSuchMethodException {
+        Method[] metodos = new Method[nomes.length];
+        for (int i = 0; i < nomes.length; i++) {
+            metodos[i] = Fluxo.class.getMethod(nomes[i]);
+        }
+        return Arrays.asList(metodos);
+    }
+
+    private static String nomes(List<Method> metodos) {
+        return metodos.stream().map(Method::getName).collect(Collectors.joining(","));
+    }
+
+    @Test(description = "Quem produz o estado roda antes de quem o consome, e a exclusão fica por último")
+    public void testeOrdemPorEstado() throws Exception {
+        List<Method> ordem = AppStateChain.plan(metodos("excluir", "editar", "adicionar"));
+
+        Assert.assertEquals(nomes(ordem), "adicionar,editar,excluir");
+        Assert.assertEquals(AppStateChain.nextInChain(Fluxo.class.getMethod("adicionar")), Fluxo.class.getMethod("editar"));
+        Assert.assertEquals(AppStateChain.nextInChain(Fluxo.class.getMethod("editar")), Fluxo.class.getMethod("excluir"));
+        Assert.assertNull(AppStateChain.nextInChain(Fluxo.class.getMethod("excluir")));
+    }
+
+    @Test(description = "Teste que invalida um estado ainda exigido é adiado; depois dele a cadeia quebra")
+    public void testeInvalidacaoAdiada() throws Exception {
+        List<Method> ordem = AppStateChain.plan(metodos("pesquisar", "adicionar", "cancelar", "editar"));
+
+        Assert.assertEquals(nomes(ordem), "adicionar,cancelar,editar,pesquisar");
+        Assert.assertNotNull(AppStateChain.nextInChain(Fluxo.class.getMethod("editar")));
+        Assert.assertNull(AppStateChain.nextInChain(Fluxo.class.getMethod("pesquisar")));
+    }
+
+    @Test(description = "Teste sem @AppState não continua nem deixa sessão para o próximo")
+    public void testeSemEstadoQuebraCadeia() throws Exception {
+        List<Method> ordem = AppStateChain.plan(metodos("adicionar", "semEstado", "cancelar"));
+
+        Assert.assertEquals(nomes(ordem), "adicionar,semEstado,cancelar");
+        Assert.assertNull(AppStateChain.nextInChain(Fluxo.class.getMethod("adicionar")));
+        Assert.assertNull(AppStateChain.nextInChain(Fluxo.class.getMethod("semEstado")));
+    }
+}
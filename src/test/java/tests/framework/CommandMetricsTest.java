@@ -0,0 +1,117 @@
+package tests.framework;
+
+import driver.DriverManager;
+import driver.SessionContext;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import pages.android.ContatosMainPageAndroid;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.CommandMetrics;
+import utils.LatencyHistogram;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Testes da medição de latência por comando Appium
+ */
+public class CommandMetricsTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withApp(ReplayApp.load("contatos", "android"))
+                .withLatency("getPageSource", 20);
+        fixture = StubFixture.of(stub, "android")
+                .property("explicit.wait", "1")
+                .property("locator.compiler.enabled", "true")
+                .createDriver();
+        CommandMetrics.reset();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+        CommandMetrics.reset();
+    }
+
+    @Test(description = "Percentis do histograma ficam dentro de 1% do valor exato")
+    public void testePercentisDoHistograma() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        Assert.assertEquals(histogram.getTotalCount(), 100_000);
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 50_000, 500);
+        Assert.assertEquals(histogram.getValueAtPercentile(95), 95_000, 950);
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 99_000, 990);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 100_000);
+        Assert.assertEquals(histogram.getMean(), 50_000.5, 0.001);
+
+        LatencyHistogram outraThread = new LatencyHistogram();
+        outraThread.record(5_000_000);
+        histogram.add(outraThread);
+        Assert.assertEquals(histogram.getTotalCount(), 100_001);
+        Assert.assertEquals(histogram.getMax(), 5_000_000);
+    }
+
+    @Test(description = "Cada comando é registrado com estratégia de busca e método de página")
+    public void testeComandosPorMetodoDePagina() throws Exception {
+        ContatosMainPageAndroid pagina = new ContatosMainPageAndroid();
+        Assert.assertTrue(pagina.contatoExiste("Ana Souza"));
+
+        Map<String, LatencyHistogram> porComando = CommandMetrics.mergedByCommand();
+        Map<String, LatencyHistogram> porMetodo = CommandMetrics.mergedByPageMethod();
+        Assert.assertTrue(porComando.containsKey("findElements [-android uiautomator]")
+                || porComando.containsKey("findElement [-android uiautomator]"), porComando.keySet().toString());
+        Assert.assertTrue(porMetodo.containsKey("ContatosMainPageAndroid.contatoExiste"), porMetodo.keySet().toString());
+        Assert.assertTrue(porMetodo.containsKey("ContatosMainPageAndroid.load"), porMetodo.keySet().toString());
+        Assert.assertTrue(porComando.get("getPageSource").getValueAtPercentile(50) >= 20_000,
+                "Latência do page source deveria incluir os 20 ms do stub");
+
+        Path diretorio = Files.createTempDirectory("command-latency");
+        CommandMetrics.writeReport(diretorio);
+
+        String csv = new String(Files.readAllBytes(diretorio.resolve("command-latency.csv")), StandardCharsets.UTF_8);
+        Assert.assertTrue(csv.startsWith("grupo,chave,amostras,p50_ms,p95_ms,p99_ms,max_ms,media_ms"));
+        Assert.assertTrue(csv.contains("metodo,\"ContatosMainPageAndroid.contatoExiste\","));
+        Map<String, List<Map<String, Object>>> json = new Json().toType(
+                new String(Files.readAllBytes(diretorio.resolve("command-latency.json")), StandardCharsets.UTF_8),
+                new TypeToken<Map<String, Object>>() {}.getType());
+        Assert.assertFalse(json.get("porComando").isEmpty());
+        Assert.assertTrue(CommandMetrics.mergedByCommand().isEmpty(), "Relatório gravado zera as métricas");
+    }
+
+    @Test(description = "Sessão encerrada é somada ao agregado da suíte e sai da lista de sessões abertas")
+    public void testeSessaoEncerradaVaiParaOAgregado() throws Exception {
+        // Segundo dispositivo: o driver da classe continua com o primeiro
+        fixture.property("devices.android", "stub-1,stub-2");
+        int abertas = CommandMetrics.openSessionCount();
+        SessionContext sessao = new SessionContext("métricas");
+        sessao.call(() -> {
+            DriverManager.createDriver();
+            try {
+                DriverManager.getDriver().getPageSource();
+            } finally {
+                DriverManager.quitDriver();
+            }
+            return null;
+        });
+
+        Assert.assertEquals(CommandMetrics.openSessionCount(), abertas, "Métricas da sessão encerrada continuam retidas");
+        Assert.assertTrue(CommandMetrics.mergedByCommand().containsKey("getPageSource"),
+                CommandMetrics.mergedByCommand().keySet().toString());
+    }
+}
@@ -0,0 +1,92 @@
+package tests.framework;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+
+/**
+ * Testes das condições compostas (qualquer/todos) avaliadas em um único ciclo de polling
+ */
+public class CompositeConditionTest {
+    private static final String LISTA_ANDROID =
+            "<hierarchy rotation=\"0\">"
+            + "<android.widget.TextView text=\"Contatos\" resource-id=\"com.android.contacts:id/toolbar_title\"/>"
+            + "<android.widget.TextView text=\"Fábio Fernandes\" resource-id=\"com.android.contacts:id/cliv_name_textview\"/>"
+            + "<android.widget.ImageButton content-desc=\"Criar contato\"/>"
+            + "</hierarchy>";
+
+    private final By titulo = By.id("com.android.contacts:id/toolbar_title");
+    private final By adicionar = AppiumBy.accessibilityId("Criar contato");
+    private final By nomeExato = By.xpath("//android.widget.TextView[@text='Fábio Fernandes']");
+    private final By nomeParcial = By.xpath("//android.widget.TextView[contains(@text, 'Fábio')]");
+    private final By listaVazia = By.id("com.android.contacts:id/empty_list");
+    private final By semTraducao = AppiumBy.androidUIAutomator("new UiSelector().text(\"Contatos\")");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withPageSource(LISTA_ANDROID)
+                .withElement(semTraducao);
+        fixture = StubFixture.of(stub, "android").createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @BeforeMethod
+    public void limparSnapshot() {
+        ElementUtils.invalidateSnapshot();
+    }
+
+    @Test(description = "Retorna o primeiro candidato presente na ordem de prioridade")
+    public void testePrioridade() {
+        int antes = stub.count("getPageSource");
+
+        Assert.assertEquals(ElementUtils.waitForAny(2, listaVazia, nomeExato, nomeParcial), nomeExato);
+        Assert.assertEquals(ElementUtils.firstPresent(nomeParcial, nomeExato), nomeParcial);
+        Assert.assertEquals(stub.count("getPageSource") - antes, 2,
+                "cada chamada deve avaliar todos os candidatos sobre um único page source");
+    }
+
+    @Test(description = "Todos presentes na mesma tela")
+    public void testeTodos() {
+        Assert.assertTrue(ElementUtils.waitForAll(2, titulo, adicionar, nomeExato));
+        Assert.assertFalse(ElementUtils.waitForAll(0, titulo, listaVazia));
+    }
+
+    @Test(description = "Pior caso é um timeout, e não a soma dos timeouts dos candidatos")
+    public void testePiorCasoUmTimeout() {
+        By[] ausentes = {
+            By.id("com.android.contacts:id/a"),
+            By.id("com.android.contacts:id/b"),
+            By.id("com.android.contacts:id/c")
+        };
+
+        long inicio = System.nanoTime();
+        By encontrado = ElementUtils.waitForAny(1, ausentes);
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        Assert.assertNull(encontrado);
+        Assert.assertTrue(decorridoMs >= 1000 && decorridoMs < 2000, "tempo decorrido: " + decorridoMs + " ms");
+    }
+
+    @Test(description = "Locators sem tradução para o snapshot consultam o dispositivo a cada ciclo")
+    public void testeSemTraducao() {
+        int antes = stub.count("findElements");
+
+        Assert.assertEquals(ElementUtils.firstPresent(listaVazia, semTraducao), semTraducao);
+        Assert.assertEquals(stub.count("findElements") - antes, 2);
+    }
+}
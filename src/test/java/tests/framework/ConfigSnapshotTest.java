@@ -0,0 +1,125 @@
+package tests.framework;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.stub.SystemProperties;
+import utils.ConfigManager;
+import utils.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Testes das sessões de configuração imutáveis por thread
+ */
+public class ConfigSnapshotTest {
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final SystemProperties properties = new SystemProperties();
+
+    @AfterMethod(alwaysRun = true)
+    public void fecharSessao() {
+        config.closeSession();
+        properties.restore();
+    }
+
+    @Test(description = "Camadas em ordem: global, módulo, plataforma e system properties")
+    public void testePrecedenciaDasCamadas() {
+        properties.set("contacts.search.timeout", "7");
+        ConfigSnapshot sessao = config.openSession("ios", "contatos");
+
+        Assert.assertEquals(sessao.get("report.path"), "target/reports", "Global");
+        Assert.assertEquals(sessao.get("test.contact.phone"), "119999999", "Módulo");
+        Assert.assertEquals(sessao.get("bundle.id"), "com.apple.MobileAddressBook", "Chave da plataforma sem sufixo");
+        Assert.assertEquals(sessao.get("automation.name"), "XCUITest");
+        Assert.assertEquals(sessao.getInt("contacts.search.timeout", 0), 7, "System property sobrescreve o módulo");
+        Assert.assertNull(sessao.get("app.package"), "Chaves de outra plataforma não viram chave sem sufixo");
+        Assert.assertEquals(config.getPlatform(), "ios");
+        Assert.assertEquals(config.getCurrentModule(), "contatos");
+    }
+
+    @Test(description = "System properties só sobrescrevem chaves declaradas nos arquivos de configuração")
+    public void testeSystemPropertiesSoParaChavesConhecidas() {
+        properties.set("chave.nao.declarada", "x")
+                .set("bundle.id.ios", "com.exemplo.Contatos");
+        ConfigSnapshot sessao = config.openSession("ios", "contatos");
+
+        Assert.assertNull(sessao.get("java.version"), "Propriedades da JVM não entram no snapshot");
+        Assert.assertNull(sessao.get("chave.nao.declarada"));
+        Assert.assertEquals(sessao.get("bundle.id.ios"), "com.exemplo.Contatos");
+        Assert.assertEquals(sessao.get("bundle.id"), "com.exemplo.Contatos", "Chave da plataforma sobrescrita chega à chave sem sufixo");
+    }
+
+    @Test(description = "Fora de sessão, system properties seguem a mesma regra de chaves declaradas")
+    public void testeSystemPropertiesForaDeSessao() {
+        properties.set("chave.nao.declarada", "x")
+                .set("java.io.tmpdir", "/tmp/outro")
+                .set("explicit.wait", "3");
+
+        Assert.assertNull(config.getProperty("chave.nao.declarada"));
+        Assert.assertNull(config.getProperty("java.io.tmpdir"), "Propriedades da JVM não viram configuração");
+        Assert.assertEquals(config.getIntProperty("explicit.wait", 0), 3, "Chave declarada no global é sobrescrita");
+    }
+
+    @Test(description = "Valores convertidos uma vez e padrão para chave ausente ou inválida")
+    public void testeValoresTipados() {
+        ConfigSnapshot sessao = config.openSession("android", null);
+
+        Assert.assertEquals(sessao.getInt("page.snapshot.max.age.ms", 0), 2000);
+        Assert.assertTrue(sessao.getBoolean("popup.handler.enabled", false));
+        Assert.assertEquals(sessao.getInt("report.path", 42), 42, "Valor não numérico usa o padrão");
+        Assert.assertEquals(sessao.getInt("chave.inexistente", 5), 5);
+        Assert.assertTrue(sessao.getBoolean("chave.inexistente", true));
+        Assert.assertNull(sessao.getModule());
+    }
+
+    @Test(description = "Sessão não enxerga system properties alteradas depois de aberta")
+    public void testeSnapshotImutavel() {
+        properties.set("explicit.wait", "3");
+        config.openSession("android", "contatos");
+        properties.set("explicit.wait", "9");
+
+        Assert.assertEquals(config.getIntProperty("explicit.wait", 0), 3);
+
+        config.closeSession();
+        Assert.assertEquals(config.getIntProperty("explicit.wait", 0), 9, "Fora de sessão a leitura é direta");
+    }
+
+    @Test(description = "Threads simultâneas mantêm plataforma e módulo próprios")
+    public void testeSessoesConcorrentes() throws Exception {
+        int threads = 8;
+        CyclicBarrier barreira = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String plataforma = i % 2 == 0 ? "android" : "ios";
+                String modulo = i % 4 < 2 ? "contatos" : null;
+                Callable<String> tarefa = () -> {
+                    config.openSession(plataforma, modulo);
+                    barreira.await();
+                    StringBuilder divergencias = new StringBuilder();
+                    for (int leitura = 0; leitura < 1_000; leitura++) {
+                        if (!plataforma.equals(config.getPlatform())
+                                || (modulo == null) != (config.getProperty("test.contact.name") == null)) {
+                            divergencias.append(leitura).append(' ');
+                        }
+                    }
+                    config.closeSession();
+                    return divergencias.toString();
+                };
+                resultados.add(executor.submit(tarefa));
+            }
+            for (Future<String> resultado : resultados) {
+                Assert.assertEquals(resultado.get(), "", "Leituras com plataforma/módulo de outra thread");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package tests.framework;
+
+import model.Contato;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.stub.SeededContacts;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ContactSeeder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes da criação de contatos sem interface: comandos gerados (executor falso)
+ * e inserção em lote no app gravado do stub
+ */
+public class ContactSeederTest {
+    private final Contato especial = new Contato.Builder()
+            .nome("Ana O'Brien").telefone("(11) 91234-5678").email("ana@teste.com").empresa("Souza; Lima, Ltda").build();
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    /**
+     * Registra os comandos em vez de enviá-los ao dispositivo
+     */
+    private static class ComandosFalsos implements ContactSeeder.DeviceCommands {
+        final List<List<String>> shells = new ArrayList<>();
+        final List<String> arquivos = new ArrayList<>();
+        final List<String> conteudos = new ArrayList<>();
+
+        @Override
+        public Object shell(String command, List<String> args) {
+            List<String> chamada = new ArrayList<>();
+            chamada.add(command);
+            chamada.addAll(args);
+            shells.add(chamada);
+            return "";
+        }
+
+        @Override
+        public void pushFile(String remotePath, byte[] content) {
+            arquivos.add(remotePath);
+            conteudos.add(new String(content, StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        if (fixture != null) {
+            fixture.close();
+            fixture = null;
+        }
+    }
+
+    private void iniciarStub(String plataforma) {
+        fixture = StubFixture.contatos(plataforma).createDriver();
+        stub = fixture.getStub();
+    }
+
+    @Test(description = "Android: um script sh por lote, com os valores entre aspas simples")
+    public void testeScriptAndroidEmLotes() {
+        ComandosFalsos comandos = new ComandosFalsos();
+        List<Contato> contatos = new ArrayList<>(ContactSeeder.generate("Carga", 449));
+        contatos.add(especial);
+
+        int lotes = new ContactSeeder("android", comandos, 200).seed(contatos);
+
+        Assert.assertEquals(lotes, 3);
+        Assert.assertEquals(comandos.shells.size(), 3);
+        List<String> primeiro = dispositivo(comandos.shells.get(0));
+        Assert.assertEquals(primeiro.size(), 3, "Script deveria chegar ao sh -c como uma única palavra: " + primeiro);
+        Assert.assertEquals(primeiro.subList(0, 2), List.of("sh", "-c"));
+        Assert.assertTrue(primeiro.get(2).startsWith("seed() { content insert --uri content://com.android.contacts/raw_contacts"),
+                primeiro.get(2));
+        Assert.assertTrue(primeiro.get(2).contains("seed 'Carga 00001' '(11) 90000-0001' 'carga.00001@teste.com' ''\n"),
+                primeiro.get(2));
+        Assert.assertEquals(primeiro.get(2).split("\nseed ").length - 1, 200);
+        Assert.assertTrue(dispositivo(comandos.shells.get(2)).get(2).contains("seed 'Ana O'\\''Brien' "),
+                "Aspas simples escapadas");
+    }
+
+    /**
+     * Palavras que o shell do dispositivo vê depois de o adb juntar o comando com espaços
+     */
+    private static List<String> dispositivo(List<String> chamada) {
+        return SeededContacts.adbShellWords(chamada.get(0), chamada.subList(1, chamada.size()));
+    }
+
+    @Test(description = "iOS: um vCard por lote, com caracteres especiais escapados")
+    public void testeVCardIOSEmLotes() {
+        ComandosFalsos comandos = new ComandosFalsos();
+
+        int lotes = new ContactSeeder("ios", comandos, 2).seed(ContactSeeder.generate("Carga", 2).get(0),
+                ContactSeeder.generate("Carga", 2).get(1), especial);
+
+        Assert.assertEquals(lotes, 2);
+        Assert.assertTrue(comandos.arquivos.stream().allMatch(arquivo -> arquivo.endsWith(".vcf")), comandos.arquivos.toString());
+        Assert.assertEquals(comandos.conteudos.get(0).split("BEGIN:VCARD").length - 1, 2);
+        String cartao = comandos.conteudos.get(1);
+        Assert.assertTrue(cartao.contains("N:O'Brien;Ana;;;\r\n"), cartao);
+        Assert.assertTrue(cartao.contains("ORG:Souza\\; Lima\\, Ltda\r\n"), cartao);
+        Assert.assertTrue(cartao.contains("TEL;TYPE=CELL:(11) 91234-5678\r\n"), cartao);
+    }
+
+    @Test(description = "Agenda com milhares de contatos inserida em poucos comandos (Android)")
+    public void testeCargaAndroidNoStub() {
+        iniciarStub("android");
+        int iniciais = stub.getApp().getContatos().size();
+
+        List<Contato> contatos = new ArrayList<>(ContactSeeder.generate("Carga", 2_000));
+        contatos.add(especial);
+        new ContactSeeder("android", ContactSeeder.DRIVER, 500).seed(contatos);
+
+        Assert.assertEquals(stub.count("mobile: shell"), 5);
+        Assert.assertEquals(stub.getApp().getContatos().size(), iniciais + 2_001);
+        assertEspecialInserido();
+    }
+
+    @Test(description = "vCard enviado ao simulador entra na agenda (iOS)")
+    public void testeVCardNoStub() {
+        iniciarStub("ios");
+
+        new ContactSeeder("ios", ContactSeeder.DRIVER, 200).seed(especial);
+
+        Assert.assertEquals(stub.count("mobile: pushFile"), 1);
+        assertEspecialInserido();
+    }
+
+    private void assertEspecialInserido() {
+        Contato inserido = stub.getApp().getContatos().stream()
+                .filter(c -> c.getNome().equals(especial.getNome())).findFirst().orElse(null);
+        Assert.assertNotNull(inserido, "Contato não inserido");
+        Assert.assertEquals(inserido.getTelefone(), especial.getTelefone());
+        Assert.assertEquals(inserido.getEmail(), especial.getEmail());
+        Assert.assertEquals(inserido.getEmpresa(), especial.getEmpresa());
+    }
+}
@@ -0,0 +1,73 @@
+package tests.framework;
+
+import driver.DriverManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.DeviceLogBuffer;
+import utils.DeviceLogStream;
+
+import java.util.List;
+
+/**
+ * Testes do buffer circular de log do dispositivo e da leitura em segundo plano contra o stub
+ */
+public class DeviceLogTest {
+    private StubFixture fixture;
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        if (fixture != null) {
+            fixture.close();
+            fixture = null;
+        }
+    }
+
+    @Test(description = "Buffer cheio sobrescreve as linhas mais antigas sem passar da capacidade")
+    public void testeBufferCircular() {
+        DeviceLogBuffer buffer = new DeviceLogBuffer(64);
+        for (int i = 0; i < 100; i++) {
+            buffer.append(String.format("linha %03d", i));
+        }
+
+        List<String> linhas = buffer.lines();
+        Assert.assertTrue(buffer.getSize() <= 64);
+        Assert.assertTrue(buffer.getDroppedBytes() > 0);
+        Assert.assertEquals(linhas.get(linhas.size() - 1), "linha 099");
+        linhas.forEach(linha -> Assert.assertTrue(linha.matches("linha \\d{3}"), "Linha cortada: " + linha));
+        Assert.assertEquals(buffer.tail(2), List.of("linha 098", "linha 099"));
+    }
+
+    @Test(description = "Linha maior que o buffer fica só com o final")
+    public void testeLinhaMaiorQueBuffer() {
+        DeviceLogBuffer buffer = new DeviceLogBuffer(8);
+        buffer.append("0123456789abcdef");
+
+        Assert.assertEquals(buffer.getSize(), 8);
+        Assert.assertTrue(buffer.lines().isEmpty() || buffer.lines().get(0).endsWith("def"));
+    }
+
+    @Test(description = "Sessão lê o log em segundo plano sem aparecer nos comandos do teste; para ao finalizar")
+    public void testeLeituraEmSegundoPlano() throws InterruptedException {
+        fixture = StubFixture.contatos("android")
+                .property("device.log.streaming.enabled", "true")
+                .property("device.log.poll.ms", "20")
+                .createDriver();
+        StubAppiumServer stub = fixture.getStub();
+
+        DriverManager.getDriver().getPageSource();
+        Thread.sleep(100);
+        Assert.assertTrue(stub.logReads() > 1, "Log não foi lido em segundo plano");
+        Assert.assertFalse(stub.counts().containsKey("getLog"), "Leitura do log contada como comando do teste");
+        Assert.assertTrue(DeviceLogStream.tail(50).stream().anyMatch(linha -> linha.contains("StubAppium: getPageSource")),
+                "Linha do comando ausente no buffer");
+
+        DriverManager.quitDriver();
+        Assert.assertFalse(DeviceLogStream.isActive());
+        int leituras = stub.logReads();
+        Thread.sleep(100);
+        Assert.assertTrue(stub.logReads() - leituras <= 1, "Leitura continuou depois de finalizar a sessão");
+    }
+}
@@ -0,0 +1,173 @@
+package tests.framework;
+
+import driver.DeviceDescriptor;
+import driver.DeviceRegistry;
+import driver.DriverManager;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes do registro de dispositivos com descritores falsos
+ */
+public class DeviceRegistryTest {
+
+    private static DeviceRegistry registro(int quantidade) {
+        List<DeviceDescriptor> devices = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            devices.add(DeviceDescriptor.parse("android", "emulator-" + (5554 + i * 2)));
+        }
+        devices.add(DeviceDescriptor.parse("ios", "iPhone 15|SIM-UDID-1"));
+        return new DeviceRegistry(devices, 8200);
+    }
+
+    @Test(description = "Entradas de configuração são interpretadas corretamente")
+    public void testeParseDescritor() {
+        DeviceDescriptor ios = DeviceDescriptor.parse("ios", "iPhone 15 Pro|ABC-123|http://10.0.0.2:4723");
+        Assert.assertEquals(ios.getName(), "iPhone 15 Pro");
+        Assert.assertEquals(ios.getUdid(), "ABC-123");
+        Assert.assertEquals(ios.getServerUrl(), "http://10.0.0.2:4723");
+
+        DeviceDescriptor android = DeviceDescriptor.parse("android", "emulator-5556");
+        Assert.assertEquals(android.getUdid(), "emulator-5556", "Serial do adb deveria ser usado como udid");
+        Assert.assertNull(android.getServerUrl());
+    }
+
+    @Test(description = "Cada empréstimo recebe dispositivo e portas exclusivas")
+    public void testePortasExclusivas() throws Exception {
+        DeviceRegistry registry = registro(3);
+        Set<String> udids = new HashSet<>();
+        Set<Integer> portas = new HashSet<>();
+
+        List<DeviceRegistry.DeviceLease> leases = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            leases.add(registry.lease("android", 1, TimeUnit.SECONDS));
+        }
+        leases.add(registry.lease("ios", 1, TimeUnit.SECONDS));
+
+        for (DeviceRegistry.DeviceLease lease : leases) {
+            Assert.assertTrue(udids.add(lease.getDevice().getUdid()), "Dispositivo emprestado duas vezes");
+            Assert.assertTrue(portas.addAll(Arrays.asList(lease.getSystemPort(), lease.getWdaLocalPort(), lease.getMjpegServerPort())),
+                    "Porta repetida: " + lease);
+        }
+        Assert.assertEquals(portas.size(), 12);
+    }
+
+    @Test(description = "Empréstimo aguarda a devolução quando não há dispositivo livre")
+    public void testeAguardaDevolucao() throws Exception {
+        DeviceRegistry registry = registro(1);
+        DeviceRegistry.DeviceLease primeiro = registry.lease("android", 1, TimeUnit.SECONDS);
+
+        try {
+            registry.lease("android", 100, TimeUnit.MILLISECONDS);
+            Assert.fail("Empréstimo deveria expirar sem dispositivo livre");
+        } catch (IllegalStateException e) {
+            // esperado
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<DeviceRegistry.DeviceLease> pendente = executor.submit(() -> registry.lease("android", 5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        registry.release(primeiro);
+        Assert.assertEquals(pendente.get(5, TimeUnit.SECONDS).getDevice().getUdid(), primeiro.getDevice().getUdid());
+        executor.shutdownNow();
+    }
+
+    @Test(description = "Plataforma sem dispositivos registrados gera erro")
+    public void testePlataformaSemDispositivos() throws Exception {
+        DeviceRegistry registry = new DeviceRegistry(List.of(DeviceDescriptor.parse("android", "emulator-5554")), 8200);
+        Assert.assertThrows(IllegalArgumentException.class, () -> registry.lease("ios", 1, TimeUnit.SECONDS));
+    }
+
+    @Test(description = "Threads paralelas criam sessões em dispositivos distintos no stub")
+    public void testeSessoesParalelasNoStub() throws Exception {
+        int dispositivos = 4;
+        DeviceRegistry registry = registro(dispositivos);
+        StubAppiumServer stub = new StubAppiumServer().start().withSessionStartup(300);
+        ExecutorService executor = Executors.newFixedThreadPool(dispositivos);
+        CountDownLatch todasCriadas = new CountDownLatch(dispositivos);
+        CountDownLatch verificado = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < dispositivos; i++) {
+                workers.add(executor.submit(() -> {
+                    DeviceRegistry.DeviceLease lease = registry.lease("android", 5, TimeUnit.SECONDS);
+                    DesiredCapabilities caps = new DesiredCapabilities();
+                    caps.setCapability("platformName", "Android");
+                    caps.setCapability("appium:udid", lease.getDevice().getUdid());
+                    caps.setCapability("appium:systemPort", lease.getSystemPort());
+                    AndroidDriver driver = new AndroidDriver(stub.getUrl(), caps);
+                    todasCriadas.countDown();
+                    verificado.await(5, TimeUnit.SECONDS);
+                    driver.quit();
+                    registry.release(lease);
+                    return null;
+                }));
+            }
+            Set<Object> portas = new HashSet<>();
+            Assert.assertTrue(todasCriadas.await(5, TimeUnit.SECONDS), "Sessões não foram criadas em paralelo");
+            long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            for (Map<String, Object> caps : stub.sessionCapabilities()) {
+                Assert.assertTrue(portas.add(caps.get("appium:systemPort")), "systemPort repetido entre sessões");
+            }
+            Assert.assertEquals(portas.size(), dispositivos);
+            verificado.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(5, TimeUnit.SECONDS);
+            }
+            Assert.assertTrue(duracaoMs < 300L * dispositivos, "Sessões foram negociadas em série: " + duracaoMs + " ms");
+            Assert.assertEquals(registry.available("android"), dispositivos);
+        } finally {
+            verificado.countDown();
+            executor.shutdownNow();
+            stub.stop();
+        }
+    }
+
+    @Test(description = "Quit que falha ainda devolve o dispositivo ao registro")
+    public void testeQuitComFalhaDevolveDispositivo() {
+        try (StubFixture fixture = StubFixture.of(new StubAppiumServer().start(), "android")
+                .property("devices.android", "emulator-5554")
+                .property("device.lease.timeout.seconds", "1")
+                .createDriver()) {
+            fixture.getStub().killSessions();
+            Assert.assertThrows(WebDriverException.class, DriverManager::quitDriver);
+            Assert.assertFalse(DriverManager.isDriverActive());
+            Assert.assertNull(DriverManager.getCurrentDevice());
+
+            // Com o dispositivo preso, o próximo empréstimo expiraria em 1 s
+            fixture.createDriver();
+            Assert.assertEquals(DriverManager.getCurrentDevice(), "emulator-5554");
+        }
+    }
+
+    @Test(description = "Criar um driver sem finalizar o anterior devolve o dispositivo emprestado")
+    public void testeCriarDriverDuasVezesDevolveDispositivo() {
+        try (StubFixture fixture = StubFixture.of(new StubAppiumServer().start(), "android")
+                .property("devices.android", "emulator-5554")
+                .property("device.lease.timeout.seconds", "1")
+                .createDriver()) {
+            fixture.createDriver();
+            Assert.assertEquals(DriverManager.getCurrentDevice(), "emulator-5554");
+            Assert.assertEquals(fixture.getStub().activeSessions(), 1, "Sessão anterior deveria ter sido finalizada");
+        }
+    }
+}
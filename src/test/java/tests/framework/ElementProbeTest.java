@@ -0,0 +1,85 @@
+package tests.framework;
+
+import driver.DriverManager;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+import utils.ProbeMetrics;
+
+/**
+ * Testes da sondagem de presença sem implicit wait, contra o stub Appium
+ * O stub aplica o implicit wait da sessão nas buscas, como o Appium real
+ */
+public class ElementProbeTest {
+    private static final By AUSENTE = By.xpath("//android.widget.TextView[@text='Inexistente']");
+    private static final By PRESENTE = By.id("com.android.contacts:id/floating_action_button");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start().withElement("id", "com.android.contacts:id/floating_action_button");
+        fixture = StubFixture.of(stub, "android").property("implicit.wait", "2");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarDriver() {
+        DriverManager.quitDriver();
+    }
+
+    private void criarDriver(boolean explicitOnly) {
+        fixture.property("element.probe.explicit.only", String.valueOf(explicitOnly));
+        DriverManager.createDriver();
+        ProbeMetrics.reset();
+    }
+
+    private static long medirMs(Runnable acao) {
+        long inicio = System.nanoTime();
+        acao.run();
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+
+    @Test(description = "Probe negativo termina no timeout solicitado")
+    public void testeProbeNegativoRespeitaOrcamento() {
+        criarDriver(true);
+
+        long duracao = medirMs(() -> Assert.assertFalse(ElementUtils.isElementPresent(AUSENTE, 1)));
+
+        Assert.assertTrue(duracao >= 1000 && duracao < 1700, "Probe fora do orçamento de 1 s: " + duracao + " ms");
+        Assert.assertEquals(ProbeMetrics.current().getNegativeProbes(), 1);
+        Assert.assertTrue(ProbeMetrics.current().getSavedMillis() >= 1500, "Economia não registrada: " + ProbeMetrics.current());
+    }
+
+    @Test(description = "Busca direta de elemento ausente não espera")
+    public void testeBuscaDiretaSemEspera() {
+        criarDriver(true);
+
+        long duracao = medirMs(() -> Assert.assertFalse(ElementUtils.isElementPresent(AUSENTE)));
+
+        Assert.assertTrue(duracao < 500, "Busca direta esperou: " + duracao + " ms");
+        Assert.assertTrue(ElementUtils.isElementPresent(PRESENTE), "Elemento presente não encontrado");
+        Assert.assertEquals(ProbeMetrics.current().getProbes(), 2);
+    }
+
+    @Test(description = "Com implicit wait, o probe negativo soma as esperas")
+    public void testeModoAntigoSomaEsperas() {
+        criarDriver(false);
+
+        long duracao = medirMs(() -> Assert.assertFalse(ElementUtils.isElementPresent(AUSENTE, 1)));
+
+        Assert.assertTrue(duracao >= 2000, "Implicit wait não foi aplicado: " + duracao + " ms");
+        Assert.assertEquals(ProbeMetrics.current().getSavedMillis(), 0);
+    }
+}
@@ -0,0 +1,103 @@
+package tests.framework;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.FailureArtifacts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Testes da captura de artefatos de falha contra o stub: leitura na thread do teste, gravação em segundo plano
+ */
+public class FailureArtifactsTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+    private Path screenshots;
+    private Path artefatos;
+
+    @BeforeMethod
+    public void iniciarStub() throws IOException {
+        screenshots = Files.createTempDirectory("screenshots");
+        artefatos = Files.createTempDirectory("artefatos");
+        fixture = StubFixture.contatos("android")
+                .property("screenshot.on.failure", "true")
+                .property("screenshot.path", screenshots.toString())
+                .property("failure.artifacts.path", artefatos.toString())
+                .createDriver();
+        stub = fixture.getStub();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        FailureArtifacts.drain();
+        fixture.close();
+    }
+
+    private static long arquivos(Path diretorio, String extensao) throws IOException {
+        try (Stream<Path> files = Files.list(diretorio)) {
+            return files.filter(file -> file.toString().endsWith(extensao)).count();
+        }
+    }
+
+    private static Map<String, String> conteudoDoZip(Path zip) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test(description = "Screenshot em PNG e zip com page source, log do dispositivo e capabilities")
+    public void testeArtefatosGravados() throws IOException {
+        FailureArtifacts.capture("ContatosTest.testeQualquer");
+        Assert.assertTrue(FailureArtifacts.drain(), "Gravações pendentes não terminaram");
+
+        Assert.assertEquals(arquivos(screenshots, ".png"), 1);
+        Path zip;
+        try (Stream<Path> files = Files.list(artefatos)) {
+            zip = files.filter(file -> file.getFileName().toString().startsWith("ContatosTest.testeQualquer-"))
+                    .findFirst().orElseThrow(() -> new AssertionError("Zip de artefatos não gravado"));
+        }
+        Map<String, String> conteudo = conteudoDoZip(zip);
+        Assert.assertTrue(conteudo.get("page-source.xml").contains("contact_list"), "Page source ausente");
+        Assert.assertTrue(conteudo.get("device.log").contains("StubAppium: newSession"), "Log do dispositivo ausente");
+        Assert.assertTrue(conteudo.get("capabilities.json").contains("platformName"), "Capabilities ausentes");
+    }
+
+    @Test(description = "Com a fila cheia a thread do teste grava, e nenhuma falha se perde no drain")
+    public void testeFilaCheiaNaoPerdeArtefatos() throws IOException {
+        fixture.property("failure.artifacts.queue.size", "1");
+        for (int i = 0; i < 6; i++) {
+            FailureArtifacts.capture("Teste.falha" + i);
+        }
+        Assert.assertTrue(FailureArtifacts.drain());
+
+        Assert.assertEquals(arquivos(screenshots, ".png"), 6);
+        Assert.assertEquals(arquivos(artefatos, ".zip"), 6);
+    }
+
+    @Test(description = "Com screenshot.on.failure=false nada é lido do driver")
+    public void testeDesabilitado() throws IOException {
+        fixture.property("screenshot.on.failure", "false");
+        FailureArtifacts.capture("Teste.desabilitado");
+        FailureArtifacts.drain();
+
+        Assert.assertEquals(stub.counts().getOrDefault("screenshot", 0).intValue(), 0);
+        Assert.assertEquals(arquivos(artefatos, ".zip"), 0);
+    }
+}
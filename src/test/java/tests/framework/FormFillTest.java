@@ -0,0 +1,87 @@
+package tests.framework;
+
+import driver.DriverManager;
+import model.Contato;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.android.AdicionarContatoPageAndroid;
+import pages.android.ContatosMainPageAndroid;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+/**
+ * Testes do preenchimento rápido de formulários contra o app gravado no stub
+ */
+public class FormFillTest {
+    private static final String REPLACE = "mobile: replaceElementValue";
+
+    private final Contato contato = new Contato.Builder()
+            .nome("Carla Dias").telefone("(31) 93333-3333").email("carla@teste.com").build();
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeMethod
+    public void iniciarStub() {
+        fixture = StubFixture.contatos("android").property("explicit.wait", "1");
+        stub = fixture.getStub();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    /**
+     * Abre o formulário, preenche o contato e devolve quantos comandos o preenchimento enviou
+     */
+    private int preencher(boolean rapido) {
+        fixture.property("form.fast.fill.enabled", String.valueOf(rapido)).createDriver();
+        AdicionarContatoPageAndroid formulario = new ContatosMainPageAndroid().clicarAdicionarContato();
+
+        // Cada busca conta uma vez (sem as entradas find:<estratégia>); só os comandos importam aqui
+        int antes = stub.totalCommands();
+        formulario.preencherContato(contato);
+        int comandos = stub.totalCommands() - antes;
+
+        formulario.salvarContato();
+        return comandos;
+    }
+
+    private void assertContatoSalvo() {
+        Contato salvo = stub.getApp().getContatos().stream()
+                .filter(c -> c.getNome().equals(contato.getNome())).findFirst().orElse(null);
+        Assert.assertNotNull(salvo, "Contato não salvo: " + stub.getApp().getContatos());
+        Assert.assertEquals(salvo.getTelefone(), contato.getTelefone());
+        Assert.assertEquals(salvo.getEmail(), contato.getEmail());
+    }
+
+    @Test(description = "Campos vazios recebem o valor direto, sem clear nem sendKeys")
+    public void testePreenchimentoDireto() {
+        preencher(true);
+
+        assertContatoSalvo();
+        Assert.assertEquals(stub.count(REPLACE), 4, "Nome, sobrenome, telefone e email");
+        Assert.assertEquals(stub.count("clear"), 0);
+        Assert.assertEquals(stub.count("sendKeys"), 0);
+    }
+
+    @Test(description = "Sem suporte ao valor direto, cada campo volta para clear + sendKeys")
+    public void testeFallbackPorCampo() {
+        stub.withUnsupportedScript(REPLACE);
+        preencher(true);
+
+        assertContatoSalvo();
+        Assert.assertEquals(stub.count("sendKeys"), 4);
+    }
+
+    @Test(description = "Modo rápido envia menos comandos que o preenchimento campo a campo")
+    public void testeMenosComandos() {
+        int rapido = preencher(true);
+        DriverManager.quitDriver();
+        int normal = preencher(false);
+
+        Assert.assertTrue(rapido < normal, "Comandos no modo rápido: " + rapido + ", campo a campo: " + normal);
+    }
+}
@@ -0,0 +1,95 @@
+package tests.framework;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import utils.LocatorCompiler;
+
+/**
+ * Testes do compilador de XPath para estratégias nativas
+ * Os casos usam os locators reais das páginas Android e iOS
+ */
+public class LocatorCompilerTest {
+
+    @DataProvider
+    public Object[][] android() {
+        return new Object[][] {
+            {"//android.widget.TextView[@text='Contacts' or @text='Contatos']",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").textMatches(\"Contacts|Contatos\")")},
+            {"//android.widget.EditText[@text='First name']",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.EditText\").text(\"First name\")")},
+            {"//android.widget.ImageButton[@content-desc='More options']",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.ImageButton\").description(\"More options\")")},
+            {"//*[@content-desc='Navigate up']", AppiumBy.accessibilityId("Navigate up")},
+            {"//android.widget.TextView[contains(@text, '@')]",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").textContains(\"@\")")},
+            {"//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='Fábio']",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\")"
+                        + ".resourceId(\"com.android.contacts:id/cliv_name_textview\").text(\"Fábio\")")},
+            {"//android.widget.TextView[contains(@resource-id, 'contact_name')]",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").resourceIdMatches(\".*contact_name.*\")")},
+            {"//android.widget.TextView[@text='(11) 99999-9999' or @text='a.b']",
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").textMatches(\"\\\\(11\\\\) 99999-9999|a\\\\.b\")")},
+        };
+    }
+
+    @Test(dataProvider = "android", description = "XPaths do Android compilam para UiSelector/accessibility id")
+    public void testeCompilaAndroid(String xpath, By esperado) {
+        Assert.assertEquals(LocatorCompiler.compile(By.xpath(xpath), "android").toString(), esperado.toString());
+    }
+
+    @DataProvider
+    public Object[][] ios() {
+        return new Object[][] {
+            {"//XCUIElementTypeButton[@name='Allow']",
+                AppiumBy.iOSNsPredicateString("type == 'XCUIElementTypeButton' AND (name == 'Allow')")},
+            {"//XCUIElementTypeButton[@name=\"Don't Allow\"]",
+                AppiumBy.iOSNsPredicateString("type == 'XCUIElementTypeButton' AND (name == 'Don\\'t Allow')")},
+            {"//XCUIElementTypeCell[contains(@name, 'Fábio')]",
+                AppiumBy.iOSNsPredicateString("type == 'XCUIElementTypeCell' AND (name CONTAINS 'Fábio')")},
+            {"//XCUIElementTypeStaticText[@name='contact name']",
+                AppiumBy.iOSNsPredicateString("type == 'XCUIElementTypeStaticText' AND (name == 'contact name')")},
+            {"//XCUIElementTypeCell", AppiumBy.iOSClassChain("**/XCUIElementTypeCell")},
+            {"//*[@name='ContactsList']", AppiumBy.accessibilityId("ContactsList")},
+        };
+    }
+
+    @Test(dataProvider = "ios", description = "XPaths do iOS compilam para predicate string/class chain/accessibility id")
+    public void testeCompilaIOS(String xpath, By esperado) {
+        Assert.assertEquals(LocatorCompiler.compile(By.xpath(xpath), "ios").toString(), esperado.toString());
+    }
+
+    @DataProvider
+    public Object[][] semEquivalente() {
+        return new Object[][] {
+            {"//XCUIElementTypeStaticText[contains(@value, 'Ana')]/ancestor::XCUIElementTypeCell", "ios"},
+            {"//XCUIElementTypeCell//XCUIElementTypeStaticText[contains(text(), 'Ana')]", "ios"},
+            {"//android.widget.TextView[contains(@text, '(') or contains(@text, '+')]", "android"},
+            {"//android.widget.TextView[@text='A' and @text='B' or @text='C']", "android"},
+            {"(//android.widget.TextView)[1]", "android"},
+            {"//android.widget.TextView[@index='2']", "android"},
+            {"//XCUIElementTypeButton[@visible='true']", "ios"},
+        };
+    }
+
+    @Test(dataProvider = "semEquivalente", description = "XPaths sem equivalente nativo são mantidos")
+    public void testeMantemXPath(String xpath, String plataforma) {
+        By locator = By.xpath(xpath);
+        Assert.assertSame(LocatorCompiler.compile(locator, plataforma), locator);
+    }
+
+    @Test(description = "Locators que não são XPath não são alterados")
+    public void testeNaoAlteraOutrasEstrategias() {
+        By id = By.id("com.android.contacts:id/floating_action_button");
+        Assert.assertSame(LocatorCompiler.compile(id, "android"), id);
+    }
+
+    @Test(description = "Aspas dentro do valor não quebram a divisão do predicado")
+    public void testeOperadorDentroDeAspas() {
+        By compilado = LocatorCompiler.compile(By.xpath("//android.widget.TextView[@text='Tom and Jerry']"), "android");
+        Assert.assertEquals(compilado.toString(),
+                AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").text(\"Tom and Jerry\")").toString());
+    }
+}
@@ -0,0 +1,78 @@
+package tests.framework;
+
+import factory.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.android.AdicionarContatoPageAndroid;
+import pages.android.ContatosMainPageAndroid;
+import pages.ios.ContatosMainPageIOS;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+/**
+ * Testes da criação tipada e adiada de páginas (PageFactory.page) contra o app gravado no stub
+ */
+public class PageFactoryTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeMethod
+    public void iniciarStub() {
+        fixture = StubFixture.contatos("android").property("explicit.wait", "1").createDriver();
+        stub = fixture.getStub();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @Test(description = "Criar a página não envia comandos; a verificação roda na primeira interação")
+    public void testeVerificacaoAdiada() {
+        int antes = stub.totalCommands();
+
+        ContatosMainPageAndroid lista = PageFactory.page(ContatosMainPageAndroid.class);
+        Assert.assertEquals(stub.totalCommands(), antes, "Criação da página enviou comandos");
+        Assert.assertFalse(lista.isLoaded());
+
+        Assert.assertTrue(lista.contatoExiste("Ana Souza"));
+        Assert.assertTrue(lista.isLoaded(), "Página não foi verificada na primeira interação");
+    }
+
+    @Test(description = "Cada página adiada guarda a sua verificação; a de outra página não roda no lugar dela")
+    public void testeVerificacaoPorPagina() {
+        ContatosMainPageAndroid lista = PageFactory.page(ContatosMainPageAndroid.class);
+        AdicionarContatoPageAndroid formulario = PageFactory.page(AdicionarContatoPageAndroid.class);
+
+        // O formulário não está na tela: se a verificação dele rodasse aqui, a interação falharia
+        Assert.assertTrue(lista.contatoExiste("Ana Souza"));
+        Assert.assertTrue(lista.isLoaded());
+        Assert.assertFalse(formulario.isLoaded(), "Interação da lista verificou o formulário");
+
+        lista.clicarAdicionarContato();
+        Assert.assertEquals(formulario.getPageTitle(), "Create new contact");
+        Assert.assertTrue(formulario.isLoaded(), "Formulário não foi verificado na própria interação");
+    }
+
+    @Test(description = "Mesma instância enquanto a tela não muda; nova instância depois de um clique")
+    public void testeCachePorTela() {
+        ContatosMainPageAndroid lista = PageFactory.page(ContatosMainPageAndroid.class);
+        lista.contatoExiste("Ana Souza");
+
+        Assert.assertSame(PageFactory.page(ContatosMainPageAndroid.class), lista);
+
+        AdicionarContatoPageAndroid formulario = lista.clicarAdicionarContato();
+        formulario.cancelarAdicao();
+        ContatosMainPageAndroid depois = PageFactory.page(ContatosMainPageAndroid.class);
+        Assert.assertNotSame(depois, lista, "Página reaproveitada depois de a tela mudar");
+        Assert.assertTrue(depois.contatoExiste("Bruno Lima"));
+    }
+
+    @Test(description = "Página de outra plataforma é recusada",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testePlataformaErrada() {
+        PageFactory.page(ContatosMainPageIOS.class);
+    }
+}
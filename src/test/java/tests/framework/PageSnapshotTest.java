@@ -0,0 +1,114 @@
+package tests.framework;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+import utils.PageSnapshot;
+
+/**
+ * Testes do snapshot de page source com avaliação local de XPath
+ */
+public class PageSnapshotTest {
+    private static final String DETALHES_ANDROID =
+            "<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout resource-id=\"com.android.contacts:id/content\">"
+            + "<android.widget.TextView text=\"Fábio Fernandes\" resource-id=\"com.android.contacts:id/large_title\"/>"
+            + "<android.widget.TextView text=\"(11) 99999-9999\" resource-id=\"com.android.contacts:id/header\"/>"
+            + "<android.widget.TextView text=\"fabio@teste.com\" resource-id=\"com.android.contacts:id/header\"/>"
+            + "<android.widget.TextView text=\"Empresa Teste\" resource-id=\"com.android.contacts:id/company_name\"/>"
+            + "<android.widget.ImageButton content-desc=\"More options\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    private static final String LISTA_IOS =
+            "<AppiumAUT><XCUIElementTypeApplication name=\"Contacts\">"
+            + "<XCUIElementTypeTable name=\"ContactsList\">"
+            + "<XCUIElementTypeCell name=\"Fernandes, Fábio\"><XCUIElementTypeStaticText label=\"Fábio Fernandes\"/></XCUIElementTypeCell>"
+            + "<XCUIElementTypeCell name=\"Silva, Ana\"><XCUIElementTypeStaticText value=\"Ana Silva\" label=\"ignorado\"/></XCUIElementTypeCell>"
+            + "</XCUIElementTypeTable>"
+            + "</XCUIElementTypeApplication></AppiumAUT>";
+
+    private final By nome = By.xpath("//android.widget.TextView[contains(@text, ' ')]");
+    private final By email = By.xpath("//android.widget.TextView[contains(@text, '@')]");
+    private final By empresa = By.id("com.android.contacts:id/company_name");
+    private final By maisOpcoes = AppiumBy.accessibilityId("More options");
+    private final By botaoEditar = By.id("com.android.contacts:id/menu_edit");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withPageSource(DETALHES_ANDROID)
+                .withElement("id", "com.android.contacts:id/menu_edit");
+        fixture = StubFixture.of(stub, "android").createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @Test(description = "Presença, contagem e texto avaliados localmente no Android")
+    public void testeConsultasAndroid() {
+        PageSnapshot snapshot = PageSnapshot.parse(DETALHES_ANDROID, "android");
+
+        Assert.assertEquals(snapshot.getText(nome), "Fábio Fernandes");
+        Assert.assertEquals(snapshot.getText(email), "fabio@teste.com");
+        Assert.assertEquals(snapshot.getText(empresa), "Empresa Teste");
+        Assert.assertTrue(snapshot.isPresent(maisOpcoes));
+        Assert.assertFalse(snapshot.isPresent(botaoEditar));
+        Assert.assertEquals(snapshot.count(By.id("com.android.contacts:id/header")), 2);
+        Assert.assertNull(snapshot.getText(botaoEditar));
+    }
+
+    @Test(description = "Texto no iOS segue value e depois label")
+    public void testeConsultasIOS() {
+        PageSnapshot snapshot = PageSnapshot.parse(LISTA_IOS, "ios");
+
+        Assert.assertEquals(snapshot.count(By.xpath("//XCUIElementTypeCell[contains(@name, ',')]")), 2);
+        Assert.assertEquals(snapshot.getText(By.xpath("(//XCUIElementTypeStaticText)[1]")), "Fábio Fernandes");
+        Assert.assertEquals(snapshot.getText(By.xpath("(//XCUIElementTypeStaticText)[2]")), "Ana Silva");
+        Assert.assertTrue(snapshot.isPresent(By.id("ContactsList")));
+        Assert.assertFalse(snapshot.supports(AppiumBy.iOSClassChain("**/XCUIElementTypeCell")));
+    }
+
+    @Test(description = "Leituras dentro de withSnapshot usam um único page source")
+    public void testeUmaIdaAoDispositivo() {
+        int sourcesAntes = stub.count("getPageSource");
+        int buscasAntes = stub.count("findElement") + stub.count("findElements");
+
+        String[] dados = ElementUtils.withSnapshot(() -> new String[] {
+                ElementUtils.getText(nome),
+                ElementUtils.getText(email),
+                ElementUtils.getText(empresa),
+                String.valueOf(ElementUtils.isElementPresent(maisOpcoes, 2))
+        });
+
+        Assert.assertEquals(dados, new String[] {"Fábio Fernandes", "fabio@teste.com", "Empresa Teste", "true"});
+        Assert.assertEquals(stub.count("getPageSource") - sourcesAntes, 1, "Mais de um page source buscado");
+        Assert.assertEquals(stub.count("findElement") + stub.count("findElements"), buscasAntes, "Consulta foi ao dispositivo");
+    }
+
+    @Test(description = "Comandos que alteram a tela invalidam o snapshot")
+    public void testeInvalidacaoAposClique() {
+        int sourcesAntes = stub.count("getPageSource");
+
+        ElementUtils.withSnapshot(() -> {
+            ElementUtils.getText(nome);
+            ElementUtils.click(botaoEditar);
+            ElementUtils.getText(nome);
+            return null;
+        });
+
+        Assert.assertEquals(stub.count("getPageSource") - sourcesAntes, 2, "Snapshot não foi invalidado pelo clique");
+    }
+}
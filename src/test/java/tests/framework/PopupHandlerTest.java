@@ -0,0 +1,118 @@
+package tests.framework;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+import utils.PopupHandler;
+import utils.PopupRule;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Testes do tratamento de popups sob demanda
+ */
+public class PopupHandlerTest {
+    private static final String TELA_COM_POPUP =
+            "<hierarchy rotation=\"0\">"
+            + "<android.widget.TextView text=\"Adicionar conta?\" resource-id=\"com.android.contacts:id/text\"/>"
+            + "<android.widget.Button text=\"CANCEL\" resource-id=\"com.android.contacts:id/left_button\"/>"
+            + "</hierarchy>";
+    private static final String TELA_LIMPA =
+            "<hierarchy rotation=\"0\">"
+            + "<android.widget.ImageButton content-desc=\"Criar contato\" resource-id=\"com.android.contacts:id/floating_action_button\"/>"
+            + "</hierarchy>";
+
+    private static final String TELA_AVALIACAO =
+            "<hierarchy rotation=\"0\">"
+            + "<android.widget.TextView text=\"Avalie o app\" resource-id=\"com.android.contacts:id/rating_text\"/>"
+            + "</hierarchy>";
+
+    private final By textoPopup = By.id("com.android.contacts:id/text");
+    private final By cancelar = By.id("com.android.contacts:id/left_button");
+    private final By botaoAdicionar = By.id("com.android.contacts:id/floating_action_button");
+    private final By botaoVisivel = By.id("com.android.contacts:id/toolbar");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withElement(botaoVisivel)
+                .withElement(cancelar);
+        fixture = StubFixture.of(stub, "android")
+                .property("explicit.wait", "1")
+                .property("popup.handler.enabled", "true");
+        PopupHandler.reset();
+        PopupHandler.register(new PopupRule("contaGoogle", textoPopup, cancelar));
+        fixture.createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+        PopupHandler.reset();
+    }
+
+    @Test(description = "Execução sem popup não busca page source nem sonda regras")
+    public void testeSemCustoSemPopup() {
+        int antes = stub.count("getPageSource");
+
+        ElementUtils.click(botaoVisivel);
+
+        Assert.assertEquals(stub.count("getPageSource") - antes, 0);
+    }
+
+    @Test(description = "Ação bloqueada por popup: fecha o popup e repete a ação uma vez")
+    public void testeRecuperaAcaoBloqueada() {
+        stub.withPageSource(TELA_COM_POPUP).withoutElement(botaoAdicionar);
+        stub.onClick(cancelar, () -> stub.withPageSource(TELA_LIMPA).withElement(botaoAdicionar));
+        int cliques = stub.count("click");
+
+        ElementUtils.click(botaoAdicionar);
+
+        // CANCEL do popup + clique repetido no botão
+        Assert.assertEquals(stub.count("click") - cliques, 2);
+    }
+
+    @Test(description = "Sem popup reconhecido, a falha original é propagada")
+    public void testeFalhaSemPopup() {
+        stub.withPageSource(TELA_LIMPA);
+        Assert.assertThrows(RuntimeException.class, () -> ElementUtils.click(By.id("com.android.contacts:id/inexistente")));
+    }
+
+    @Test(description = "Falha ao fechar um popup mantém a contagem dos já fechados")
+    public void testeFalhaNoMeioContaFechados() {
+        PopupHandler.register(new PopupRule("avaliacao", By.id("com.android.contacts:id/rating_text"),
+                By.id("com.android.contacts:id/rating_dismiss")));
+        stub.withPageSource(TELA_COM_POPUP);
+        stub.onClick(cancelar, () -> stub.withPageSource(TELA_AVALIACAO));
+
+        Assert.assertEquals(PopupHandler.dismissAll(), 1);
+    }
+
+    @Test(description = "Regras globais do iOS carregadas na ordem declarada")
+    public void testeRegrasDeclarativas() {
+        fixture.property("platform", "ios");
+        try {
+            List<String> nomes = PopupHandler.getRules().stream().map(PopupRule::getName).collect(Collectors.toList());
+            Assert.assertEquals(nomes, List.of("permissao", "tutorial", "continuar", "pular"));
+        } finally {
+            fixture.property("platform", "android");
+        }
+    }
+
+    @Test(description = "Formato estratégia:valor dos locators das regras")
+    public void testeParseLocator() {
+        Assert.assertEquals(PopupRule.parseLocator("id:com.android.contacts:id/text"), By.id("com.android.contacts:id/text"));
+        Assert.assertEquals(PopupRule.parseLocator("xpath://XCUIElementTypeButton[@name='OK']"),
+                By.xpath("//XCUIElementTypeButton[@name='OK']"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> PopupRule.parseLocator("css:.botao"));
+    }
+}
@@ -0,0 +1,101 @@
+package tests.framework;
+
+import model.Contato;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Testes do app gravado reproduzido pelo stub Appium
+ */
+public class ReplayAppTest {
+    private static final String ADICIONAR = "//*[@resource-id='com.android.contacts:id/floating_action_button']";
+    private static final String SALVAR = "//*[@resource-id='com.android.contacts:id/editor_menu_save_button']";
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withApp(ReplayApp.load("contatos", "android"))
+                .withDefaultLatency(2)
+                .withJitter(2);
+        fixture = StubFixture.of(stub, "android").property("explicit.wait", "1").createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @Test(description = "Formulário salvo vira contato na lista, com nome e sobrenome juntos")
+    public void testeSalvarContato() {
+        ReplayApp app = ReplayApp.load("contatos", "android");
+        app.click(app.find("xpath", ADICIONAR).get(0));
+        Assert.assertEquals(app.getScreen(), "formulario");
+
+        String nome = app.find("xpath", "//android.widget.EditText[@text='First name']").get(0);
+        app.clear(nome);
+        app.sendKeys(nome, "Carla");
+        app.sendKeys(app.find("xpath", "//android.widget.EditText[@text='Last name']").get(0), "Dias");
+        app.sendKeys(app.find("xpath", "//android.widget.EditText[@text='Phone']").get(0), "(31) 93333-3333");
+        app.click(app.find("xpath", SALVAR).get(0));
+
+        Assert.assertEquals(app.getScreen(), "lista");
+        Contato salvo = app.getContatos().get(app.getContatos().size() - 1);
+        Assert.assertEquals(salvo.getNome(), "Carla Dias");
+        Assert.assertEquals(salvo.getTelefone(), "(31) 93333-3333");
+        Assert.assertEquals(salvo.getEmail(), "", "Campo não preenchido mantém só o hint");
+        Assert.assertTrue(app.pageSource().contains("text=\"Carla Dias\""));
+    }
+
+    @Test(description = "Exclusão confirmada remove o contato aberto e volta para a lista")
+    public void testeExcluirContato() {
+        ReplayApp app = ReplayApp.load("contatos", "android");
+        app.click(app.find("-android uiautomator", "new UiSelector().text(\"Ana Souza\")").get(0));
+        Assert.assertEquals(app.getScreen(), "detalhes");
+
+        app.click(app.find("accessibility id", "More options").get(0));
+        app.click(app.find("xpath", "//android.widget.TextView[@text='Delete']").get(0));
+        app.click(app.find("id", "android:id/button1").get(0));
+
+        Assert.assertEquals(app.getScreen(), "lista");
+        List<String> nomes = app.getContatos().stream().map(Contato::getNome).collect(Collectors.toList());
+        Assert.assertFalse(nomes.contains("Ana Souza"));
+        Assert.assertTrue(nomes.contains("Bruno Lima"));
+    }
+
+    @Test(description = "Elemento da tela anterior fica obsoleto após a transição")
+    public void testeElementoObsoleto() {
+        ReplayApp app = ReplayApp.load("contatos", "android");
+        String adicionar = app.find("xpath", ADICIONAR).get(0);
+        Assert.assertEquals(app.find("xpath", ADICIONAR).get(0), adicionar, "Id estável enquanto a tela não muda");
+
+        app.click(adicionar);
+
+        Assert.assertFalse(app.isAttached(adicionar));
+        Assert.assertThrows(RuntimeException.class, () -> app.click(adicionar));
+    }
+
+    @Test(description = "Driver real navega pelas telas gravadas via protocolo W3C")
+    public void testeNavegacaoPeloDriver() {
+        int cliques = stub.count("click");
+
+        ElementUtils.click(By.xpath("//android.widget.TextView[@text='Bruno Lima']"));
+
+        Assert.assertEquals(stub.getApp().getScreen(), "detalhes");
+        Assert.assertEquals(ElementUtils.getText(By.id("com.android.contacts:id/large_title")), "Bruno Lima");
+        Assert.assertEquals(stub.count("click") - cliques, 1);
+        Assert.assertFalse(ElementUtils.isElementPresent(By.id("com.android.contacts:id/floating_action_button"), 0));
+    }
+}
@@ -0,0 +1,120 @@
+package tests.framework;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.base.FailureClass;
+import tests.base.RetryListener;
+import tests.base.RetryStats;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Testes da classificação de falhas e das novas tentativas (RetryAnalyzer) contra o stub
+ */
+public class RetryAnalyzerTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+    private Path relatorios;
+
+    @BeforeMethod
+    public void iniciarStub() throws IOException {
+        relatorios = Files.createTempDirectory("relatorios");
+        fixture = StubFixture.contatos("android")
+                .property("report.path", relatorios.toString())
+                .property("retry.delay.seconds", "0")
+                .property("max.retry.attempts", "2");
+        stub = fixture.getStub();
+        RetryScenarios.stub = stub;
+        RetryScenarios.execucoes.set(0);
+        RetryStats.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+        RetryStats.reset();
+    }
+
+    private static TestListenerAdapter executar(Class<?> testes) {
+        TestNG testng = new TestNG(false);
+        testng.setVerbose(0);
+        testng.setTestClasses(new Class[] {testes});
+        testng.addListener(new RetryListener());
+        TestListenerAdapter resultado = new TestListenerAdapter();
+        testng.addListener(resultado);
+        testng.run();
+        return resultado;
+    }
+
+    /**
+     * Números de uma classe de falha no retry-report.json gravado no fim da execução
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> relatorio(FailureClass classe) throws IOException {
+        Map<String, Object> report = new Json().toType(Files.readString(relatorios.resolve("retry-report.json")), Map.class);
+        return (Map<String, Object>) report.get(classe.name());
+    }
+
+    @Test(description = "Classificação pelo tipo da exceção, pelas causas e pela saúde da sessão")
+    public void testeClassificacao() {
+        Assert.assertEquals(FailureClass.classify(new AssertionError("x"), true), FailureClass.ASSERTION);
+        Assert.assertEquals(FailureClass.classify(new AssertionError("x"), false), FailureClass.INFRASTRUCTURE);
+        Assert.assertEquals(FailureClass.classify(new NoSuchSessionException("x"), true), FailureClass.INFRASTRUCTURE);
+        Assert.assertEquals(FailureClass.classify(new WebDriverException(new SocketTimeoutException("read timed out")), true),
+                FailureClass.INFRASTRUCTURE);
+        Assert.assertEquals(FailureClass.classify(new WebDriverException(
+                "An unknown server-side error occurred: instrumentation process is not running"), true),
+                FailureClass.INFRASTRUCTURE);
+        Assert.assertEquals(FailureClass.classify(new TimeoutException("x"), true), FailureClass.TIMEOUT);
+        Assert.assertEquals(FailureClass.classify(new NoSuchElementException("x"), true), FailureClass.TIMEOUT);
+        Assert.assertFalse(FailureClass.ASSERTION.isRetryable());
+    }
+
+    @Test(description = "Sessão quebrada: nova tentativa em sessão nova, e o teste passa")
+    public void testeInfraestruturaUsaSessaoNova() throws IOException {
+        TestListenerAdapter resultado = executar(RetryScenarios.Infraestrutura.class);
+
+        Assert.assertEquals(resultado.getPassedTests().size(), 1);
+        Assert.assertEquals(RetryScenarios.execucoes.get(), 2);
+        Assert.assertEquals(stub.count("newSession"), 2, "Nova tentativa deveria criar outra sessão");
+        Map<String, Object> infraestrutura = relatorio(FailureClass.INFRASTRUCTURE);
+        Assert.assertEquals(((Number) infraestrutura.get("novasTentativas")).intValue(), 1);
+        Assert.assertEquals(((Number) infraestrutura.get("recuperadas")).intValue(), 1);
+    }
+
+    @Test(description = "Timeout com a sessão saudável: nova tentativa na mesma sessão, com o app reiniciado")
+    public void testeTimeoutReaproveitaSessao() throws IOException {
+        TestListenerAdapter resultado = executar(RetryScenarios.Timeout.class);
+
+        Assert.assertEquals(resultado.getPassedTests().size(), 1);
+        Assert.assertEquals(stub.count("newSession"), 1, "Nova tentativa não deveria criar sessão");
+        Assert.assertEquals(stub.count("mobile: terminateApp"), 1, "App não foi reiniciado para a nova tentativa");
+        Assert.assertEquals(stub.count("getOrientation"), 1, "Saúde da sessão deveria ser consultada pela orientação");
+        Assert.assertEquals(((Number) relatorio(FailureClass.TIMEOUT).get("recuperadas")).intValue(), 1);
+    }
+
+    @Test(description = "Falha de verificação não é repetida")
+    public void testeVerificacaoNaoRepete() throws IOException {
+        TestListenerAdapter resultado = executar(RetryScenarios.Verificacao.class);
+
+        Assert.assertEquals(resultado.getFailedTests().size(), 1);
+        Assert.assertEquals(RetryScenarios.execucoes.get(), 1);
+        Assert.assertEquals(((Number) relatorio(FailureClass.ASSERTION).get("falhas")).intValue(), 1);
+        Assert.assertEquals(((Number) relatorio(FailureClass.ASSERTION).get("novasTentativas")).intValue(), 0);
+    }
+}
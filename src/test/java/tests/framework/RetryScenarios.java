@@ -0,0 +1,46 @@
+package tests.framework;
+
+import driver.DriverManager;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import tests.base.BaseTest;
+import tests.stub.StubAppiumServer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes que falham de propósito, executados pelo RetryAnalyzerTest em uma instância separada do TestNG
+ * (fora das suítes)
+ */
+public class RetryScenarios {
+    static StubAppiumServer stub;
+    static final AtomicInteger execucoes = new AtomicInteger();
+
+    public static class Infraestrutura extends BaseTest {
+        @Test
+        public void sessaoCaiNaPrimeiraTentativa() {
+            if (execucoes.incrementAndGet() == 1) {
+                stub.killSessions();
+                DriverManager.getDriver().getPageSource();
+            }
+        }
+    }
+
+    public static class Timeout extends BaseTest {
+        @Test
+        public void elementoDemoraNaPrimeiraTentativa() {
+            if (execucoes.incrementAndGet() == 1) {
+                throw new TimeoutException("Condição não satisfeita");
+            }
+        }
+    }
+
+    public static class Verificacao extends BaseTest {
+        @Test
+        public void verificacaoFalha() {
+            execucoes.incrementAndGet();
+            Assert.fail("Contato não encontrado");
+        }
+    }
+}
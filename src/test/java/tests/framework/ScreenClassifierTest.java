@@ -0,0 +1,100 @@
+package tests.framework;
+
+import factory.PageFactory;
+import factory.ScreenClassifier;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import pages.android.AdicionarContatoPageAndroid;
+import pages.android.ContatosMainPageAndroid;
+import pages.android.DetalhesContatoPageAndroid;
+import pages.base.BasePage;
+import pages.ios.ContatosMainPageIOS;
+import pages.ios.DetalhesContatoPageIOS;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.PageSnapshot;
+
+/**
+ * Testes do ScreenClassifier contra o app gravado no stub: cada classificação usa um único page source
+ */
+public class ScreenClassifierTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    private void iniciarStub(String platform) {
+        fixture = StubFixture.contatos(platform).property("explicit.wait", "1").createDriver();
+        stub = fixture.getStub();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        if (fixture != null) {
+            fixture.close();
+            fixture = null;
+        }
+    }
+
+    private int contagem(String comando) {
+        return stub.counts().getOrDefault(comando, 0);
+    }
+
+    /**
+     * Classifica a tela atual e confere que foi uma única ida ao dispositivo, sem buscas de elementos
+     */
+    private ScreenClassifier.Classification classificar() {
+        int pageSources = contagem("getPageSource");
+        int buscas = contagem("findElement") + contagem("findElements");
+        ScreenClassifier.Classification classification = ScreenClassifier.classify();
+        Assert.assertEquals(contagem("getPageSource") - pageSources, 1, "Classificação deveria buscar um page source");
+        Assert.assertEquals(contagem("findElement") + contagem("findElements") - buscas, 0,
+                "Classificação não deveria buscar elementos");
+        return classification;
+    }
+
+    @Test(description = "Lista, formulário e detalhes são reconhecidos com um page source cada")
+    public void testeTelasAndroid() {
+        iniciarStub("android");
+        Assert.assertEquals(classificar().getPage(), ContatosMainPageAndroid.class);
+
+        AdicionarContatoPageAndroid formulario = PageFactory.page(ContatosMainPageAndroid.class).clicarAdicionarContato();
+        Assert.assertEquals(classificar().getPage(), AdicionarContatoPageAndroid.class);
+
+        formulario.cancelarAdicao();
+        PageFactory.page(ContatosMainPageAndroid.class).selecionarContato("Ana Souza");
+        Assert.assertEquals(classificar().getPage(), DetalhesContatoPageAndroid.class);
+    }
+
+    @Test(description = "isCurrentPage aceita qualquer indicador da página, mesmo fora do fingerprint")
+    public void testeIsCurrentPageComIndicadorAlternativo() {
+        fixture = StubFixture.of(new StubAppiumServer().start().withPageSource("<hierarchy rotation=\"0\">"
+                        + "<android.widget.ImageButton content-desc=\"More options\"/></hierarchy>"), "android")
+                .property("explicit.wait", "1")
+                .createDriver();
+
+        Assert.assertTrue(BasePage.withoutLoading(DetalhesContatoPageAndroid::new).isCurrentPage(),
+                "Menu de opções sem o botão editar ainda indica a tela de detalhes");
+    }
+
+    @Test(description = "Tela sem nenhum fingerprint completo fica desconhecida, com os elementos ausentes por página")
+    public void testeTelaDesconhecida() {
+        ScreenClassifier.Classification classification =
+                ScreenClassifier.classify(PageSnapshot.parse("<hierarchy/>", "android"), "android");
+
+        Assert.assertFalse(classification.isKnown());
+        Assert.assertNull(classification.getPage());
+        Assert.assertEquals(classification.getMissing().keySet().size(), 3);
+        classification.getMissing().values().forEach(ausentes -> Assert.assertFalse(ausentes.isEmpty()));
+        Assert.assertTrue(classification.toString().contains("ContatosMainPageAndroid"), classification.toString());
+    }
+
+    @Test(description = "currentPage devolve a página tipada da tela atual no iOS")
+    public void testeCurrentPageIOS() {
+        iniciarStub("ios");
+        BasePage atual = PageFactory.currentPage();
+        Assert.assertTrue(atual instanceof ContatosMainPageIOS, "Página atual: " + atual.getClass().getSimpleName());
+
+        ((ContatosMainPageIOS) atual).selecionarContato("Bruno Lima");
+        Assert.assertEquals(classificar().getPage(), DetalhesContatoPageIOS.class);
+    }
+}
@@ -0,0 +1,108 @@
+package tests.framework;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import pages.android.ContatosMainPageAndroid;
+import pages.ios.ContatosMainPageIOS;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ContactSeeder;
+import utils.ElementUtils;
+
+/**
+ * Testes da busca com rolagem em listas grandes contra o app gravado no stub
+ * (o stub renderiza só as linhas visíveis, lista.visiveis no fluxo)
+ */
+public class ScrollToFindTest {
+    // Buscas por UiSelector compilado também usam a estratégia; os testes contam a diferença
+    private static final String UIAUTOMATOR = "find:-android uiautomator";
+    private static final By LISTA_ANDROID = By.id("com.android.contacts:id/contact_list");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    private void iniciarStub(String plataforma, int contatos) {
+        ReplayApp app = ReplayApp.load("contatos", plataforma);
+        app.addContatos(ContactSeeder.generate("Carga", contatos));
+        stub = new StubAppiumServer().start().withApp(app);
+        fixture = StubFixture.of(stub, plataforma)
+                .property("explicit.wait", "1")
+                .property("scroll.to.find.enabled", "true")
+                .createDriver();
+    }
+
+    @Test(description = "Android: contato fora da tela encontrado com um único UiScrollable, sem swipes do cliente")
+    public void testeRolagemAndroid() {
+        iniciarStub("android", 5_000);
+
+        ContatosMainPageAndroid lista = new ContatosMainPageAndroid();
+        int antes = stub.count(UIAUTOMATOR);
+
+        Assert.assertTrue(lista.contatoExiste("Carga 04321"));
+        Assert.assertEquals(stub.count(UIAUTOMATOR) - antes, 1);
+        Assert.assertEquals(stub.count("mobile: swipeGesture"), 0);
+    }
+
+    @Test(description = "Android: contato inexistente não é encontrado, ainda com uma única rolagem")
+    public void testeContatoInexistente() {
+        iniciarStub("android", 1_000);
+
+        ContatosMainPageAndroid lista = new ContatosMainPageAndroid();
+        int antes = stub.count(UIAUTOMATOR);
+
+        Assert.assertFalse(lista.contatoExiste("Zé Ninguém"));
+        Assert.assertEquals(stub.count(UIAUTOMATOR) - antes, 1);
+    }
+
+    @Test(description = "Desabilitado, só as linhas visíveis são consideradas")
+    public void testeDesabilitado() {
+        iniciarStub("android", 100);
+        fixture.property("scroll.to.find.enabled", "false");
+
+        ContatosMainPageAndroid lista = new ContatosMainPageAndroid();
+        int antes = stub.count(UIAUTOMATOR);
+
+        Assert.assertFalse(lista.contatoExiste("Carga 00050"));
+        Assert.assertEquals(stub.count(UIAUTOMATOR) - antes, 0);
+    }
+
+    @Test(description = "iOS: mobile: scroll com predicate leva até o contato, que é aberto")
+    public void testeRolagemIOS() {
+        iniciarStub("ios", 2_000);
+
+        new ContatosMainPageIOS().selecionarContato("Carga 01500");
+
+        Assert.assertEquals(stub.count("mobile: scroll"), 1);
+        Assert.assertEquals(stub.getApp().getScreen(), "detalhes");
+    }
+
+    @Test(description = "iOS: rolagem que termina sem erro só conta como encontrada com o item visível")
+    public void testeRolagemIOSConfereItemVisivel() {
+        iniciarStub("ios", 500);
+        By lista = By.xpath("//XCUIElementTypeTable[@name='ContactsList']");
+
+        Assert.assertFalse(ElementUtils.scrollIntoView(lista, "Zé Ninguém"));
+        Assert.assertTrue(ElementUtils.scrollIntoView(lista, "Carga 00400"));
+        Assert.assertEquals(stub.count("mobile: scroll"), 2);
+    }
+
+    @Test(description = "swipeUp avança uma tela da lista e swipeDown volta")
+    public void testeSwipes() {
+        iniciarStub("android", 100);
+        By primeiro = By.xpath("//android.widget.TextView[@text='Ana Souza']");
+
+        ElementUtils.swipeUp(LISTA_ANDROID);
+        Assert.assertFalse(ElementUtils.isElementPresent(primeiro), "Lista não avançou");
+        ElementUtils.swipeDown(LISTA_ANDROID);
+        Assert.assertTrue(ElementUtils.isElementPresent(primeiro), "Lista não voltou ao início");
+        Assert.assertEquals(stub.count("mobile: swipeGesture"), 2);
+    }
+}
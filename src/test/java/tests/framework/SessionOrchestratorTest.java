@@ -0,0 +1,109 @@
+package tests.framework;
+
+import driver.DriverManager;
+import driver.SessionContext;
+import driver.SessionOrchestrator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ConfigManager;
+import utils.ElementUtils;
+import utils.ProbeMetrics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Testes do SessionContext (sessão independente da thread) e do SessionOrchestrator contra o stub
+ */
+public class SessionOrchestratorTest {
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeMethod
+    public void iniciarStub() {
+        fixture = StubFixture.contatos("android").property("devices.android", "stub-1,stub-2,stub-3,stub-4,stub-5,stub-6");
+        stub = fixture.getStub();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @Test(description = "Sessão criada em um contexto é usada de outra thread, sem aparecer na thread original")
+    public void testeContextoEntreThreads() throws Exception {
+        SessionContext contexto = new SessionContext("sessao-teste");
+        contexto.run(DriverManager::createDriver);
+        try {
+            Assert.assertFalse(DriverManager.isDriverActive(), "Driver vazou para o contexto da thread");
+            SessionId sessao = contexto.getDriver().getSessionId();
+            int probesDaThread = ProbeMetrics.current().getProbes();
+
+            SessionId vistaDeOutraThread = CompletableFuture.supplyAsync(() -> {
+                contexto.run(() -> ElementUtils.isElementPresent(By.id("com.android.contacts:id/floating_action_button")));
+                return contexto.getDriver().getSessionId();
+            }).join();
+
+            Assert.assertEquals(vistaDeOutraThread, sessao);
+            Assert.assertEquals(contexto.getDevice(), "stub-1");
+            Assert.assertEquals(contexto.getProbeMetrics().getProbes(), 1, "Métrica não ficou no contexto da sessão");
+            Assert.assertEquals(ProbeMetrics.current().getProbes(), probesDaThread);
+        } finally {
+            contexto.run(DriverManager::quitDriver);
+        }
+        Assert.assertEquals(stub.activeSessions(), 0);
+    }
+
+    @Test(description = "Fluxos em sessões simultâneas, limitadas a max.sessions, com dispositivo e driver próprios")
+    public void testeFluxosSimultaneos() {
+        List<SessionOrchestrator.Flow<String>> fluxos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            fluxos.add(sessao -> {
+                Assert.assertEquals(ConfigManager.getInstance().getPlatform(), "android");
+                sessao.getDriver().getPageSource();
+                Thread.sleep(100);
+                return sessao.getDriver().getSessionId() + "@" + sessao.getDevice();
+            });
+        }
+
+        List<String> resultados;
+        int pico;
+        try (SessionOrchestrator orquestrador = new SessionOrchestrator("android", null, 3)) {
+            resultados = orquestrador.runAll(fluxos);
+            pico = orquestrador.getPeakSessions();
+        }
+
+        Assert.assertEquals(new HashSet<>(resultados).size(), 6, "Fluxos compartilharam sessão: " + resultados);
+        Assert.assertTrue(pico > 1 && pico <= 3, "Sessões simultâneas fora do limite: " + pico);
+        Assert.assertEquals(stub.count("newSession"), 6);
+        Assert.assertEquals(stub.activeSessions(), 0, "Sessão não finalizada ao fim do fluxo");
+    }
+
+    @Test(description = "Falha de um fluxo não interrompe os demais e é lançada no fim")
+    public void testeFalhaDeUmFluxo() {
+        List<SessionOrchestrator.Flow<Integer>> fluxos = List.of(
+                sessao -> 1,
+                sessao -> {
+                    throw new IllegalStateException("Contato não encontrado");
+                },
+                sessao -> 3);
+
+        try (SessionOrchestrator orquestrador = new SessionOrchestrator("android", null, 2)) {
+            orquestrador.runAll(fluxos);
+            Assert.fail("Falha do fluxo não foi lançada");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException, "Causa inesperada: " + e.getCause());
+        }
+        Assert.assertEquals(stub.count("newSession"), 3);
+        Assert.assertEquals(stub.activeSessions(), 0);
+    }
+}
@@ -0,0 +1,170 @@
+package tests.framework;
+
+import driver.SessionPool;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes do pool de sessões contra o stub Appium local
+ */
+public class SessionPoolTest {
+    private StubAppiumServer stub;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        stub.stop();
+    }
+
+    private SessionPool novoPool(Duration maxAge, int maxUses) {
+        return new SessionPool((platform, caps) -> new AndroidDriver(stub.getUrl(), caps), maxAge, maxUses);
+    }
+
+    private static DesiredCapabilities caps(String deviceName) {
+        return caps(deviceName, "com.android.contacts");
+    }
+
+    private static DesiredCapabilities caps(String deviceName, String appPackage) {
+        DesiredCapabilities caps = new DesiredCapabilities();
+        caps.setCapability("platformName", "Android");
+        caps.setCapability("appium:deviceName", deviceName);
+        caps.setCapability("appium:automationName", "UiAutomator2");
+        caps.setCapability("appPackage", appPackage);
+        return caps;
+    }
+
+    @Test(description = "Sessão devolvida é reutilizada com reinício do app")
+    public void testeReutilizaSessao() throws Exception {
+        SessionPool pool = novoPool(Duration.ofMinutes(5), 10);
+        int criadas = stub.count("newSession");
+
+        SessionPool.PooledSession primeira = pool.lease("android", caps("emulator-5554"));
+        AppiumDriver driver = primeira.getDriver();
+        pool.release(primeira);
+
+        SessionPool.PooledSession segunda = pool.lease("android", caps("emulator-5554"));
+        Assert.assertSame(segunda.getDriver(), driver, "Sessão não foi reutilizada");
+        Assert.assertEquals(segunda.getUses(), 2);
+        Assert.assertEquals(stub.count("newSession") - criadas, 1, "Sessão extra negociada");
+        Assert.assertTrue(stub.count("mobile: terminateApp") > 0, "App não foi reiniciado");
+        Assert.assertTrue(stub.count("mobile: activateApp") > 0, "App não foi reativado");
+
+        pool.release(segunda);
+        pool.shutdown();
+        Assert.assertEquals(pool.idleCount(), 0);
+    }
+
+    @Test(description = "Capabilities diferentes não compartilham sessão")
+    public void testeSeparaPorCapabilities() throws Exception {
+        SessionPool pool = novoPool(Duration.ofMinutes(5), 10);
+
+        SessionPool.PooledSession a = pool.lease("android", caps("emulator-5554"));
+        pool.release(a);
+        SessionPool.PooledSession b = pool.lease("android", caps("emulator-5556"));
+
+        Assert.assertNotSame(b.getDriver(), a.getDriver(), "Sessão compartilhada entre dispositivos");
+        pool.release(b);
+        pool.shutdown();
+    }
+
+    @Test(description = "Sessão é descartada ao atingir o limite de usos")
+    public void testeLimiteDeUsos() throws Exception {
+        SessionPool pool = novoPool(Duration.ofMinutes(5), 2);
+        int sessoesAntes = stub.activeSessions();
+
+        SessionPool.PooledSession primeira = pool.lease("android", caps("emulator-5554"));
+        pool.release(primeira);
+        SessionPool.PooledSession segunda = pool.lease("android", caps("emulator-5554"));
+        pool.release(segunda);
+
+        Assert.assertEquals(pool.idleCount(), 0, "Sessão expirada voltou ao pool");
+        Assert.assertEquals(stub.activeSessions(), sessoesAntes, "Sessão expirada não foi finalizada");
+    }
+
+    @Test(description = "Sessão é descartada ao atingir a idade máxima")
+    public void testeIdadeMaxima() throws Exception {
+        SessionPool pool = novoPool(Duration.ZERO, 10);
+
+        SessionPool.PooledSession primeira = pool.lease("android", caps("emulator-5554"));
+        pool.release(primeira);
+        SessionPool.PooledSession segunda = pool.lease("android", caps("emulator-5554"));
+
+        Assert.assertNotSame(segunda.getDriver(), primeira.getDriver(), "Sessão expirada foi reutilizada");
+        pool.discard(segunda, "fim do teste");
+    }
+
+    @Test(description = "Pré-criação: sessão expirada substituída em segundo plano e entregue no próximo lease")
+    public void testePreCriacaoEntregaSubstituta() throws Exception {
+        SessionPool pool = new SessionPool((platform, caps) -> new AndroidDriver(stub.getUrl(), caps),
+                Duration.ofMinutes(5), 1, true);
+        stub.withSessionStartup(400);
+        try {
+            SessionPool.PooledSession primeira = pool.lease("android", caps("emulator-5554"));
+            int criadas = stub.count("newSession");
+            pool.release(primeira);
+            Assert.assertEquals(pool.warmCount(), 1, "Substituta não foi pedida ao devolver a sessão expirada");
+
+            // Teardown e início do próximo teste enquanto a substituta é negociada
+            Thread.sleep(700);
+            long inicio = System.nanoTime();
+            SessionPool.PooledSession segunda = pool.lease("android", caps("emulator-5554"));
+            long esperaMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            Assert.assertNotSame(segunda.getDriver(), primeira.getDriver());
+            Assert.assertEquals(stub.count("newSession") - criadas, 1, "Sessão extra negociada");
+            Assert.assertTrue(esperaMs < 300, "Lease esperou a negociação: " + esperaMs + " ms");
+            Assert.assertEquals(pool.warmCount(), 0);
+            pool.discard(segunda, "fim do teste");
+        } finally {
+            stub.withSessionStartup(0);
+            pool.shutdown();
+        }
+    }
+
+    @Test(description = "Falha na pré-criação: o lease cria a sessão na hora")
+    public void testeFalhaNaPreCriacao() throws Exception {
+        AtomicInteger chamadas = new AtomicInteger();
+        SessionPool pool = new SessionPool((platform, caps) -> {
+            if (chamadas.incrementAndGet() == 2) {
+                throw new IllegalStateException("UiAutomator2 não iniciou");
+            }
+            return new AndroidDriver(stub.getUrl(), caps);
+        }, Duration.ofMinutes(5), 1, true);
+
+        pool.release(pool.lease("android", caps("emulator-5554")));
+        SessionPool.PooledSession segunda = pool.lease("android", caps("emulator-5554"));
+
+        Assert.assertEquals(chamadas.get(), 3, "Lease não criou a sessão depois da falha da pré-criação");
+        Assert.assertNotNull(segunda.getDriver().getSessionId());
+        pool.discard(segunda, "fim do teste");
+        pool.shutdown();
+    }
+
+    @Test(description = "Capabilities diferentes no mesmo dispositivo descartam a sessão pré-criada")
+    public void testeCapabilitiesDiferentesDescartamPreCriada() throws Exception {
+        SessionPool pool = new SessionPool((platform, caps) -> new AndroidDriver(stub.getUrl(), caps),
+                Duration.ofMinutes(5), 1, true);
+        int sessoesAntes = stub.activeSessions();
+
+        pool.release(pool.lease("android", caps("emulator-5554")));
+        SessionPool.PooledSession outroApp = pool.lease("android", caps("emulator-5554", "com.android.settings"));
+
+        Assert.assertEquals(pool.warmCount(), 0, "Sessão pré-criada com outras capabilities mantida");
+        Assert.assertEquals(stub.activeSessions(), sessoesAntes + 1, "Dispositivo com mais de uma sessão");
+        pool.discard(outroApp, "fim do teste");
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package tests.framework;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import tests.base.ShardPlanner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Testes da divisão de testes em shards pela duração histórica
+ */
+public class ShardPlannerTest {
+    private static final List<String> TESTES = List.of("T.a", "T.b", "T.c", "T.d", "T.e", "T.f");
+
+    private static long carga(List<String> shard, Map<String, Long> duracoes) {
+        return shard.stream().mapToLong(duracoes::get).sum();
+    }
+
+    @Test(description = "Sem histórico, divide em rodízio na ordem da suíte")
+    public void testeRodizioSemHistorico() {
+        List<List<String>> plano = ShardPlanner.plan(TESTES, Map.of(), 2);
+
+        Assert.assertEquals(plano.get(0), List.of("T.a", "T.c", "T.e"));
+        Assert.assertEquals(plano.get(1), List.of("T.b", "T.d", "T.f"));
+    }
+
+    @Test(description = "Com histórico, maior duração primeiro no shard menos carregado")
+    public void testeEquilibrioPorDuracao() {
+        Map<String, Long> duracoes = Map.of("T.a", 1000L, "T.b", 100L, "T.c", 900L, "T.d", 300L, "T.e", 200L, "T.f", 100L);
+        List<List<String>> plano = ShardPlanner.plan(TESTES, duracoes, 2);
+
+        // Rodízio daria 2100 ms x 500 ms; o plano fica em 1300 x 1300
+        Assert.assertEquals(carga(plano.get(0), duracoes), 1300);
+        Assert.assertEquals(carga(plano.get(1), duracoes), 1300);
+        Assert.assertEquals(plano.get(0), List.of("T.a", "T.b", "T.e"), "Shard deveria manter a ordem da suíte");
+    }
+
+    @Test(description = "Teste sem histórico conta com a mediana dos conhecidos; todo teste cai em um único shard")
+    public void testeTesteNovoUsaMediana() {
+        Map<String, Long> duracoes = Map.of("T.a", 1000L, "T.b", 500L, "T.c", 100L);
+        List<List<String>> plano = ShardPlanner.plan(TESTES, duracoes, 3);
+
+        Assert.assertEquals(plano.stream().mapToInt(List::size).sum(), TESTES.size());
+        Assert.assertEquals(plano.get(0), List.of("T.a", "T.c"));
+        plano.forEach(shard -> Assert.assertFalse(shard.isEmpty()));
+    }
+
+    @Test(description = "Formato i/N com índices a partir de 1",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testeShardInvalido() {
+        Assert.assertEquals(ShardPlanner.Shard.parse("2/4").getIndex(), 2);
+        ShardPlanner.Shard.parse("0/4");
+    }
+
+    @Test(description = "Histórico lido do testng-results.xml, com o setUp somado ao teste seguinte")
+    public void testeHistoricoDoTestng() throws IOException {
+        Path historico = Files.createTempDirectory("historico");
+        Files.write(historico.resolve("testng-results.xml"), String.join("\n",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<testng-results><suite><test><class name=\"tests.android.ContatosTestAndroid\">",
+                "<test-method is-config=\"true\" name=\"setUp\" duration-ms=\"1500\" status=\"PASS\"/>",
+                "<test-method name=\"testeAdicionarContatoAndroid\" duration-ms=\"900\" status=\"PASS\"/>",
+                "<test-method is-config=\"true\" name=\"tearDown\" duration-ms=\"30\" status=\"PASS\"/>",
+                "<test-method name=\"testeCancelarAdicaoAndroid\" duration-ms=\"400\" status=\"PASS\"/>",
+                "</class></test></suite></testng-results>").getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Long> duracoes = ShardPlanner.loadHistory(historico);
+
+        Assert.assertEquals(duracoes.get("tests.android.ContatosTestAndroid.testeAdicionarContatoAndroid"), Long.valueOf(2400));
+        Assert.assertEquals(duracoes.get("tests.android.ContatosTestAndroid.testeCancelarAdicaoAndroid"), Long.valueOf(430));
+        Assert.assertTrue(ShardPlanner.loadHistory(historico.resolve("inexistente")).isEmpty());
+    }
+}
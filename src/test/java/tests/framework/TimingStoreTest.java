@@ -0,0 +1,106 @@
+package tests.framework;
+
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.base.RetryListener;
+import tests.base.RetryStats;
+import tests.base.TimingListener;
+import tests.base.TimingStore;
+import tests.stub.StubFixture;
+import tests.stub.SystemProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Testes do histórico de duração dos testes (TimingStore) e da gravação pelo TimingListener
+ */
+public class TimingStoreTest {
+    private final SystemProperties propriedades = new SystemProperties();
+    private Path arquivo;
+
+    @BeforeMethod
+    public void configurarArquivo() throws IOException {
+        arquivo = Files.createTempDirectory("duracoes").resolve("test-timings.tsv");
+        propriedades.set("timing.store.path", arquivo.toString()).set("timing.store.samples", "3");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void limparPropriedades() {
+        propriedades.restore();
+    }
+
+    private static TimingStore.Sample amostra(String teste, String plataforma, String dispositivo, long duracao,
+                                              String resultado, long quando) {
+        return new TimingStore.Sample(teste, plataforma, dispositivo, duracao, 100, resultado, quando);
+    }
+
+    @Test(description = "Compactação mantém as últimas execuções de cada teste/plataforma/dispositivo")
+    public void testeCompactacao() throws IOException {
+        for (int i = 1; i <= 5; i++) {
+            TimingStore.record(amostra("T.a", "android", "emulator-5554", i * 10, "PASS", i));
+            TimingStore.record(amostra("T.a", "android", "emulator-5556", i * 10, "PASS", i));
+        }
+        TimingStore.record(amostra("T.b", "android", "emulator-5554", 50, "FAIL", 6));
+        Files.writeString(arquivo, "registro cortado\n", StandardOpenOption.APPEND);
+        Assert.assertEquals(TimingStore.load().size(), 11);
+
+        TimingStore.compact();
+
+        List<TimingStore.Sample> amostras = TimingStore.load();
+        Assert.assertEquals(amostras.size(), 7);
+        Assert.assertEquals(amostras.stream().filter(s -> s.getDevice().equals("emulator-5554") && s.getTest().equals("T.a"))
+                .map(TimingStore.Sample::getDurationMs).collect(Collectors.toList()), List.of(30L, 40L, 50L));
+        Assert.assertEquals(Files.readAllLines(arquivo).size(), 7, "Registro inválido deveria sair na compactação");
+    }
+
+    @Test(description = "Estimativa pela mediana de setup + duração na plataforma; mais lentos primeiro")
+    public void testeEstimativaEOrdem() {
+        TimingStore.record(amostra("T.a", "android", "emulator-5554", 900, "PASS", 1));
+        TimingStore.record(amostra("T.a", "android", "emulator-5556", 1900, "FAIL", 2));
+        TimingStore.record(amostra("T.a", "android", "emulator-5554", 1000, "PASS", 3));
+        TimingStore.record(amostra("T.b", "android", "emulator-5554", 100, "PASS", 4));
+        TimingStore.record(amostra("T.b", "android", "emulator-5554", 9000, "SKIP", 5));
+        TimingStore.record(amostra("T.c", "ios", "iPhone 15", 5000, "PASS", 6));
+
+        Map<String, Long> estimativas = TimingStore.estimates("android");
+
+        Assert.assertEquals(estimativas, Map.of("T.a", 1100L, "T.b", 200L));
+        // T.d sem histórico conta com a mediana (1100) e fica depois de T.a, que vem antes na suíte
+        Assert.assertEquals(TimingStore.slowestFirst(List.of("T.b", "T.a", "T.d"), estimativas), List.of("T.a", "T.d", "T.b"));
+        Assert.assertEquals(TimingStore.slowestFirst(List.of("T.x", "T.y"), estimativas), List.of("T.x", "T.y"));
+    }
+
+    @Test(description = "Listener grava cada execução com dispositivo, setup e resultado, inclusive a nova tentativa")
+    public void testeGravacaoPeloListener() {
+        RetryScenarios.execucoes.set(0);
+        try (StubFixture fixture = StubFixture.contatos("android").property("retry.delay.seconds", "0")) {
+            fixture.getStub().withLatency("newSession", 50);
+            TestNG testng = new TestNG(false);
+            testng.setVerbose(0);
+            testng.setTestClasses(new Class[] {RetryScenarios.Timeout.class});
+            testng.addListener(new RetryListener());
+            testng.addListener(new TimingListener());
+            testng.run();
+        } finally {
+            RetryStats.reset();
+        }
+
+        List<TimingStore.Sample> amostras = TimingStore.load();
+        Assert.assertEquals(amostras.stream().map(TimingStore.Sample::getOutcome).collect(Collectors.toList()),
+                List.of("FAIL", "PASS"));
+        TimingStore.Sample primeira = amostras.get(0);
+        Assert.assertEquals(primeira.getTest(), RetryScenarios.Timeout.class.getName() + ".elementoDemoraNaPrimeiraTentativa");
+        Assert.assertEquals(primeira.getPlatform(), "android");
+        Assert.assertEquals(primeira.getDevice(), "emulator-5556");
+        Assert.assertTrue(primeira.getSetupMs() >= 50, "Criação da sessão não contada no setup: " + primeira.getSetupMs());
+    }
+}
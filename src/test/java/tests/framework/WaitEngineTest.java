@@ -0,0 +1,106 @@
+package tests.framework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+import utils.WaitEngine;
+import utils.WaitMetrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Testes da espera com polling adaptativo
+ */
+public class WaitEngineTest {
+    private static final By ADICIONAR = By.id("com.android.contacts:id/floating_action_button");
+    private static final By TITULO_FORMULARIO = By.xpath("//android.widget.TextView[@text='Create new contact']");
+    private static final long TRANSICAO_MS = 150;
+
+    private final WaitEngine engine = new WaitEngine(Duration.ofSeconds(2), Duration.ofMillis(10), Duration.ofMillis(40), 2,
+            List.of(NoSuchElementException.class, StaleElementReferenceException.class));
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withApp(ReplayApp.load("contatos", "android").withTransitionDelay(TRANSICAO_MS));
+        fixture = StubFixture.of(stub, "android").property("explicit.wait", "2").createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @BeforeMethod
+    public void zerarMetricas() {
+        WaitMetrics.reset();
+    }
+
+    @Test(description = "Intervalos crescem pelo fator de backoff até o teto")
+    public void testeBackoffAteOTeto() {
+        long inicio = System.nanoTime();
+        String resultado = engine.poll(Duration.ofSeconds(2), tentativa -> tentativa == 4 ? "ok" : null);
+        long duracao = (System.nanoTime() - inicio) / 1_000_000;
+
+        Assert.assertEquals(resultado, "ok");
+        Assert.assertEquals(WaitMetrics.current().getLastPolls(), 5);
+        // 10 + 20 + 40 + 40 (teto)
+        Assert.assertTrue(duracao >= 110 && duracao < 500, "Intervalos fora do esperado: " + duracao + " ms");
+    }
+
+    @Test(description = "Exceções ignoradas contam como condição não satisfeita; as demais interrompem a espera")
+    public void testeExcecoesIgnoradas() {
+        String resultado = engine.poll(Duration.ofSeconds(2), tentativa -> {
+            if (tentativa < 2) {
+                throw new NoSuchElementException("ainda não apareceu");
+            }
+            return "ok";
+        });
+        Assert.assertEquals(resultado, "ok");
+        Assert.assertEquals(WaitMetrics.current().getLastPolls(), 3);
+
+        Assert.assertThrows(IllegalStateException.class, () -> engine.poll(Duration.ofSeconds(2), tentativa -> {
+            throw new IllegalStateException("erro real");
+        }));
+        Assert.assertEquals(WaitMetrics.current().getLastPolls(), 1, "Erro não ignorado não deveria repetir a consulta");
+    }
+
+    @Test(description = "Timeout respeitado mesmo com o intervalo no teto")
+    public void testeTimeout() {
+        long inicio = System.nanoTime();
+        Assert.assertNull(engine.poll(Duration.ofMillis(200), tentativa -> null));
+        long duracao = (System.nanoTime() - inicio) / 1_000_000;
+
+        Assert.assertTrue(duracao >= 200 && duracao < 350, "Timeout fora do orçamento: " + duracao + " ms");
+        Assert.assertEquals(WaitMetrics.current().getTimeouts(), 1);
+    }
+
+    @Test(description = "Tela que aparece após a animação é encontrada logo depois, não no próximo ciclo de 500 ms")
+    public void testeTransicaoDeTela() {
+        ElementUtils.click(ADICIONAR);
+        long inicio = System.nanoTime();
+        Assert.assertTrue(ElementUtils.waitForElementPresent(TITULO_FORMULARIO, 2));
+        long duracao = (System.nanoTime() - inicio) / 1_000_000;
+
+        Assert.assertTrue(duracao < TRANSICAO_MS + 150, "Espera após a transição: " + duracao + " ms");
+        Assert.assertTrue(WaitMetrics.current().getLastPolls() > 1, "A tela não deveria estar visível na primeira consulta");
+
+        TimeoutException erro = Assert.expectThrows(TimeoutException.class, () -> WaitEngine.current().until(
+                Duration.ofMillis(200), ExpectedConditions.presenceOfElementLocated(ADICIONAR)));
+        Assert.assertTrue(erro.getCause() instanceof NoSuchElementException, "Causa: " + erro.getCause());
+    }
+}
@@ -1,18 +1,25 @@
 package tests.ios;
 
+import tests.base.AppState;
 import tests.base.BaseTest;
 import factory.PageFactory;
 import pages.ios.*;
 import model.Contato;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import utils.ContactSeeder;
 
 /**
  * Testes específicos para iOS
  */
+@AppState(produces = ContatosTestIOS.TELA_PRINCIPAL)
 public class ContatosTestIOS extends BaseTest {
+    // Estados do app encadeados entre os testes (ver AppStateInterceptor)
+    static final String TELA_PRINCIPAL = "tela:principal";
+    static final String CONTATO_ADICIONADO = "contato:Fábio Fernandes";
     
     @Test(description = "Teste de adição de contato no iOS")
+    @AppState(requires = TELA_PRINCIPAL, produces = CONTATO_ADICIONADO)
     public void testeAdicionarContatoIOS() {
         logger.info("Iniciando teste de adição de contato no iOS");
         
@@ -25,7 +32,7 @@ public class ContatosTestIOS extends BaseTest {
                 .build();
         
         // Navegar e adicionar contato
-        ContatosMainPageIOS mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+        ContatosMainPageIOS mainPage = PageFactory.page(ContatosMainPageIOS.class);
         Assert.assertTrue(mainPage.isCurrentPage(), "Não está na tela principal de contatos");
         
         AdicionarContatoPageIOS addPage = mainPage.clicarAdicionarContato();
@@ -35,7 +42,7 @@ public class ContatosTestIOS extends BaseTest {
         addPage.salvarContato();
         
         // Verificar se contato foi adicionado
-        ContatosMainPageIOS mainPageRetorno = new ContatosMainPageIOS();
+        ContatosMainPageIOS mainPageRetorno = PageFactory.page(ContatosMainPageIOS.class);
         Assert.assertTrue(mainPageRetorno.isCurrentPage(), "Não retornou para tela principal");
         
         boolean contatoEncontrado = mainPageRetorno.contatoExiste(novoContato.getNome());
@@ -45,10 +52,11 @@ public class ContatosTestIOS extends BaseTest {
     }
     
     @Test(description = "Teste de cancelamento de adição no iOS")
+    @AppState(requires = TELA_PRINCIPAL)
     public void testeCancelarAdicaoIOS() {
         logger.info("Iniciando teste de cancelamento no iOS");
         
-        ContatosMainPageIOS mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+        ContatosMainPageIOS mainPage = PageFactory.page(ContatosMainPageIOS.class);
         AdicionarContatoPageIOS addPage = mainPage.clicarAdicionarContato();
         
         // Preencher dados e cancelar (mesmo contato do Android)
@@ -60,7 +68,7 @@ public class ContatosTestIOS extends BaseTest {
         addPage.preencherContato(contato);
         addPage.cancelarAdicao();
         
-        ContatosMainPageIOS mainPageRetorno = new ContatosMainPageIOS();
+        ContatosMainPageIOS mainPageRetorno = PageFactory.page(ContatosMainPageIOS.class);
         Assert.assertTrue(mainPageRetorno.isCurrentPage(), "Não retornou para tela principal");
         
         // Verificar que contato não foi salvo
@@ -71,24 +79,29 @@ public class ContatosTestIOS extends BaseTest {
     }
     
     @Test(description = "Teste de pesquisa de contato no iOS")
+    @AppState(requires = {TELA_PRINCIPAL, CONTATO_ADICIONADO}, invalidates = TELA_PRINCIPAL)
     public void testePesquisarContatoIOS() {
         logger.info("Iniciando teste de pesquisa no iOS");
         
-        ContatosMainPageIOS mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+        ContatosMainPageIOS mainPage = PageFactory.page(ContatosMainPageIOS.class);
         
         // Se não há contatos, adicionar um para pesquisar
-        if (!mainPage.temContatos()) {
-            AdicionarContatoPageIOS adicionarPage = mainPage.clicarAdicionarContato();
+        if (!estadoDisponivel(CONTATO_ADICIONADO) && !mainPage.temContatos()) {
             Contato contato = new Contato.Builder()
                     .nome("Fábio")
                     .telefone("11999999999")
                     .email("")
                     .build();
-            adicionarPage.preencherContato(contato);
-            adicionarPage.salvarContato();
+            if (ContactSeeder.isEnabled()) {
+                ContactSeeder.forCurrentSession().seed(contato);
+            } else {
+                AdicionarContatoPageIOS adicionarPage = mainPage.clicarAdicionarContato();
+                adicionarPage.preencherContato(contato);
+                adicionarPage.salvarContato();
+            }
             
             // Voltar para a página principal
-            mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+            mainPage = PageFactory.page(ContatosMainPageIOS.class);
         }
         
         // Pesquisar por um contato
@@ -102,10 +115,11 @@ public class ContatosTestIOS extends BaseTest {
     }
     
     @Test(description = "Teste de navegação para detalhes no iOS")
+    @AppState(requires = TELA_PRINCIPAL)
     public void testeAbrirDetalhesContatoIOS() {
         logger.info("Iniciando teste de navegação para detalhes no iOS");
         
-        ContatosMainPageIOS mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+        ContatosMainPageIOS mainPage = PageFactory.page(ContatosMainPageIOS.class);
         
         // Verificar se há contatos na lista
         if (!mainPage.listaSemContatos()) {
@@ -121,36 +135,42 @@ public class ContatosTestIOS extends BaseTest {
     }
     
     @Test(description = "Teste de exclusão de contato no iOS")
+    @AppState(requires = {TELA_PRINCIPAL, CONTATO_ADICIONADO}, invalidates = CONTATO_ADICIONADO)
     public void testeExcluirContatoIOS() {
         logger.info("Iniciando teste de exclusão de contato no iOS");
         
-        ContatosMainPageIOS mainPage = (ContatosMainPageIOS) PageFactory.createContatosMainPage();
+        ContatosMainPageIOS mainPage = PageFactory.page(ContatosMainPageIOS.class);
         Assert.assertTrue(mainPage.isCurrentPage(), "Não está na tela principal de contatos");
         
-        // Definir o contato para exclusão (mesmo nome do Android)
-        String nomeParaExcluir = "Fábio Exclusão";
+        // Contato criado pelo teste de adição (mesmo nome do Android)
+        String nomeParaExcluir = "Fábio Fernandes";
         Contato contatoParaExcluir = new Contato.Builder()
                 .nome(nomeParaExcluir)
-                .telefone("(11) 88888-8888")
-                .email("exclusao@teste.com")
-                .empresa("Empresa Exclusão")
+                .telefone("(11) 99999-9999")
+                .email("fabio@teste.com")
+                .empresa("Empresa Teste")
                 .build();
         
-        // Verificar se o contato já existe
-        boolean contatoJaExiste = mainPage.contatoExiste(nomeParaExcluir);
+        // Contato deixado pelo teste de adição na mesma sessão; fora da cadeia, verificar na lista
+        boolean contatoJaExiste = estadoDisponivel(CONTATO_ADICIONADO) || mainPage.contatoExiste(nomeParaExcluir);
         
         if (!contatoJaExiste) {
             // Contato não existe, então criar primeiro
             logger.info("Contato '{}' não existe, criando antes de excluir", nomeParaExcluir);
             
-            AdicionarContatoPageIOS addPage = mainPage.clicarAdicionarContato();
-            Assert.assertTrue(addPage.isCurrentPage(), "Não está na tela de adicionar contato");
-            
-            addPage.preencherContato(contatoParaExcluir);
-            addPage.salvarContato();
+            if (ContactSeeder.isEnabled()) {
+                // Pré-condição criada direto na agenda, sem passar pelo formulário
+                ContactSeeder.forCurrentSession().seed(contatoParaExcluir);
+            } else {
+                AdicionarContatoPageIOS addPage = mainPage.clicarAdicionarContato();
+                Assert.assertTrue(addPage.isCurrentPage(), "Não está na tela de adicionar contato");
+                
+                addPage.preencherContato(contatoParaExcluir);
+                addPage.salvarContato();
+            }
             
             // Voltar para a página principal e verificar se contato foi criado
-            mainPage = new ContatosMainPageIOS();
+            mainPage = PageFactory.page(ContatosMainPageIOS.class);
             Assert.assertTrue(mainPage.isCurrentPage(), "Não retornou para tela principal após adicionar");
             
             // Verificar se o contato foi criado com sucesso
@@ -0,0 +1,83 @@
+package tests.perf;
+
+import driver.DriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.DeviceLogBuffer;
+
+/**
+ * Benchmark do log do dispositivo em segundo plano: tempo de um fluxo de comandos com e sem a leitura
+ * do log no stub, e memória do buffer circular em uma execução longa simulada
+ */
+public class DeviceLogBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceLogBenchmark.class);
+    private static final int COMANDOS = Integer.getInteger("bench.commands", 200);
+    private static final long LATENCIA_MS = Long.getLong("bench.latency.ms", 5);
+    private static final int POLL_MS = Integer.getInteger("bench.log.poll.ms", 50);
+    private static final int LINHAS_SOAK = Integer.getInteger("bench.log.soak.lines", 2_000_000);
+
+    private StubFixture fixture;
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        if (fixture != null) {
+            fixture.close();
+            fixture = null;
+        }
+    }
+
+    /**
+     * Tempo de COMANDOS leituras de page source em uma sessão nova
+     */
+    private double fluxo(boolean streaming) {
+        finalizarStub();
+        StubAppiumServer stub = new StubAppiumServer().start().withApp(ReplayApp.load("contatos", "android"))
+                .withDefaultLatency(LATENCIA_MS);
+        fixture = StubFixture.of(stub, "android")
+                .property("device.log.streaming.enabled", String.valueOf(streaming))
+                .property("device.log.poll.ms", String.valueOf(POLL_MS))
+                .createDriver();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < COMANDOS; i++) {
+            DriverManager.getDriver().getPageSource();
+        }
+        return (System.nanoTime() - inicio) / 1e6;
+    }
+
+    @Test(description = "Overhead da leitura do log em segundo plano sobre os comandos do teste")
+    public void overheadDaLeitura() {
+        double semLog = fluxo(false);
+        double comLog = fluxo(true);
+        int leituras = fixture.getStub().logReads();
+
+        logger.info("{} comandos: sem log={} ms, com log a cada {} ms={} ms ({} leituras, overhead {}%)", COMANDOS,
+                String.format("%.1f", semLog), POLL_MS, String.format("%.1f", comLog), leituras,
+                String.format("%.1f", (comLog - semLog) * 100 / semLog));
+        Assert.assertTrue(leituras > 0, "Log não foi lido durante o fluxo");
+    }
+
+    @Test(description = "Memória do buffer não cresce com o volume de log de uma execução longa")
+    public void memoriaEmExecucaoLonga() {
+        DeviceLogBuffer buffer = new DeviceLogBuffer(256 * 1024);
+        String linha = "10-18 08:30:00.000  1234  5678 I ActivityManager: Displayed com.android.contacts/.activities.PeopleActivity";
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < LINHAS_SOAK; i++) {
+            buffer.append(linha);
+        }
+        double ms = (System.nanoTime() - inicio) / 1e6;
+
+        logger.info("{} linhas ({} MB) em {} ms; retidos {} KB de {} KB", LINHAS_SOAK,
+                (buffer.getSize() + buffer.getDroppedBytes()) / (1024 * 1024), String.format("%.1f", ms),
+                buffer.getSize() / 1024, buffer.getCapacity() / 1024);
+        Assert.assertTrue(buffer.getSize() <= buffer.getCapacity());
+        Assert.assertEquals(buffer.tail(1).get(0), linha);
+    }
+}
@@ -0,0 +1,135 @@
+package tests.perf;
+
+import driver.DriverManager;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ElementUtils;
+import utils.LocatorCompiler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Benchmark do custo de busca por estratégia de locator
+ * O custo no servidor de cada estratégia é modelado no stub (XPath serializa a hierarquia inteira,
+ * estratégias nativas consultam o framework de automação direto) e ajustável com -Dbench.find.<estrategia>.ms;
+ * os tempos de busca registrados refletem esse modelo, não um dispositivo real.
+ * O que o benchmark verifica é a estratégia que chega ao servidor e o custo real da compilação
+ */
+public class LocatorStrategyBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorStrategyBenchmark.class);
+    private static final int BUSCAS = Integer.getInteger("bench.lookups", 20);
+
+    private static final Map<String, Long> CUSTO_SERVIDOR = new LinkedHashMap<>();
+    static {
+        CUSTO_SERVIDOR.put("xpath", Long.getLong("bench.find.xpath.ms", 120));
+        CUSTO_SERVIDOR.put("-android uiautomator", Long.getLong("bench.find.uiautomator.ms", 35));
+        CUSTO_SERVIDOR.put("-ios predicate string", Long.getLong("bench.find.predicate.ms", 30));
+        CUSTO_SERVIDOR.put("-ios class chain", Long.getLong("bench.find.classchain.ms", 25));
+        CUSTO_SERVIDOR.put("accessibility id", Long.getLong("bench.find.accessibilityid.ms", 15));
+    }
+
+    private static final By[] LOCATORS_ANDROID = {
+        By.xpath("//android.widget.TextView[@text='Contacts' or @text='Contatos']"),
+        By.xpath("//android.widget.EditText[@text='First name']"),
+        By.xpath("//android.widget.ImageButton[@content-desc='More options']"),
+        By.xpath("//android.widget.TextView[contains(@text, '@')]"),
+    };
+
+    private static final By[] LOCATORS_IOS = {
+        By.xpath("//XCUIElementTypeButton[@name='Allow']"),
+        By.xpath("//XCUIElementTypeTextField[@name='First name']"),
+        By.xpath("//XCUIElementTypeCell"),
+        By.xpath("//*[@name='ContactsList']"),
+    };
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start();
+        CUSTO_SERVIDOR.forEach((estrategia, ms) -> stub.withLatency("find:" + estrategia, ms));
+        fixture = StubFixture.of(stub, "android");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    @Test(description = "Custo de compilação do locator (primeira vez e cache)")
+    public void custoDeCompilacao() {
+        By locator = By.xpath("//android.widget.TextView[@resource-id='com.android.contacts:id/cliv_name_textview' and @text='Bench']");
+        long inicio = System.nanoTime();
+        LocatorCompiler.compile(locator, "android");
+        long primeiraUs = (System.nanoTime() - inicio) / 1000;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            LocatorCompiler.compile(locator, "android");
+        }
+        double cacheUs = (System.nanoTime() - inicio) / 1000.0 / 10_000;
+        logger.info("Compilação de locator: primeira={} us, com cache={} us", primeiraUs, String.format("%.2f", cacheUs));
+    }
+
+    @Test(description = "Custo de busca por estratégia no Android")
+    public void buscaAndroid() {
+        medir("android", LOCATORS_ANDROID);
+    }
+
+    @Test(description = "Custo de busca por estratégia no iOS")
+    public void buscaIOS() {
+        medir("ios", LOCATORS_IOS);
+    }
+
+    private void medir(String plataforma, By[] locators) {
+        fixture.property("platform", plataforma);
+        for (By locator : locators) {
+            stub.withElement(locator).withElement(LocatorCompiler.compile(locator, plataforma));
+        }
+        int semCompilacao = 0;
+        for (By locator : locators) {
+            By compilado = LocatorCompiler.compile(locator, plataforma);
+            logger.info("[{}] {} -> {}", plataforma, locator, compilado);
+            if (compilado.equals(locator)) {
+                semCompilacao++;
+            }
+        }
+        DriverManager.createDriver();
+        try {
+            int antes = stub.count("find:xpath");
+            double xpathMs = buscar(false, locators);
+            int xpathSemCompilador = stub.count("find:xpath") - antes;
+            antes = stub.count("find:xpath");
+            double nativoMs = buscar(true, locators);
+            int xpathComCompilador = stub.count("find:xpath") - antes;
+
+            logger.info("[{}] Busca média com a latência modelada no stub: XPath={} ms, compilado={} ms ({}x)", plataforma,
+                    String.format("%.1f", xpathMs), String.format("%.1f", nativoMs), String.format("%.1f", xpathMs / nativoMs));
+            Assert.assertEquals(xpathSemCompilador, BUSCAS * locators.length);
+            Assert.assertEquals(xpathComCompilador, BUSCAS * semCompilacao,
+                    "Locators compiláveis ainda chegaram ao servidor como XPath");
+        } finally {
+            DriverManager.quitDriver();
+        }
+    }
+
+    private double buscar(boolean compilar, By[] locators) {
+        fixture.property("locator.compiler.enabled", String.valueOf(compilar));
+        long inicio = System.nanoTime();
+        for (int i = 0; i < BUSCAS; i++) {
+            for (By locator : locators) {
+                Assert.assertTrue(ElementUtils.isElementPresent(locator), "Elemento não encontrado: " + locator);
+            }
+        }
+        return (System.nanoTime() - inicio) / 1e6 / (BUSCAS * locators.length);
+    }
+}
@@ -0,0 +1,92 @@
+package tests.perf;
+
+import driver.SessionOrchestrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark do SessionOrchestrator: SESSOES fluxos no stub, um de cada vez versus todos ao mesmo tempo,
+ * com o tempo total e o pico de threads do sistema
+ */
+public class OrchestratorBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(OrchestratorBenchmark.class);
+    private static final int SESSOES = Integer.getInteger("bench.sessions", 20);
+    private static final int COMANDOS = Integer.getInteger("bench.commands", 10);
+    private static final long LATENCIA_MS = Long.getLong("bench.latency.ms", 10);
+    private static final long STARTUP_MS = Long.getLong("bench.session.startup.ms", 100);
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start().withApp(ReplayApp.load("contatos", "android"))
+                .withSessionStartup(STARTUP_MS).withDefaultLatency(LATENCIA_MS);
+        fixture = StubFixture.of(stub, "android")
+                .property("device.log.streaming.enabled", "false")
+                .property("devices.android", IntStream.rangeClosed(1, SESSOES)
+                        .mapToObj(i -> "stub-" + i).collect(Collectors.joining(",")));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    /**
+     * Tempo total em ms de SESSOES fluxos (sessão nova + COMANDOS leituras de page source)
+     */
+    private double executar(int simultaneas, int[] picoDeThreads, boolean[] virtual) {
+        List<SessionOrchestrator.Flow<Integer>> fluxos = new ArrayList<>();
+        for (int i = 0; i < SESSOES; i++) {
+            fluxos.add(sessao -> {
+                for (int c = 0; c < COMANDOS; c++) {
+                    sessao.getDriver().getPageSource();
+                }
+                return COMANDOS;
+            });
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        int antes = threads.getThreadCount();
+        long inicio = System.nanoTime();
+        try (SessionOrchestrator orquestrador = new SessionOrchestrator("android", null, simultaneas)) {
+            orquestrador.runAll(fluxos);
+            virtual[0] = orquestrador.usesVirtualThreads();
+        }
+        double ms = (System.nanoTime() - inicio) / 1e6;
+        picoDeThreads[0] = threads.getPeakThreadCount() - antes;
+        return ms;
+    }
+
+    @Test(description = "Fluxos em várias sessões simultâneas contra uma sessão por vez")
+    public void sessoesSimultaneas() {
+        int[] threadsSequencial = new int[1];
+        int[] threadsSimultaneo = new int[1];
+        boolean[] virtual = new boolean[1];
+        double sequencialMs = executar(1, threadsSequencial, virtual);
+        double simultaneoMs = executar(SESSOES, threadsSimultaneo, virtual);
+
+        logger.info("{} sessões ({} comandos, latência {} ms, startup {} ms) em {}: uma por vez={} ms, "
+                        + "simultâneas={} ms ({}x); threads do sistema a mais no pico: {} x {}",
+                SESSOES, COMANDOS, LATENCIA_MS, STARTUP_MS, virtual[0] ? "virtual threads" : "pool de threads",
+                String.format("%.0f", sequencialMs), String.format("%.0f", simultaneoMs),
+                String.format("%.1f", sequencialMs / simultaneoMs), threadsSequencial[0], threadsSimultaneo[0]);
+        Assert.assertTrue(simultaneoMs < sequencialMs, "Sessões simultâneas não reduziram o tempo total");
+        Assert.assertEquals(stub.activeSessions(), 0);
+    }
+}
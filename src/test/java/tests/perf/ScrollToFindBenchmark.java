@@ -0,0 +1,90 @@
+package tests.perf;
+
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+import utils.ContactSeeder;
+import utils.ElementUtils;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark da busca de um contato fora da tela em função do tamanho da lista:
+ * swipes do cliente com conferência do page source a cada tela (antes) versus
+ * rolagem no próprio dispositivo com UiScrollable.scrollIntoView (depois)
+ * O stub renderiza só as linhas visíveis e cobra o tempo de cada tela rolada
+ */
+public class ScrollToFindBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ScrollToFindBenchmark.class);
+    private static final int[] TAMANHOS = Arrays.stream(System.getProperty("bench.list.sizes", "100,500,2000").split(","))
+            .mapToInt(tamanho -> Integer.parseInt(tamanho.trim())).toArray();
+    private static final long LATENCIA_MS = Long.getLong("bench.latency.ms", 5);
+    private static final long ROLAGEM_MS = Long.getLong("bench.scroll.step.ms", 2);
+    private static final By LISTA = By.id("com.android.contacts:id/contact_list");
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @AfterMethod(alwaysRun = true)
+    public void finalizarStub() {
+        if (fixture != null) {
+            fixture.close();
+            fixture = null;
+        }
+    }
+
+    private void iniciarStub(int contatos) {
+        finalizarStub();
+        ReplayApp app = ReplayApp.load("contatos", "android").withScrollStepDelay(ROLAGEM_MS);
+        app.addContatos(ContactSeeder.generate("Carga", contatos));
+        stub = new StubAppiumServer().start().withApp(app).withDefaultLatency(LATENCIA_MS);
+        fixture = StubFixture.of(stub, "android").property("scroll.to.find.enabled", "true").createDriver();
+    }
+
+    /**
+     * Busca antiga: confere a tela e desliza até o contato aparecer
+     */
+    private boolean buscarComSwipes(By contato, int maxSwipes) {
+        for (int swipe = 0; swipe <= maxSwipes; swipe++) {
+            if (ElementUtils.firstPresent(contato) != null) {
+                return true;
+            }
+            ElementUtils.swipeUp(LISTA);
+        }
+        return false;
+    }
+
+    @Test(description = "Tempo e idas ao servidor para achar um contato no fim da lista, por tamanho de lista")
+    public void buscaPorTamanhoDeLista() {
+        for (int tamanho : TAMANHOS) {
+            iniciarStub(tamanho);
+            String nome = String.format("Carga %05d", tamanho * 9 / 10);
+            By contato = By.xpath("//android.widget.TextView[@text='" + nome + "']");
+
+            int comandos = stub.totalCommands();
+            long inicio = System.nanoTime();
+            Assert.assertTrue(buscarComSwipes(contato, tamanho), "Swipes não chegaram a " + nome);
+            double antesMs = (System.nanoTime() - inicio) / 1e6;
+            int antesComandos = stub.totalCommands() - comandos;
+
+            stub.getApp().reset();
+            ElementUtils.invalidateSnapshot();
+            comandos = stub.totalCommands();
+            inicio = System.nanoTime();
+            Assert.assertNotNull(ElementUtils.waitForInList(1, LISTA, nome, contato), "Rolagem não chegou a " + nome);
+            double depoisMs = (System.nanoTime() - inicio) / 1e6;
+            int depoisComandos = stub.totalCommands() - comandos;
+
+            logger.info("Lista com {} contatos: antes={} ms ({} comandos), depois={} ms ({} comandos)", tamanho,
+                    String.format("%.1f", antesMs), antesComandos, String.format("%.1f", depoisMs), depoisComandos);
+            Assert.assertTrue(depoisComandos <= 5, "Rolagem no dispositivo deveria ter idas ao servidor limitadas");
+            Assert.assertTrue(depoisMs < antesMs, "Rolagem no dispositivo não reduziu o tempo de busca");
+        }
+    }
+}
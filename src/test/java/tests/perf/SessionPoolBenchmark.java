@@ -0,0 +1,112 @@
+package tests.perf;
+
+import driver.SessionPool;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tests.stub.StubAppiumServer;
+
+import java.time.Duration;
+
+/**
+ * Benchmark do overhead de sessão por teste: criar/finalizar a cada
+ * método versus emprestar/devolver do pool de sessões, e a espera por sessão nova
+ * com e sem pré-criação em segundo plano
+ */
+public class SessionPoolBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(SessionPoolBenchmark.class);
+    private static final int TESTES = Integer.getInteger("bench.tests", 10);
+    private static final long STARTUP_MS = Long.getLong("bench.session.startup.ms", 500);
+    private static final long RESET_MS = Long.getLong("bench.app.reset.ms", 30);
+    private static final long TEARDOWN_MS = Long.getLong("bench.teardown.ms", 300);
+
+    private StubAppiumServer stub;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withSessionStartup(STARTUP_MS)
+                .withLatency("mobile: terminateApp", RESET_MS)
+                .withLatency("mobile: activateApp", RESET_MS);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        stub.stop();
+    }
+
+    private DesiredCapabilities caps() {
+        DesiredCapabilities caps = new DesiredCapabilities();
+        caps.setCapability("platformName", "Android");
+        caps.setCapability("appium:deviceName", "emulator-5556");
+        caps.setCapability("appium:automationName", "UiAutomator2");
+        caps.setCapability("appPackage", "com.android.contacts");
+        return caps;
+    }
+
+    private AppiumDriver novaSessao() {
+        AppiumDriver driver = new AndroidDriver(stub.getUrl(), caps());
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        return driver;
+    }
+
+    @Test(description = "Overhead de sessão por teste: create/quit vs pool")
+    public void overheadPorTeste() throws Exception {
+        // Antes: uma sessão nova por método de teste
+        long inicio = System.nanoTime();
+        for (int i = 0; i < TESTES; i++) {
+            novaSessao().quit();
+        }
+        double antesMs = (System.nanoTime() - inicio) / 1e6 / TESTES;
+
+        // Depois: sessão emprestada do pool e app reiniciado entre testes
+        SessionPool pool = new SessionPool((platform, caps) -> novaSessao(), Duration.ofMinutes(15), TESTES + 1);
+        inicio = System.nanoTime();
+        for (int i = 0; i < TESTES; i++) {
+            SessionPool.PooledSession session = pool.lease("android", caps());
+            pool.release(session);
+        }
+        double depoisMs = (System.nanoTime() - inicio) / 1e6 / TESTES;
+        pool.shutdown();
+
+        logger.info("Overhead de sessão por teste ({} testes, startup {} ms): antes={} ms, depois={} ms ({}x)",
+                TESTES, STARTUP_MS, String.format("%.1f", antesMs), String.format("%.1f", depoisMs),
+                String.format("%.1f", antesMs / depoisMs));
+        Assert.assertTrue(depoisMs < antesMs, "Pool não reduziu o overhead por teste");
+    }
+
+    /**
+     * Tempo médio da thread do teste bloqueada em lease/release quando toda sessão sai do pool após o uso
+     * (ex: limite de usos ou sessão quebrada); entre um teste e outro, TEARDOWN_MS de teardown e listeners
+     */
+    private double esperaPorTeste(boolean prewarm) throws Exception {
+        SessionPool pool = new SessionPool((platform, caps) -> novaSessao(), Duration.ofMinutes(15), 1, prewarm);
+        long bloqueado = 0;
+        for (int i = 0; i < TESTES; i++) {
+            long inicio = System.nanoTime();
+            SessionPool.PooledSession session = pool.lease("android", caps());
+            pool.release(session);
+            bloqueado += System.nanoTime() - inicio;
+            Thread.sleep(TEARDOWN_MS);
+        }
+        pool.shutdown();
+        return bloqueado / 1e6 / TESTES;
+    }
+
+    @Test(description = "Espera por sessão nova: criação no setup vs pré-criação durante o teardown")
+    public void esperaComPreCriacao() throws Exception {
+        double antesMs = esperaPorTeste(false);
+        double depoisMs = esperaPorTeste(true);
+
+        logger.info("Espera por sessão nova por teste ({} testes, startup {} ms, teardown {} ms): sem pré-criação={} ms, "
+                        + "com pré-criação={} ms", TESTES, STARTUP_MS, TEARDOWN_MS,
+                String.format("%.1f", antesMs), String.format("%.1f", depoisMs));
+        Assert.assertTrue(depoisMs < antesMs, "Pré-criação não reduziu a espera por sessão");
+    }
+}
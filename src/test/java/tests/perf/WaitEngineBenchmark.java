@@ -0,0 +1,103 @@
+package tests.perf;
+
+import driver.DriverManager;
+import model.Contato;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import pages.android.AdicionarContatoPageAndroid;
+import pages.android.ContatosMainPageAndroid;
+import tests.stub.ReplayApp;
+import tests.stub.StubAppiumServer;
+import tests.stub.StubFixture;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Benchmark das esperas explícitas no fluxo de adicionar contato:
+ * polling fixo de 500 ms (como o WebDriverWait) versus polling adaptativo
+ * O stub simula a animação de cada transição de tela
+ */
+public class WaitEngineBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngineBenchmark.class);
+    private static final int FLUXOS = Integer.getInteger("bench.flows", 5);
+    private static final long TRANSICAO_MS = Long.getLong("bench.transition.ms", 120);
+    private static final long LATENCIA_MS = Long.getLong("bench.latency.ms", 5);
+
+    private StubAppiumServer stub;
+    private StubFixture fixture;
+
+    @BeforeClass
+    public void iniciarStub() {
+        stub = new StubAppiumServer().start()
+                .withApp(ReplayApp.load("contatos", "android").withTransitionDelay(TRANSICAO_MS))
+                .withDefaultLatency(LATENCIA_MS);
+        fixture = StubFixture.of(stub, "android");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void finalizarStub() {
+        fixture.close();
+    }
+
+    /**
+     * Executa o fluxo com a configuração de polling informada
+     * @return Tempo médio por etapa, em ms
+     */
+    private Map<String, Double> medirFluxo(int pollInicialMs, int pollMaximoMs, double backoff) {
+        fixture.property("wait.poll.initial.ms", String.valueOf(pollInicialMs))
+                .property("wait.poll.max.ms", String.valueOf(pollMaximoMs))
+                .property("wait.poll.backoff", String.valueOf(backoff))
+                .createDriver();
+
+        Map<String, Double> etapas = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < FLUXOS; i++) {
+                Contato contato = new Contato.Builder().nome("Bench " + i).telefone("(11) 90000-000" + i).build();
+                ContatosMainPageAndroid lista = new ContatosMainPageAndroid();
+
+                long inicio = System.nanoTime();
+                AdicionarContatoPageAndroid formulario = lista.clicarAdicionarContato();
+                inicio = acumular(etapas, "abrir formulário", inicio);
+                formulario.preencherContato(contato);
+                inicio = acumular(etapas, "preencher", inicio);
+                formulario.salvarContato();
+                Assert.assertTrue(lista.contatoExiste(contato.getNome()), "Contato não apareceu na lista");
+                acumular(etapas, "salvar e conferir lista", inicio);
+            }
+        } finally {
+            DriverManager.quitDriver();
+        }
+        etapas.replaceAll((etapa, totalMs) -> totalMs / FLUXOS);
+        return etapas;
+    }
+
+    private static long acumular(Map<String, Double> etapas, String etapa, long inicio) {
+        long agora = System.nanoTime();
+        etapas.merge(etapa, (agora - inicio) / 1e6, Double::sum);
+        return agora;
+    }
+
+    @Test(description = "Latência por etapa do fluxo de adicionar contato: polling fixo vs adaptativo")
+    public void latenciaPorEtapa() {
+        Map<String, Double> antes = medirFluxo(500, 500, 1);
+        Map<String, Double> depois = medirFluxo(25, 500, 2);
+
+        double totalAntes = 0;
+        double totalDepois = 0;
+        for (String etapa : antes.keySet()) {
+            logger.info("Etapa '{}' (transição {} ms): antes={} ms, depois={} ms", etapa, TRANSICAO_MS,
+                    String.format("%.1f", antes.get(etapa)), String.format("%.1f", depois.get(etapa)));
+            totalAntes += antes.get(etapa);
+            totalDepois += depois.get(etapa);
+        }
+        logger.info("Fluxo de adicionar contato ({} execuções): antes={} ms, depois={} ms ({}x)", FLUXOS,
+                String.format("%.1f", totalAntes), String.format("%.1f", totalDepois),
+                String.format("%.1f", totalAntes / totalDepois));
+        Assert.assertTrue(totalDepois < totalAntes, "Polling adaptativo não reduziu a latência do fluxo");
+    }
+}
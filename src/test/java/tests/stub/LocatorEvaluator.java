@@ -0,0 +1,270 @@
+package tests.stub;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Avalia as estratégias de busca do Appium sobre a hierarquia de uma tela gravada
+ * Cobre XPath, id, accessibility id, class name e os formatos de UiSelector,
+ * predicate string e class chain gerados pelo LocatorCompiler
+ */
+class LocatorEvaluator {
+    private static final Pattern UI_SELECTOR_METHOD = Pattern.compile("\\.([a-zA-Z]+)\\(\"((?:[^\"\\\\]|\\\\.)*)\"\\)");
+    private static final Pattern PREDICATE_CLAUSE = Pattern.compile("^(\\w+)\\s+(==|CONTAINS|BEGINSWITH|ENDSWITH)\\s+(?:'((?:[^'\\\\]|\\\\.)*)'|([01]))$");
+    private static final Pattern CLASS_CHAIN = Pattern.compile("^\\*\\*/(\\w+)(?:\\[`(.+)`])?$");
+
+    private final String platform;
+
+    LocatorEvaluator(String platform) {
+        this.platform = platform.toLowerCase();
+    }
+
+    /**
+     * Elementos da tela que atendem à busca, em ordem de documento
+     */
+    List<Element> find(Document document, String using, String value) {
+        switch (using) {
+            case "xpath":
+                return xpath(document, value);
+            case "id":
+                return filter(document, element -> value.equals(element.getAttribute(isIOS() ? "name" : "resource-id")));
+            case "accessibility id":
+                return filter(document, element -> value.equals(element.getAttribute(isIOS() ? "name" : "content-desc")));
+            case "class name":
+                return filter(document, element -> value.equals(element.getTagName()));
+            case "-android uiautomator":
+                return filter(document, uiSelector(value));
+            case "-ios predicate string":
+                return filter(document, predicate(value));
+            case "-ios class chain":
+                return filter(document, classChain(value));
+            default:
+                throw new IllegalArgumentException("Estratégia não suportada pelo stub: " + using);
+        }
+    }
+
+    /**
+     * Verifica se o elemento (ou um ancestral) é selecionado pelo XPath
+     */
+    boolean matchesSelfOrAncestor(Document document, Element element, String expression) {
+        List<Element> selected = xpath(document, expression);
+        for (org.w3c.dom.Node node = element; node instanceof Element; node = node.getParentNode()) {
+            if (selected.contains(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isIOS() {
+        return "ios".equals(platform);
+    }
+
+    private static List<Element> xpath(Document document, String expression) {
+        try {
+            NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(expression, document, XPathConstants.NODESET);
+            List<Element> elements = new ArrayList<>();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element) {
+                    elements.add((Element) nodes.item(i));
+                }
+            }
+            return elements;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("XPath inválido: " + expression, e);
+        }
+    }
+
+    private static List<Element> filter(Document document, Predicate<Element> predicate) {
+        List<Element> elements = new ArrayList<>();
+        NodeList all = document.getElementsByTagName("*");
+        for (int i = 0; i < all.getLength(); i++) {
+            Element element = (Element) all.item(i);
+            if (predicate.test(element)) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * new UiSelector().className("X").textMatches("a|b")...
+     */
+    private static Predicate<Element> uiSelector(String selector) {
+        if (!selector.trim().startsWith("new UiSelector()")) {
+            throw new IllegalArgumentException("UiSelector não suportado pelo stub: " + selector);
+        }
+        Predicate<Element> result = element -> true;
+        Matcher method = UI_SELECTOR_METHOD.matcher(selector);
+        while (method.find()) {
+            String name = method.group(1);
+            String argument = method.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+            result = result.and(uiSelectorMethod(name, argument));
+        }
+        return result;
+    }
+
+    private static Predicate<Element> uiSelectorMethod(String method, String argument) {
+        String attribute;
+        String operation;
+        if (method.startsWith("className")) {
+            attribute = "class";
+            operation = method.substring("className".length());
+        } else if (method.startsWith("text")) {
+            attribute = "text";
+            operation = method.substring("text".length());
+        } else if (method.startsWith("description")) {
+            attribute = "content-desc";
+            operation = method.substring("description".length());
+        } else if (method.startsWith("resourceId")) {
+            attribute = "resource-id";
+            operation = method.substring("resourceId".length());
+        } else {
+            throw new IllegalArgumentException("Método de UiSelector não suportado pelo stub: " + method);
+        }
+        return element -> {
+            String actual = "class".equals(attribute) ? element.getTagName() : element.getAttribute(attribute);
+            switch (operation) {
+                case "":
+                    return actual.equals(argument);
+                case "Contains":
+                    return actual.contains(argument);
+                case "StartsWith":
+                    return actual.startsWith(argument);
+                case "Matches":
+                    return actual.matches(argument);
+                default:
+                    throw new IllegalArgumentException("Método de UiSelector não suportado pelo stub: " + method);
+            }
+        };
+    }
+
+    /**
+     * type == 'X' AND (name == 'a' OR label CONTAINS 'b')
+     */
+    private static Predicate<Element> predicate(String expression) {
+        String text = stripParentheses(expression.trim());
+        List<String> or = splitTopLevel(text, " OR ");
+        if (or.size() > 1) {
+            Predicate<Element> result = element -> false;
+            for (String part : or) {
+                result = result.or(predicate(part));
+            }
+            return result;
+        }
+        List<String> and = splitTopLevel(text, " AND ");
+        if (and.size() > 1) {
+            Predicate<Element> result = element -> true;
+            for (String part : and) {
+                result = result.and(predicate(part));
+            }
+            return result;
+        }
+
+        Matcher clause = PREDICATE_CLAUSE.matcher(text);
+        if (!clause.matches()) {
+            throw new IllegalArgumentException("Predicate não suportado pelo stub: " + expression);
+        }
+        String attribute = clause.group(1);
+        String operator = clause.group(2);
+        // Booleanos sem aspas (visible == 1) comparados com o atributo "true"/"false" do page source
+        String value = clause.group(3) != null
+                ? clause.group(3).replace("\\'", "'").replace("\\\\", "\\")
+                : String.valueOf("1".equals(clause.group(4)));
+        return element -> {
+            String actual = "type".equals(attribute) ? element.getTagName() : element.getAttribute(attribute);
+            switch (operator) {
+                case "==":
+                    return actual.equals(value);
+                case "CONTAINS":
+                    return actual.contains(value);
+                case "BEGINSWITH":
+                    return actual.startsWith(value);
+                default:
+                    return actual.endsWith(value);
+            }
+        };
+    }
+
+    /**
+     * **&#47;Tipo ou **&#47;Tipo[`predicate`]
+     */
+    private static Predicate<Element> classChain(String chain) {
+        Matcher matcher = CLASS_CHAIN.matcher(chain.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Class chain não suportado pelo stub: " + chain);
+        }
+        String type = matcher.group(1);
+        Predicate<Element> result = element -> element.getTagName().equals(type);
+        return matcher.group(2) != null ? result.and(predicate(matcher.group(2))) : result;
+    }
+
+    private static String stripParentheses(String text) {
+        while (text.startsWith("(") && text.endsWith(")") && closingParenthesis(text) == text.length() - 1) {
+            text = text.substring(1, text.length() - 1).trim();
+        }
+        return text;
+    }
+
+    private static int closingParenthesis(String text) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> splitTopLevel(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && text.startsWith(separator, i)) {
+                parts.add(text.substring(start, i).trim());
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(text.substring(start).trim());
+        return parts;
+    }
+}
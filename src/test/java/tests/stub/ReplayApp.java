@@ -0,0 +1,506 @@
+package tests.stub;
+
+import model.Contato;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * App simulado que reproduz telas gravadas (page sources) como máquina de estados
+ * As telas ficam em /stub/{módulo}/{plataforma}/{tela}.xml e as transições em flow.properties:
+ * um clique em um elemento selecionado pelo XPath da transição leva à tela de destino,
+ * opcionalmente executando uma ação sobre a lista de contatos (salvar, abrir, excluir)
+ */
+public class ReplayApp {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayApp.class);
+    private static final Pattern SCROLL_INTO_VIEW =
+            Pattern.compile("\\.scrollIntoView\\((new UiSelector\\(\\)\\.text(?:Contains)?\\(\"((?:[^\"\\\\]|\\\\.)*)\"\\))\\)");
+
+    /**
+     * Transição disparada por clique: tela.{origem}.{nome}=xpath -> destino [-> ação]
+     */
+    static class Transition {
+        final String name;
+        final String selector;
+        final String target;
+        final String action;
+
+        Transition(String name, String selector, String target, String action) {
+            this.name = name;
+            this.selector = selector;
+            this.target = target;
+            this.action = action;
+        }
+    }
+
+    private final String platform;
+    private final String basePath;
+    private final Properties flow;
+    private final LocatorEvaluator evaluator;
+    private final Map<String, List<Transition>> transitions = new HashMap<>();
+    private final Map<String, String> templates = new HashMap<>();
+    private final List<Contato> contatos = new ArrayList<>();
+
+    private long transitionDelayNanos;
+    private long scrollStepMillis;
+    private int offset;
+    private long visibleAtNanos;
+    private String screen;
+    private Contato current;
+    private Document document;
+    private final Map<String, Element> elementsById = new HashMap<>();
+    private final Map<Element, String> idsByElement = new IdentityHashMap<>();
+
+    private ReplayApp(String module, String platform) {
+        this.platform = platform.toLowerCase();
+        this.basePath = "/stub/" + module + "/" + this.platform + "/";
+        this.flow = new Properties();
+        this.evaluator = new LocatorEvaluator(this.platform);
+        try (InputStream input = resource("flow.properties")) {
+            flow.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao carregar fluxo do stub: " + basePath, e);
+        }
+        loadTransitions();
+        loadContatos();
+    }
+
+    /**
+     * Carrega o fluxo gravado do módulo e plataforma informados
+     */
+    public static ReplayApp load(String module, String platform) {
+        ReplayApp app = new ReplayApp(module, platform);
+        app.reset();
+        logger.info("App simulado carregado: {} ({} transições, {} contatos)",
+                app.basePath, app.transitions.values().stream().mapToInt(List::size).sum(), app.contatos.size());
+        return app;
+    }
+
+    /**
+     * Volta à tela inicial, como após abrir ou reiniciar o app; os contatos são mantidos
+     */
+    public synchronized void reset() {
+        current = null;
+        offset = 0;
+        show(flow.getProperty("inicial"));
+    }
+
+    /**
+     * Simula a animação de transição: após cada clique que muda de tela, a nova tela
+     * só aparece depois do atraso (até lá, buscas não encontram nada e o page source vem vazio)
+     */
+    public synchronized ReplayApp withTransitionDelay(long millis) {
+        transitionDelayNanos = millis * 1_000_000;
+        return this;
+    }
+
+    /**
+     * Simula o tempo de rolar uma tela da lista no dispositivo (swipe ou rolagem do próprio driver)
+     */
+    public synchronized ReplayApp withScrollStepDelay(long millis) {
+        scrollStepMillis = millis;
+        return this;
+    }
+
+    private boolean isTransitioning() {
+        return System.nanoTime() < visibleAtNanos;
+    }
+
+    public synchronized String getScreen() {
+        return screen;
+    }
+
+    public synchronized List<Contato> getContatos() {
+        return Collections.unmodifiableList(new ArrayList<>(contatos));
+    }
+
+    public synchronized String pageSource() {
+        if (isTransitioning()) {
+            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy/>";
+        }
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(document), new StreamResult(writer));
+            return writer.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Erro ao serializar tela " + screen, e);
+        }
+    }
+
+    /**
+     * Contatos inseridos fora da interface (ContactSeeder); a tela atual é redesenhada
+     * como o app faz ao ser notificado pelo content provider / agenda
+     */
+    public synchronized void addContatos(List<Contato> novos) {
+        contatos.addAll(novos);
+        show(screen);
+        logger.debug("{} contatos inseridos no app simulado", novos.size());
+    }
+
+    /**
+     * Linhas da lista renderizadas por vez (lista.visiveis no fluxo); sem a propriedade, todas
+     */
+    private int visibleRows() {
+        return Integer.parseInt(flow.getProperty("lista.visiveis", String.valueOf(Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Swipe sobre a lista: "up" avança uma tela (mantendo a última linha visível), "down" volta
+     */
+    public synchronized void scroll(String direction) {
+        int page = Math.max(1, visibleRows() - 1);
+        int target = "up".equals(direction) ? offset + page : offset - page;
+        sleep(scrollStepMillis);
+        moveTo(target);
+    }
+
+    /**
+     * Rolagem feita pelo próprio driver (UiScrollable / mobile: scroll) até o primeiro contato
+     * cujo nome contém o texto; custa uma etapa de rolagem por tela percorrida, sem idas ao cliente
+     * @return false se nenhum contato contém o texto (a lista fica no fim, como após rolar tudo)
+     */
+    public synchronized boolean scrollTo(String text) {
+        int index = -1;
+        for (int i = 0; i < contatos.size(); i++) {
+            if (contatos.get(i).getNome().contains(text)) {
+                index = i;
+                break;
+            }
+        }
+        int visible = visibleRows();
+        int target = index >= 0 ? (index < offset || index >= offset + visible ? index : offset) : contatos.size();
+        int steps = (int) Math.ceil(Math.abs(target - offset) / (double) Math.max(1, visible - 1));
+        sleep(steps * scrollStepMillis);
+        moveTo(target);
+        return index >= 0;
+    }
+
+    private void moveTo(int target) {
+        int last = Math.max(0, contatos.size() - visibleRows());
+        int moved = Math.max(0, Math.min(target, last));
+        if (moved != offset) {
+            offset = moved;
+            show(screen);
+        }
+    }
+
+    /**
+     * Ids dos elementos encontrados; o mesmo elemento mantém o id até a tela mudar
+     * Um UiScrollable(...).scrollIntoView(seletor) rola a lista antes de avaliar o seletor
+     */
+    public synchronized List<String> find(String using, String value) {
+        List<String> ids = new ArrayList<>();
+        if (isTransitioning()) {
+            return ids;
+        }
+        if ("-android uiautomator".equals(using) && value.startsWith("new UiScrollable(")) {
+            Matcher target = SCROLL_INTO_VIEW.matcher(value);
+            if (!target.find()) {
+                throw new IllegalArgumentException("UiScrollable não suportado pelo stub: " + value);
+            }
+            if (!scrollTo(target.group(2).replace("\\\"", "\"").replace("\\\\", "\\"))) {
+                return ids;
+            }
+            value = target.group(1);
+        }
+        for (Element element : evaluator.find(document, using, value)) {
+            ids.add(idsByElement.computeIfAbsent(element, e -> {
+                String id = UUID.randomUUID().toString();
+                elementsById.put(id, e);
+                return id;
+            }));
+        }
+        return ids;
+    }
+
+    public synchronized boolean isAttached(String elementId) {
+        return elementsById.containsKey(elementId);
+    }
+
+    public synchronized void click(String elementId) {
+        Element element = element(elementId);
+        for (Transition transition : transitions.getOrDefault(screen, Collections.emptyList())) {
+            if (evaluator.matchesSelfOrAncestor(document, element, transition.selector)) {
+                logger.debug("Transição {}.{} -> {}", screen, transition.name, transition.target);
+                perform(transition.action, element);
+                show(transition.target);
+                visibleAtNanos = System.nanoTime() + transitionDelayNanos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Digita no campo: o texto vai para o primeiro atributo de texto da plataforma
+     */
+    public synchronized void sendKeys(String elementId, String text) {
+        Element element = element(elementId);
+        String attribute = textAttributes()[0];
+        String currentText = isEmptyField(element) ? "" : element.getAttribute(attribute);
+        element.setAttribute(attribute, currentText + text);
+    }
+
+    /**
+     * Define o texto do campo de uma vez (mobile: replaceElementValue), sem clear nem teclado
+     */
+    public synchronized void replaceValue(String elementId, String text) {
+        Element element = element(elementId);
+        element.setAttribute(textAttributes()[0], text.isEmpty() ? element.getAttribute("hint") : text);
+    }
+
+    /**
+     * Limpa o campo; no Android o texto volta a mostrar o hint, como no UiAutomator2
+     */
+    public synchronized void clear(String elementId) {
+        Element element = element(elementId);
+        String hint = element.getAttribute("hint");
+        element.setAttribute(textAttributes()[0], hint);
+    }
+
+    public synchronized String getText(String elementId) {
+        Element element = element(elementId);
+        for (String attribute : textAttributes()) {
+            String value = element.getAttribute(attribute);
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return "";
+    }
+
+    private Element element(String elementId) {
+        Element element = elementsById.get(elementId);
+        if (element == null) {
+            throw new StaleElementException(elementId);
+        }
+        return element;
+    }
+
+    private String[] textAttributes() {
+        return flow.getProperty("texto", "text").split(",");
+    }
+
+    private boolean isEmptyField(Element element) {
+        String hint = element.getAttribute("hint");
+        return !hint.isEmpty() && hint.equals(element.getAttribute(textAttributes()[0]));
+    }
+
+    /**
+     * Ações sobre os dados do app: salvar (formulário), abrir:{atributo} (linha da lista), excluir
+     */
+    private void perform(String action, Element clicked) {
+        if (action == null) {
+            return;
+        }
+        if ("salvar".equals(action)) {
+            Contato contato = new Contato.Builder()
+                    .nome(formValue("formulario.nome"))
+                    .telefone(formValue("formulario.telefone"))
+                    .email(formValue("formulario.email"))
+                    .empresa(formValue("formulario.empresa"))
+                    .build();
+            contatos.add(contato);
+            current = contato;
+            logger.debug("Contato salvo no app simulado: {}", contato.getNome());
+        } else if (action.startsWith("abrir:")) {
+            String attribute = action.substring("abrir:".length());
+            current = findContato(clicked, attribute);
+        } else if ("excluir".equals(action)) {
+            if (current != null) {
+                contatos.remove(current);
+                logger.debug("Contato excluído no app simulado: {}", current.getNome());
+                current = null;
+            }
+        } else {
+            throw new IllegalArgumentException("Ação desconhecida no fluxo do stub: " + action);
+        }
+    }
+
+    /**
+     * Contato da linha clicada: o valor do atributo no elemento clicado ou em um ancestral
+     */
+    private Contato findContato(Element clicked, String attribute) {
+        for (org.w3c.dom.Node node = clicked; node instanceof Element; node = node.getParentNode()) {
+            String value = ((Element) node).getAttribute(attribute);
+            for (Contato contato : contatos) {
+                if (contato.getNome().equals(value)) {
+                    return contato;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Valor de um campo do contato: um ou mais campos do formulário (ex: nome + sobrenome)
+     */
+    private String formValue(String key) {
+        String fields = flow.getProperty(key);
+        if (fields == null) {
+            return "";
+        }
+        String identifier = flow.getProperty("formulario.campo", "hint");
+        List<String> parts = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            for (Element element : evaluator.find(document, "xpath", "//*[@" + identifier + "='" + field.trim() + "']")) {
+                String value = isEmptyField(element) ? "" : element.getAttribute(textAttributes()[0]);
+                if (!value.isEmpty()) {
+                    parts.add(value);
+                }
+            }
+        }
+        return String.join(" ", parts);
+    }
+
+    /**
+     * Renderiza a tela a partir do template, preenchendo lista de contatos e contato atual
+     */
+    private void show(String name) {
+        String xml = template(name + ".xml");
+        if (xml.contains("{{linhas}}")) {
+            StringBuilder rows = new StringBuilder();
+            int end = (int) Math.min(contatos.size(), (long) offset + visibleRows());
+            for (Contato contato : contatos.subList(Math.min(offset, end), end)) {
+                rows.append(fill(template("linha.xml"), contato));
+            }
+            xml = xml.replace("{{linhas}}", contatos.isEmpty() ? optionalTemplate("vazia.xml") : rows.toString());
+        }
+        xml = fill(xml, current != null ? current : new Contato.Builder().build());
+
+        screen = name;
+        document = parse(xml);
+        elementsById.clear();
+        idsByElement.clear();
+    }
+
+    private static String fill(String template, Contato contato) {
+        return template
+                .replace("{{nome}}", escape(contato.getNome()))
+                .replace("{{telefone}}", escape(contato.getTelefone()))
+                .replace("{{email}}", escape(contato.getEmail()))
+                .replace("{{empresa}}", escape(contato.getEmpresa()));
+    }
+
+    private String template(String file) {
+        String template = optionalTemplate(file);
+        if (template.isEmpty()) {
+            throw new IllegalStateException("Tela não gravada no stub: " + basePath + file);
+        }
+        return template;
+    }
+
+    private String optionalTemplate(String file) {
+        return templates.computeIfAbsent(file, key -> {
+            try (InputStream input = getClass().getResourceAsStream(basePath + key)) {
+                return input != null ? new String(input.readAllBytes(), StandardCharsets.UTF_8) : "";
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao ler tela " + key, e);
+            }
+        });
+    }
+
+    private InputStream resource(String file) {
+        InputStream input = getClass().getResourceAsStream(basePath + file);
+        if (input == null) {
+            throw new IllegalStateException("Fluxo do stub não encontrado: " + basePath + file);
+        }
+        return input;
+    }
+
+    private void loadTransitions() {
+        Map<String, String> sorted = new LinkedHashMap<>();
+        flow.stringPropertyNames().stream().sorted().forEach(key -> sorted.put(key, flow.getProperty(key)));
+        sorted.forEach((key, value) -> {
+            if (!key.startsWith("tela.")) {
+                return;
+            }
+            String[] names = key.substring("tela.".length()).split("\\.", 2);
+            String[] parts = value.split("\\s*->\\s*");
+            if (names.length != 2 || parts.length < 2) {
+                throw new IllegalArgumentException("Transição inválida no fluxo do stub: " + key + "=" + value);
+            }
+            transitions.computeIfAbsent(names[0], k -> new ArrayList<>())
+                    .add(new Transition(names[1], parts[0].trim(), parts[1].trim(), parts.length > 2 ? parts[2].trim() : null));
+        });
+    }
+
+    private void loadContatos() {
+        String initial = flow.getProperty("contatos.iniciais", "");
+        for (String entry : initial.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] fields = entry.split("\\|", -1);
+            contatos.add(new Contato.Builder()
+                    .nome(fields[0].trim())
+                    .telefone(fields.length > 1 ? fields[1].trim() : "")
+                    .email(fields.length > 2 ? fields[2].trim() : "")
+                    .empresa(fields.length > 3 ? fields[3].trim() : "")
+                    .build());
+        }
+    }
+
+    private static Document parse(String xml) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Tela gravada inválida", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Elemento de uma tela que já não está mais visível
+     */
+    static class StaleElementException extends RuntimeException {
+        StaleElementException(String elementId) {
+            super("Elemento não está mais na tela: " + elementId);
+        }
+    }
+}
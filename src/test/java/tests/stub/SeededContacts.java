@@ -0,0 +1,131 @@
+package tests.stub;
+
+import model.Contato;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê os contatos enviados pelo ContactSeeder ao stub, como o dispositivo os gravaria:
+ * chamadas "seed 'nome' 'telefone' 'email' 'empresa'" do script sh (Android)
+ * e cartões de um arquivo vCard (iOS)
+ */
+public final class SeededContacts {
+
+    private SeededContacts() {
+    }
+
+    static List<Contato> fromShellScript(String script) {
+        List<Contato> contatos = new ArrayList<>();
+        for (String line : script.split("\n")) {
+            if (!line.startsWith("seed ")) {
+                continue;
+            }
+            List<String> args = shellWords(line.substring("seed ".length()));
+            contatos.add(new Contato.Builder()
+                    .nome(arg(args, 0))
+                    .telefone(arg(args, 1))
+                    .email(arg(args, 2))
+                    .empresa(arg(args, 3))
+                    .build());
+        }
+        return contatos;
+    }
+
+    static List<Contato> fromVCards(String vcf) {
+        List<Contato> contatos = new ArrayList<>();
+        Contato.Builder card = null;
+        for (String line : vcf.split("\r?\n")) {
+            int separator = line.indexOf(':');
+            String name = separator > 0 ? line.substring(0, separator).split(";")[0] : line;
+            String value = separator > 0 ? unescape(line.substring(separator + 1)) : "";
+            switch (name) {
+                case "BEGIN":
+                    card = new Contato.Builder();
+                    break;
+                case "FN":
+                    card.nome(value);
+                    break;
+                case "TEL":
+                    card.telefone(value);
+                    break;
+                case "EMAIL":
+                    card.email(value);
+                    break;
+                case "ORG":
+                    card.empresa(value);
+                    break;
+                case "END":
+                    contatos.add(card.build());
+                    card = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return contatos;
+    }
+
+    /**
+     * Separa argumentos como o sh: aspas simples literais e \ escapando o próximo caractere
+     */
+    /**
+     * Linha que o shell do dispositivo recebe de um "mobile: shell": o adb junta comando e argumentos
+     * com espaços, sem escapá-los, e o shell separa as palavras de novo
+     * @return Palavras vistas pelo shell do dispositivo
+     */
+    public static List<String> adbShellWords(String command, List<?> args) {
+        StringBuilder line = new StringBuilder(command);
+        for (Object arg : args) {
+            line.append(' ').append(arg);
+        }
+        return shellWords(line.toString());
+    }
+
+    /**
+     * Separa uma linha em palavras como o sh (aspas simples e barra invertida)
+     */
+    public static List<String> shellWords(String line) {
+        List<String> words = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inWord = false;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\'') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'') {
+                quoted = true;
+                inWord = true;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                current.append(line.charAt(++i));
+                inWord = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inWord) {
+                    words.add(current.toString());
+                    current.setLength(0);
+                    inWord = false;
+                }
+            } else {
+                current.append(c);
+                inWord = true;
+            }
+        }
+        if (inWord) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+
+    private static String arg(List<String> args, int index) {
+        return index < args.size() ? args.get(index) : "";
+    }
+
+    private static String unescape(String value) {
+        return value.replace("\\n", "\n").replace("\\,", ",").replace("\\;", ";").replace("\\\\", "\\");
+    }
+}
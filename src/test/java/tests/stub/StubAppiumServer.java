@@ -0,0 +1,628 @@
+package tests.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Servidor Appium local simulado (stub)
+ * Fala o mínimo do protocolo W3C WebDriver para permitir medir o
+ * overhead do framework sem emulador nem Appium real.
+ * Com withApp, as telas vêm de um app gravado (ReplayApp) em vez dos elementos registrados
+ */
+public class StubAppiumServer {
+    private static final Logger logger = LoggerFactory.getLogger(StubAppiumServer.class);
+    private static final Json JSON = new Json();
+    private static final Pattern SCROLL_PREDICATE = Pattern.compile("label CONTAINS '((?:[^'\\\\]|\\\\.)*)'");
+    // PNG 1x1 devolvido pelo comando de screenshot
+    private static final String SCREENSHOT = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    private final Map<String, Map<String, Object>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> commandCounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> commandLatencies = new ConcurrentHashMap<>();
+    private final Map<String, Long> implicitWaits = new ConcurrentHashMap<>();
+    // Log do dispositivo simulado: uma linha por comando recebido (últimas DEVICE_LOG_LINES), consumida pelo comando de log
+    private static final int DEVICE_LOG_LINES = 1000;
+    private final Deque<Map<String, Object>> deviceLog = new ArrayDeque<>();
+    private final AtomicInteger logReads = new AtomicInteger();
+    private final Map<String, String> elements = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> clickActions = new ConcurrentHashMap<>();
+    private final Set<String> unsupportedScripts = ConcurrentHashMap.newKeySet();
+    private volatile String pageSource = "<hierarchy/>";
+    private volatile long sessionStartupMillis;
+    private volatile long defaultLatencyMillis;
+    private volatile long jitterMillis;
+    private volatile ReplayApp app;
+    private HttpServer server;
+
+    /**
+     * Inicia o servidor em uma porta livre
+     */
+    public StubAppiumServer start() {
+        // Sem TCP_NODELAY, cabeçalho e corpo em escritas separadas somam ~40 ms de delayed ACK por comando
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao iniciar stub Appium", e);
+        }
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Stub Appium iniciado em {}", getUrl());
+        return this;
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            logger.info("Stub Appium finalizado");
+        }
+    }
+
+    public URL getUrl() {
+        try {
+            return new URL("http://127.0.0.1:" + server.getAddress().getPort());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Latência simulada de negociação de sessão (UiAutomator2/XCUITest)
+     */
+    public StubAppiumServer withSessionStartup(long millis) {
+        this.sessionStartupMillis = millis;
+        return this;
+    }
+
+    /**
+     * Latência simulada para um comando específico (ex: "mobile: terminateApp")
+     */
+    public StubAppiumServer withLatency(String command, long millis) {
+        commandLatencies.put(command, millis);
+        return this;
+    }
+
+    /**
+     * Latência simulada aplicada a todos os comandos sem latência específica
+     */
+    public StubAppiumServer withDefaultLatency(long millis) {
+        this.defaultLatencyMillis = millis;
+        return this;
+    }
+
+    /**
+     * Variação aleatória (0 a millis) somada à latência de cada comando
+     */
+    public StubAppiumServer withJitter(long millis) {
+        this.jitterMillis = millis;
+        return this;
+    }
+
+    /**
+     * Responde telas, buscas e ações a partir de um app gravado
+     */
+    public StubAppiumServer withApp(ReplayApp app) {
+        this.app = app;
+        return this;
+    }
+
+    public ReplayApp getApp() {
+        return app;
+    }
+
+    /**
+     * Registra um elemento presente na tela, localizável pela estratégia e valor informados
+     */
+    public StubAppiumServer withElement(String using, String value) {
+        elements.put(using + "=" + value, UUID.randomUUID().toString());
+        return this;
+    }
+
+    /**
+     * Registra um elemento presente na tela localizável pelo locator informado
+     */
+    public StubAppiumServer withElement(By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return withElement(parameters.using(), String.valueOf(parameters.value()));
+    }
+
+    /**
+     * Page source devolvido pelo comando getPageSource
+     */
+    public StubAppiumServer withPageSource(String xml) {
+        this.pageSource = xml;
+        return this;
+    }
+
+    /**
+     * Ação executada quando o elemento é clicado (ex: fechar um popup trocando o page source)
+     */
+    public StubAppiumServer onClick(By locator, Runnable action) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String elementId = elements.get(parameters.using() + "=" + parameters.value());
+        if (elementId == null) {
+            throw new IllegalArgumentException("Elemento não registrado no stub: " + locator);
+        }
+        clickActions.put(elementId, action);
+        return this;
+    }
+    
+    public StubAppiumServer withoutElement(By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return withoutElement(parameters.using(), String.valueOf(parameters.value()));
+    }
+    
+    public StubAppiumServer withoutElement(String using, String value) {
+        elements.remove(using + "=" + value);
+        return this;
+    }
+
+    /**
+     * Faz o script responder "unknown command", como um driver que não o implementa
+     */
+    public StubAppiumServer withUnsupportedScript(String script) {
+        unsupportedScripts.add(script);
+        return this;
+    }
+
+    public int count(String command) {
+        AtomicInteger counter = commandCounts.get(command);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public Map<String, Integer> counts() {
+        Map<String, Integer> result = new HashMap<>();
+        commandCounts.forEach((command, counter) -> result.put(command, counter.get()));
+        return result;
+    }
+
+    /**
+     * Total de comandos recebidos; cada busca conta uma vez (sem as entradas find:estratégia de counts())
+     */
+    public int totalCommands() {
+        return counts().entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("find:"))
+                .mapToInt(Map.Entry::getValue).sum();
+    }
+
+    /**
+     * Leituras do log do dispositivo (não entram em counts())
+     */
+    public int logReads() {
+        return logReads.get();
+    }
+
+    /**
+     * Derruba todas as sessões, como um UiAutomator2/WDA que caiu: os comandos seguintes recebem "invalid session id"
+     */
+    public void killSessions() {
+        sessions.clear();
+        implicitWaits.clear();
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Capabilities recebidas por cada sessão ativa
+     */
+    public List<Map<String, Object>> sessionCapabilities() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    private static Map<String, Object> error(String error, String message) {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        return value;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] parts = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+        Map<String, Object> body = readBody(exchange);
+
+        int status = 200;
+        Object value;
+        try {
+            value = dispatch(method, parts, body);
+        } catch (StubException e) {
+            status = e.status;
+            value = error(e.error, e.getMessage());
+        } catch (RuntimeException e) {
+            // Falha do próprio stub: responde como erro do servidor em vez de derrubar a conexão
+            logger.error("Erro no stub ao atender {} {}", method, exchange.getRequestURI(), e);
+            status = 500;
+            value = error("unknown error", String.valueOf(e));
+        }
+
+        byte[] response = JSON.toJson(Collections.singletonMap("value", value)).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private Object dispatch(String method, String[] parts, Map<String, Object> body) {
+        if (parts.length == 1 && "status".equals(parts[0])) {
+            record("status");
+            return Collections.singletonMap("ready", true);
+        }
+        if (!"session".equals(parts[0])) {
+            throw new StubException(404, "unknown command", "Comando desconhecido: " + String.join("/", parts));
+        }
+        if (parts.length == 1 && "POST".equals(method)) {
+            return newSession(body);
+        }
+
+        String sessionId = parts[1];
+        if (!sessions.containsKey(sessionId)) {
+            throw new StubException(404, "invalid session id", "Sessão inexistente: " + sessionId);
+        }
+        if (parts.length == 2 && "DELETE".equals(method)) {
+            record("deleteSession");
+            sessions.remove(sessionId);
+            implicitWaits.remove(sessionId);
+            return null;
+        }
+
+        String command = String.join("/", Arrays.copyOfRange(parts, 2, parts.length));
+        switch (command) {
+            case "timeouts":
+                record("timeouts");
+                Object implicit = body.get("implicit");
+                if (implicit instanceof Number) {
+                    implicitWaits.put(sessionId, ((Number) implicit).longValue());
+                }
+                return null;
+            case "source":
+                record("getPageSource");
+                return app != null ? app.pageSource() : pageSource;
+            case "orientation":
+                record("getOrientation");
+                return "PORTRAIT";
+            case "screenshot":
+                record("screenshot");
+                return SCREENSHOT;
+            case "se/log":
+                // Fora de counts(): a leitura do log roda em segundo plano e não é comando do teste
+                logReads.incrementAndGet();
+                sleep(commandLatencies.getOrDefault("getLog", defaultLatencyMillis));
+                return drainDeviceLog();
+            case "element":
+                return findElement(sessionId, body);
+            case "elements":
+                return findElements(sessionId, body);
+            case "execute/sync":
+                return executeScript(String.valueOf(body.get("script")), body.get("args"));
+            default:
+                return elementCommand(command, body);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object newSession(Map<String, Object> body) {
+        record("newSession");
+        sleep(sessionStartupMillis);
+
+        Map<String, Object> requested = new HashMap<>();
+        Object capabilities = body.get("capabilities");
+        if (capabilities instanceof Map) {
+            Object alwaysMatch = ((Map<String, Object>) capabilities).get("alwaysMatch");
+            if (alwaysMatch instanceof Map) {
+                requested.putAll((Map<String, Object>) alwaysMatch);
+            }
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, requested);
+        if (app != null) {
+            app.reset();
+        }
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("sessionId", sessionId);
+        value.put("capabilities", requested);
+        return value;
+    }
+
+    /**
+     * Comandos sobre um elemento já localizado (element/{id}/...)
+     */
+    private Object elementCommand(String command, Map<String, Object> body) {
+        String[] parts = command.split("/");
+        if (app != null && parts.length == 3 && "element".equals(parts[0])) {
+            return appElementCommand(parts[1], parts[2], body);
+        }
+        if (parts.length != 3 || !"element".equals(parts[0]) || !elements.containsValue(parts[1])) {
+            throw new StubException(404, "unknown command", "Comando não suportado pelo stub: " + command);
+        }
+        switch (parts[2]) {
+            case "click":
+                record("click");
+                Runnable action = clickActions.get(parts[1]);
+                if (action != null) {
+                    action.run();
+                }
+                return null;
+            case "clear":
+                record("clear");
+                return null;
+            case "value":
+                record("sendKeys");
+                return null;
+            case "text":
+                record("getText");
+                return "";
+            case "displayed":
+            case "enabled":
+                record(parts[2]);
+                return true;
+            default:
+                throw new StubException(404, "unknown command", "Comando não suportado pelo stub: " + command);
+        }
+    }
+
+    /**
+     * Comandos sobre um elemento da tela do app gravado
+     */
+    private Object appElementCommand(String elementId, String action, Map<String, Object> body) {
+        try {
+            switch (action) {
+                case "click":
+                    record("click");
+                    app.click(elementId);
+                    return null;
+                case "clear":
+                    record("clear");
+                    app.clear(elementId);
+                    return null;
+                case "value":
+                    record("sendKeys");
+                    app.sendKeys(elementId, String.valueOf(body.get("text")));
+                    return null;
+                case "text":
+                    record("getText");
+                    return app.getText(elementId);
+                case "displayed":
+                case "enabled":
+                    record(action);
+                    return app.isAttached(elementId);
+                default:
+                    throw new StubException(404, "unknown command", "Comando não suportado pelo stub: " + action);
+            }
+        } catch (ReplayApp.StaleElementException e) {
+            throw new StubException(404, "stale element reference", e.getMessage());
+        }
+    }
+
+    private Object findElement(String sessionId, Map<String, Object> body) {
+        record("findElement");
+        List<String> found = lookup(sessionId, body);
+        if (found.isEmpty()) {
+            throw new StubException(404, "no such element", "Elemento não encontrado: " + body.get("value"));
+        }
+        return elementReference(found.get(0));
+    }
+
+    private Object findElements(String sessionId, Map<String, Object> body) {
+        record("findElements");
+        List<Object> references = new ArrayList<>();
+        for (String elementId : lookup(sessionId, body)) {
+            references.add(elementReference(elementId));
+        }
+        return references;
+    }
+
+    /**
+     * Busca o elemento respeitando o implicit wait da sessão, como o Appium faz no servidor
+     */
+    private List<String> lookup(String sessionId, Map<String, Object> body) {
+        record("find:" + body.get("using"));
+        String key = body.get("using") + "=" + body.get("value");
+        long deadline = System.nanoTime() + implicitWaits.getOrDefault(sessionId, 0L) * 1_000_000;
+        while (true) {
+            List<String> found;
+            if (app != null) {
+                found = appLookup(body);
+            } else {
+                String elementId = elements.get(key);
+                found = elementId != null ? Collections.singletonList(elementId) : Collections.emptyList();
+            }
+            if (!found.isEmpty() || System.nanoTime() >= deadline) {
+                return found;
+            }
+            sleep(50);
+        }
+    }
+
+    private List<String> appLookup(Map<String, Object> body) {
+        try {
+            return app.find(String.valueOf(body.get("using")), String.valueOf(body.get("value")));
+        } catch (IllegalArgumentException e) {
+            throw new StubException(400, "invalid selector", e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> elementReference(String elementId) {
+        Map<String, Object> reference = new LinkedHashMap<>();
+        reference.put("element-6066-11e4-a52e-4f735466cecf", elementId);
+        reference.put("ELEMENT", elementId);
+        return reference;
+    }
+
+    private Object executeScript(String script, Object args) {
+        record(script);
+        if (unsupportedScripts.contains(script)) {
+            throw new StubException(404, "unknown command", "Script não suportado pelo driver: " + script);
+        }
+        if (app != null && "mobile: replaceElementValue".equals(script)) {
+            Map<?, ?> params = scriptParams(args);
+            try {
+                app.replaceValue(String.valueOf(params.get("elementId")), String.valueOf(params.get("text")));
+            } catch (ReplayApp.StaleElementException e) {
+                throw new StubException(404, "stale element reference", e.getMessage());
+            }
+            return null;
+        }
+        if (app != null && "mobile: shell".equals(script)) {
+            // sh -c <script>: o script é a última palavra depois da separação feita pelo shell do dispositivo
+            Map<?, ?> params = scriptParams(args);
+            Object shellArgs = params.get("args");
+            if (shellArgs instanceof List && !((List<?>) shellArgs).isEmpty()) {
+                List<String> words = SeededContacts.adbShellWords(String.valueOf(params.get("command")), (List<?>) shellArgs);
+                app.addContatos(SeededContacts.fromShellScript(words.get(words.size() - 1)));
+            }
+            return "";
+        }
+        if (app != null && ("mobile: swipeGesture".equals(script) || "mobile: swipe".equals(script))) {
+            app.scroll(String.valueOf(scriptParams(args).get("direction")));
+            return null;
+        }
+        if (app != null && "mobile: scroll".equals(script)) {
+            // predicateString "label CONTAINS 'texto'": rola até o primeiro item com o texto
+            Matcher predicate = SCROLL_PREDICATE.matcher(String.valueOf(scriptParams(args).get("predicateString")));
+            if (!predicate.find()) {
+                throw new StubException(400, "invalid argument", "Predicate de rolagem não suportado pelo stub");
+            }
+            // Como o WDA, sem o item a rolagem para no fim da lista sem erro
+            app.scrollTo(predicate.group(1).replace("\\'", "'").replace("\\\\", "\\"));
+            return null;
+        }
+        if ("mobile: pushFile".equals(script)) {
+            Map<?, ?> params = scriptParams(args);
+            return pushFile(String.valueOf(params.get("remotePath")), String.valueOf(params.get("payload")));
+        }
+        if (app != null && (script.equals("mobile: activateApp") || script.equals("mobile: startActivity"))) {
+            app.reset();
+        }
+        if ("mobile: terminateApp".equals(script)) {
+            return true;
+        }
+        if (script.startsWith("mobile: ")) {
+            return null;
+        }
+        throw new StubException(404, "unknown command", "Script não suportado pelo stub: " + script);
+    }
+
+    /**
+     * Arquivo enviado ao dispositivo; um vCard entra na agenda do app gravado (como a mídia do simulador)
+     */
+    private Object pushFile(String path, String base64) {
+        if (app != null && path.endsWith(".vcf")) {
+            String vcf = new String(Base64.getDecoder().decode(base64), StandardCharsets.UTF_8);
+            app.addContatos(SeededContacts.fromVCards(vcf));
+        }
+        return null;
+    }
+
+    /**
+     * Primeiro argumento de um script "mobile: ..." (mapa de parâmetros)
+     */
+    private static Map<?, ?> scriptParams(Object args) {
+        if (args instanceof List && !((List<?>) args).isEmpty() && ((List<?>) args).get(0) instanceof Map) {
+            return (Map<?, ?>) ((List<?>) args).get(0);
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Linhas do log desde a última leitura, como o Appium devolve para logcat/syslog
+     */
+    private List<Map<String, Object>> drainDeviceLog() {
+        synchronized (deviceLog) {
+            List<Map<String, Object>> entries = new ArrayList<>(deviceLog);
+            deviceLog.clear();
+            return entries;
+        }
+    }
+
+    private void record(String command) {
+        commandCounts.computeIfAbsent(command, k -> new AtomicInteger()).incrementAndGet();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", System.currentTimeMillis());
+        entry.put("level", "INFO");
+        entry.put("message", "StubAppium: " + command);
+        synchronized (deviceLog) {
+            if (deviceLog.size() == DEVICE_LOG_LINES) {
+                deviceLog.removeFirst();
+            }
+            deviceLog.addLast(entry);
+        }
+        long latency = commandLatencies.getOrDefault(command, defaultLatencyMillis);
+        if (jitterMillis > 0) {
+            latency += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        sleep(latency);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String raw = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (raw.isBlank()) {
+                return Collections.emptyMap();
+            }
+            Object parsed = JSON.toType(raw, Object.class);
+            return parsed instanceof Map ? (Map<String, Object>) parsed : Collections.emptyMap();
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Erro W3C devolvido pelo stub
+     */
+    static class StubException extends RuntimeException {
+        private final int status;
+        private final String error;
+
+        StubException(int status, String error, String message) {
+            super(message);
+            this.status = status;
+            this.error = error;
+        }
+    }
+}
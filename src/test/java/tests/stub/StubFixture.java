@@ -0,0 +1,66 @@
+package tests.stub;
+
+import driver.DriverManager;
+
+/**
+ * Ambiente de teste contra o stub Appium: aponta appium.server.url para o stub, desliga o pool de sessões,
+ * fixa a plataforma e sonda elementos só com espera explícita (sem o implicit wait de 10 s nas buscas); close() finaliza o driver da thread, para o stub e devolve cada system property
+ * alterada (inclusive platform) ao valor anterior
+ */
+public class StubFixture implements AutoCloseable {
+    private final StubAppiumServer stub;
+    private final SystemProperties properties = new SystemProperties();
+
+    private StubFixture(StubAppiumServer stub, String platform) {
+        this.stub = stub;
+        properties.set("appium.server.url", stub.getUrl().toString())
+                .set("session.pool.enabled", "false")
+                .set("platform", platform)
+                .set("element.probe.explicit.only", "true");
+    }
+
+    /**
+     * @param stub     Stub já iniciado (start) e configurado
+     * @param platform android ou ios
+     */
+    public static StubFixture of(StubAppiumServer stub, String platform) {
+        return new StubFixture(stub, platform);
+    }
+
+    /**
+     * Stub com as telas gravadas do módulo contatos na plataforma
+     */
+    public static StubFixture contatos(String platform) {
+        return of(new StubAppiumServer().start().withApp(ReplayApp.load("contatos", platform)), platform);
+    }
+
+    /**
+     * Altera uma system property até o close(); null remove
+     */
+    public StubFixture property(String key, String value) {
+        properties.set(key, value);
+        return this;
+    }
+
+    /**
+     * Cria o driver da thread atual contra o stub
+     */
+    public StubFixture createDriver() {
+        DriverManager.createDriver();
+        return this;
+    }
+
+    public StubAppiumServer getStub() {
+        return stub;
+    }
+
+    @Override
+    public void close() {
+        try {
+            DriverManager.quitDriver();
+        } finally {
+            properties.restore();
+            stub.stop();
+        }
+    }
+}
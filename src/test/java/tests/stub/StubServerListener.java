@@ -0,0 +1,64 @@
+package tests.stub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utils.ConfigManager;
+
+/**
+ * Executa uma suíte de testes de app contra o stub Appium com telas gravadas, sem dispositivo
+ * Usa os parâmetros platform e module da suíte; latência e jitter por comando vêm dos
+ * parâmetros stub.latency.ms e stub.jitter.ms (ou das propriedades
+ * de sistema de mesmo nome; surefire sempre define platform, então use -Dplatform=ios)
+ * Parâmetros da suíte com chaves do config-global.properties (ex: contact.seeder.enabled, session.pool.enabled)
+ * valem como system properties durante a suíte, o que liga nas suítes do stub recursos desligados por padrão
+ * (o stub aceita o "mobile: shell" e os vCards do ContactSeeder)
+ */
+public class StubServerListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(StubServerListener.class);
+
+    private final SystemProperties properties = new SystemProperties();
+    private StubAppiumServer stub;
+
+    @Override
+    public void onStart(ISuite suite) {
+        String platform = parameter(suite, "platform", "android");
+        String module = parameter(suite, "module", "contatos");
+        long latency = Long.parseLong(parameter(suite, "stub.latency.ms", "0"));
+        long jitter = Long.parseLong(parameter(suite, "stub.jitter.ms", "0"));
+
+        stub = new StubAppiumServer().start()
+                .withApp(ReplayApp.load(module, platform))
+                .withDefaultLatency(latency)
+                .withJitter(jitter);
+        properties.set("appium.server.url", stub.getUrl().toString());
+        for (String name : suite.getXmlSuite().getParameters().keySet()) {
+            if (ConfigManager.getInstance().getGlobalProperty(name) != null) {
+                properties.set(name, parameter(suite, name, null));
+            }
+        }
+        logger.info("Suíte '{}' usando stub Appium ({} / {}, latência {} ms + jitter {} ms)",
+                suite.getName(), module, platform, latency, jitter);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        properties.restore();
+        if (stub != null) {
+            logger.info("Comandos atendidos pelo stub: {}", stub.counts());
+            stub.stop();
+        }
+    }
+
+    /**
+     * Mesma precedência do TestNG: propriedade de sistema sobrescreve o parâmetro da suíte
+     */
+    private static String parameter(ISuite suite, String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            value = suite.getParameter(name);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,48 @@
+package tests.stub;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * System properties alteradas por um teste, com os valores anteriores guardados
+ * restore() devolve cada chave ao valor que tinha antes do primeiro set (ou a remove, se não existia)
+ */
+public class SystemProperties implements AutoCloseable {
+    private final Map<String, String> previous = new HashMap<>();
+    private final Deque<String> order = new ArrayDeque<>();
+
+    /**
+     * Define a propriedade; null remove
+     */
+    public SystemProperties set(String key, String value) {
+        if (!previous.containsKey(key)) {
+            previous.put(key, System.getProperty(key));
+            order.push(key);
+        }
+        if (value != null) {
+            System.setProperty(key, value);
+        } else {
+            System.clearProperty(key);
+        }
+        return this;
+    }
+
+    public void restore() {
+        while (!order.isEmpty()) {
+            String key = order.pop();
+            String value = previous.remove(key);
+            if (value != null) {
+                System.setProperty(key, value);
+            } else {
+                System.clearProperty(key);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        restore();
+    }
+}